@@ -28,32 +28,35 @@ public class AdminStatsService {
 
     @Transactional
     public void processBookingCreated(BookingEvent event) {
-        if (isDuplicate(event.getEventId())) return;
+        String dedupKey = bookingScopedKey(event);
+        if (isDuplicate(dedupKey)) return;
         BookingStats stats = getOrCreateStats(event.getGameId());
         stats.incrementTotalBookings();
         stats.addRevenue(event.getTotalPrice());
         bookingStatsRepository.save(stats);
-        markProcessed(event.getEventId(), Topics.BOOKING_CREATED);
+        markProcessed(dedupKey, Topics.BOOKING_CREATED);
         log.info("Booking created stats updated: gameId={}", event.getGameId());
     }
 
     @Transactional
     public void processBookingConfirmed(BookingEvent event) {
-        if (isDuplicate(event.getEventId())) return;
+        String dedupKey = bookingScopedKey(event);
+        if (isDuplicate(dedupKey)) return;
         BookingStats stats = getOrCreateStats(event.getGameId());
         stats.incrementConfirmed();
         bookingStatsRepository.save(stats);
-        markProcessed(event.getEventId(), Topics.BOOKING_CONFIRMED);
+        markProcessed(dedupKey, Topics.BOOKING_CONFIRMED);
         log.info("Booking confirmed stats updated: gameId={}", event.getGameId());
     }
 
     @Transactional
     public void processBookingCancelled(BookingEvent event) {
-        if (isDuplicate(event.getEventId())) return;
+        String dedupKey = bookingScopedKey(event);
+        if (isDuplicate(dedupKey)) return;
         BookingStats stats = getOrCreateStats(event.getGameId());
         stats.incrementCancelled();
         bookingStatsRepository.save(stats);
-        markProcessed(event.getEventId(), Topics.BOOKING_CANCELLED);
+        markProcessed(dedupKey, Topics.BOOKING_CANCELLED);
         log.info("Booking cancelled stats updated: gameId={}", event.getGameId());
     }
 
@@ -105,6 +108,15 @@ public class AdminStatsService {
         return false;
     }
 
+    /**
+     * Booking stats are counted once per booking and event type, so the key is
+     * booking-scoped rather than the event id: v1 events fan out one event per seat
+     * (each with its own id), v2 events carry all seats in one event.
+     */
+    private String bookingScopedKey(BookingEvent event) {
+        return event.getEventType() + ":" + event.getBookingId();
+    }
+
     private void markProcessed(String eventId, String topic) {
         processedEventRepository.save(new ProcessedEvent(eventId, topic));
     }
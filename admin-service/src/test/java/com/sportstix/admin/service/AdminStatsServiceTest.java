@@ -12,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -71,6 +72,33 @@ class AdminStatsServiceTest {
         verify(bookingStatsRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("processBookingCreated - v1 per-seat events of one booking are counted once")
+    void processBookingCreated_perSeatFanOut_countedOncePerBooking() {
+        BookingEvent secondSeat = BookingEvent.created(10L, 1L, 1L, 101L, new BigDecimal("100000"));
+        when(processedEventRepository.existsById("BOOKING_CREATED:10")).thenReturn(true);
+
+        statsService.processBookingCreated(secondSeat);
+
+        verify(bookingStatsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("processBookingCreated - v2 aggregate event marks booking-scoped key")
+    void processBookingCreated_aggregate_marksBookingScopedKey() {
+        BookingEvent event = BookingEvent.created(10L, 1L, 1L, List.of(100L, 101L), new BigDecimal("100000"));
+        when(processedEventRepository.existsById("BOOKING_CREATED:10")).thenReturn(false);
+        when(bookingStatsRepository.findByGameId(1L)).thenReturn(Optional.of(stats));
+
+        statsService.processBookingCreated(event);
+
+        assertThat(stats.getTotalBookings()).isEqualTo(1);
+        assertThat(stats.getTotalRevenue()).isEqualByComparingTo("100000");
+        ArgumentCaptor<ProcessedEvent> captor = ArgumentCaptor.forClass(ProcessedEvent.class);
+        verify(processedEventRepository).save(captor.capture());
+        assertThat(captor.getValue().getEventId()).isEqualTo("BOOKING_CREATED:10");
+    }
+
     @Test
     @DisplayName("processBookingConfirmed - increments confirmed count")
     void processBookingConfirmed_updatesStats() {
@@ -0,0 +1,32 @@
+package com.sportstix.booking.command;
+
+import java.util.Set;
+
+/**
+ * Hold/confirm/cancel request routed to the game's owner in single-writer mode.
+ * Keyed by gameId on the command topic, so one consumer thread applies all
+ * commands of a game in order.
+ */
+public record BookingCommand(
+        Type type,
+        Long userId,
+        Long gameId,
+        Long bookingId,
+        Set<Long> gameSeatIds
+) {
+    public enum Type {
+        HOLD, CONFIRM, CANCEL
+    }
+
+    public static BookingCommand hold(Long userId, Long gameId, Set<Long> gameSeatIds) {
+        return new BookingCommand(Type.HOLD, userId, gameId, null, gameSeatIds);
+    }
+
+    public static BookingCommand confirm(Long userId, Long gameId, Long bookingId) {
+        return new BookingCommand(Type.CONFIRM, userId, gameId, bookingId, null);
+    }
+
+    public static BookingCommand cancel(Long userId, Long gameId, Long bookingId) {
+        return new BookingCommand(Type.CANCEL, userId, gameId, bookingId, null);
+    }
+}
@@ -0,0 +1,155 @@
+package com.sportstix.booking.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.dto.response.BookingResponse;
+import com.sportstix.booking.service.BookingService;
+import com.sportstix.booking.service.BookingTransactionService.HoldOutcome;
+import com.sportstix.booking.service.BookingTransactionService.HoldRequest;
+import com.sportstix.common.event.Topics;
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owner side of single-writer mode.
+ *
+ * Kafka assigns each command partition to exactly one pod of the owner group,
+ * and commands are keyed by gameId, so all commands of a game are applied
+ * in order by a single consumer thread. Holds therefore skip the Redis lock
+ * tier. The listener takes a whole poll at a time: consecutive holds are
+ * group-committed in one transaction, and a confirm/cancel first flushes the
+ * holds before it, so partition order is kept. A command whose requester
+ * already timed out is still applied; an unclaimed hold is released by the
+ * normal hold expiry.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "booking.single-writer", name = "enabled", havingValue = "true")
+public class BookingCommandProcessor {
+
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, String> replyTemplate;
+
+    public BookingCommandProcessor(BookingService bookingService, ObjectMapper objectMapper,
+                                   @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> replyTemplate) {
+        this.bookingService = bookingService;
+        this.objectMapper = objectMapper;
+        this.replyTemplate = replyTemplate;
+    }
+
+    @KafkaListener(topics = Topics.BOOKING_COMMANDS, groupId = "booking-command-owners",
+            containerFactory = "bookingCommandListenerFactory")
+    public void handle(List<ConsumerRecord<String, String>> records) {
+        List<PendingHold> holds = new ArrayList<>();
+        for (ConsumerRecord<String, String> record : records) {
+            BookingCommand command;
+            try {
+                command = objectMapper.readValue(record.value(), BookingCommand.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Unreadable booking command: partition={}, offset={}", record.partition(), record.offset(), e);
+                reply(record, BookingCommandResult.failure(ErrorCode.INVALID_INPUT.name(), "Invalid booking command"));
+                continue;
+            }
+            if (command.type() == BookingCommand.Type.HOLD) {
+                holds.add(new PendingHold(record, new HoldRequest(
+                        command.userId(), command.gameId(), command.gameSeatIds())));
+                continue;
+            }
+            flushHolds(holds);
+            reply(record, execute(command));
+        }
+        flushHolds(holds);
+    }
+
+    private void flushHolds(List<PendingHold> holds) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        List<BookingCommandResult> results = new ArrayList<>(holds.size());
+        try {
+            for (HoldOutcome outcome : bookingService.holdSeatsAsOwner(
+                    holds.stream().map(PendingHold::request).toList())) {
+                results.add(outcome.failure() != null
+                        ? failure(outcome.failure())
+                        : BookingCommandResult.success(BookingResponse.from(outcome.booking())));
+            }
+        } catch (Exception e) {
+            log.error("Owner hold batch failed: requests={}", holds.size(), e);
+            results.clear();
+            holds.forEach(h -> results.add(
+                    BookingCommandResult.failure(ErrorCode.INTERNAL_ERROR.name(), "Booking command failed")));
+        }
+        for (int i = 0; i < holds.size(); i++) {
+            reply(holds.get(i).record(), results.get(i));
+        }
+        holds.clear();
+    }
+
+    BookingCommandResult execute(BookingCommand command) {
+        try {
+            Booking booking = switch (command.type()) {
+                case HOLD -> throw new IllegalArgumentException("Holds are committed per poll");
+                case CONFIRM -> bookingService.confirmBooking(command.bookingId(), command.userId());
+                case CANCEL -> bookingService.cancelBooking(command.bookingId(), command.userId());
+            };
+            return BookingCommandResult.success(BookingResponse.from(booking));
+        } catch (BusinessException e) {
+            return failure(e);
+        } catch (Exception e) {
+            log.error("Booking command failed: type={}, gameId={}", command.type(), command.gameId(), e);
+            return BookingCommandResult.failure(ErrorCode.INTERNAL_ERROR.name(), "Booking command failed");
+        }
+    }
+
+    private static BookingCommandResult failure(BusinessException e) {
+        return BookingCommandResult.failure(e.getErrorCode().name(), e.getMessage());
+    }
+
+    /**
+     * Replies to the topic and correlation id ReplyingKafkaTemplate put on the request,
+     * as @SendTo would for a single-record listener.
+     */
+    private void reply(ConsumerRecord<String, String> request, BookingCommandResult result) {
+        Header replyTopic = request.headers().lastHeader(KafkaHeaders.REPLY_TOPIC);
+        Header correlationId = request.headers().lastHeader(KafkaHeaders.CORRELATION_ID);
+        if (replyTopic == null || correlationId == null) {
+            log.warn("Booking command without reply headers: partition={}, offset={}",
+                    request.partition(), request.offset());
+            return;
+        }
+        Header replyPartition = request.headers().lastHeader(KafkaHeaders.REPLY_PARTITION);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize booking command reply", e);
+            return;
+        }
+        ProducerRecord<String, String> reply = new ProducerRecord<>(
+                new String(replyTopic.value(), StandardCharsets.UTF_8),
+                replyPartition != null ? ByteBuffer.wrap(replyPartition.value()).getInt() : null,
+                request.key(), payload);
+        reply.headers().add(KafkaHeaders.CORRELATION_ID, correlationId.value());
+        replyTemplate.send(reply);
+    }
+
+    private record PendingHold(ConsumerRecord<String, String> record, HoldRequest request) {
+    }
+}
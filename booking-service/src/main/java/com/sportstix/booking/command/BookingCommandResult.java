@@ -0,0 +1,20 @@
+package com.sportstix.booking.command;
+
+import com.sportstix.booking.dto.response.BookingResponse;
+
+/**
+ * Owner's reply: the booking on success, otherwise the ErrorCode name and message.
+ */
+public record BookingCommandResult(
+        BookingResponse booking,
+        String errorCode,
+        String message
+) {
+    public static BookingCommandResult success(BookingResponse booking) {
+        return new BookingCommandResult(booking, null, null);
+    }
+
+    public static BookingCommandResult failure(String errorCode, String message) {
+        return new BookingCommandResult(null, errorCode, message);
+    }
+}
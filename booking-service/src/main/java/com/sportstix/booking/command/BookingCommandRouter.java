@@ -0,0 +1,97 @@
+package com.sportstix.booking.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.dto.response.BookingResponse;
+import com.sportstix.booking.jooq.BookingJooqRepository;
+import com.sportstix.booking.service.BookingService;
+import com.sportstix.common.event.Topics;
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Entry point for hold/confirm/cancel. Executes locally (3-tier lock) unless
+ * single-writer mode routes the game, in which case the command is sent to the
+ * game's owner over Kafka and the caller waits for its reply.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookingCommandRouter {
+
+    private final BookingService bookingService;
+    private final BookingJooqRepository bookingJooqRepository;
+    private final BookingProperties bookingProperties;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ReplyingKafkaTemplate<String, String, String>> commandTemplate;
+
+    public BookingResponse hold(Long userId, Long gameId, Set<Long> gameSeatIds) {
+        if (!bookingProperties.getSingleWriter().routes(gameId)) {
+            return BookingResponse.from(bookingService.holdSeats(userId, gameId, gameSeatIds));
+        }
+        return send(BookingCommand.hold(userId, gameId, gameSeatIds));
+    }
+
+    public BookingResponse confirm(Long bookingId, Long userId) {
+        Long gameId = routedGameOf(bookingId);
+        if (gameId == null) {
+            return BookingResponse.from(bookingService.confirmBooking(bookingId, userId));
+        }
+        return send(BookingCommand.confirm(userId, gameId, bookingId));
+    }
+
+    public BookingResponse cancel(Long bookingId, Long userId) {
+        Long gameId = routedGameOf(bookingId);
+        if (gameId == null) {
+            return BookingResponse.from(bookingService.cancelBooking(bookingId, userId));
+        }
+        return send(BookingCommand.cancel(userId, gameId, bookingId));
+    }
+
+    private Long routedGameOf(Long bookingId) {
+        BookingProperties.SingleWriter singleWriter = bookingProperties.getSingleWriter();
+        if (!singleWriter.isEnabled()) {
+            return null;
+        }
+        // Unknown booking: null falls through to the local path, which reports BOOKING_NOT_FOUND
+        return bookingJooqRepository.findGameId(bookingId)
+                .filter(singleWriter::routes)
+                .orElse(null);
+    }
+
+    private BookingResponse send(BookingCommand command) {
+        BookingCommandResult result;
+        try {
+            ProducerRecord<String, String> record = new ProducerRecord<>(Topics.BOOKING_COMMANDS,
+                    String.valueOf(command.gameId()), objectMapper.writeValueAsString(command));
+            ConsumerRecord<String, String> reply = commandTemplate.getObject().sendAndReceive(record).get();
+            result = objectMapper.readValue(reply.value(), BookingCommandResult.class);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Invalid booking command payload");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Interrupted waiting for booking command");
+        } catch (ExecutionException e) {
+            log.warn("Booking command not answered: type={}, gameId={}", command.type(), command.gameId(),
+                    e.getCause());
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR,
+                    "Booking command not answered by game owner: " + command.type());
+        }
+
+        if (result.errorCode() != null) {
+            throw new BusinessException(ErrorCode.valueOf(result.errorCode()), result.message());
+        }
+        return result.booking();
+    }
+}
@@ -0,0 +1,100 @@
+package com.sportstix.booking.config;
+
+import com.sportstix.common.event.Topics;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Kafka request/reply wiring for single-writer mode (booking.single-writer.enabled).
+ * Commands and replies are pre-serialized JSON strings, like outbox payloads.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "booking.single-writer", name = "enabled", havingValue = "true")
+public class BookingCommandKafkaConfig {
+
+    private static final String REPLY_GROUP_PREFIX = "booking-command-replies-";
+
+    @Bean
+    public ConsumerFactory<String, String> bookingCommandConsumerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /**
+     * Owner side: each consumer thread takes a poll of its partitions' commands at a
+     * time (batch listener), so a poll's holds commit in one transaction. Concurrency
+     * covers every command partition, so a single owner pod still has one thread per
+     * partition; surplus threads idle once more pods join the group.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> bookingCommandListenerFactory(
+            ConsumerFactory<String, String> bookingCommandConsumerFactory,
+            BookingProperties bookingProperties) {
+        var factory = new ConcurrentKafkaListenerContainerFactory<String, String>();
+        factory.setConsumerFactory(bookingCommandConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(Topics.PARTITIONS_BOOKING);
+        factory.getContainerProperties().getKafkaConsumerProperties().setProperty(
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                String.valueOf(bookingProperties.getSingleWriter().getMaxPollRecords()));
+        return factory;
+    }
+
+    /**
+     * Requester side: every pod reads all replies (own group, latest offsets)
+     * and completes the ones it correlates. The group is named after the pod, so a
+     * restart rejoins it instead of leaving another group behind on the broker.
+     */
+    @Bean
+    public ConcurrentMessageListenerContainer<String, String> bookingCommandReplyContainer(
+            ConsumerFactory<String, String> bookingCommandConsumerFactory,
+            BookingProperties bookingProperties) {
+        ContainerProperties containerProperties = new ContainerProperties(Topics.BOOKING_COMMAND_REPLIES);
+        containerProperties.setGroupId(replyGroupId(bookingProperties));
+        containerProperties.getKafkaConsumerProperties()
+                .setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        return new ConcurrentMessageListenerContainer<>(bookingCommandConsumerFactory, containerProperties);
+    }
+
+    @Bean
+    public ReplyingKafkaTemplate<String, String, String> bookingCommandTemplate(
+            ProducerFactory<String, String> outboxProducerFactory,
+            ConcurrentMessageListenerContainer<String, String> bookingCommandReplyContainer,
+            BookingProperties bookingProperties) {
+        var template = new ReplyingKafkaTemplate<>(outboxProducerFactory, bookingCommandReplyContainer);
+        template.setDefaultReplyTimeout(Duration.ofMillis(bookingProperties.getSingleWriter().getReplyTimeoutMs()));
+        template.setSharedReplyTopic(true);
+        return template;
+    }
+
+    private static String replyGroupId(BookingProperties bookingProperties) {
+        String configured = bookingProperties.getSingleWriter().getReplyGroupId();
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        try {
+            return REPLY_GROUP_PREFIX + InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(
+                    "Cannot resolve host name for the reply group, set booking.single-writer.reply-group-id", e);
+        }
+    }
+}
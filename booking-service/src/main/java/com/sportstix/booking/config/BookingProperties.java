@@ -0,0 +1,209 @@
+package com.sportstix.booking.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "booking")
+public class BookingProperties {
+
+    private SeatIndex seatIndex = new SeatIndex();
+    private SeatLock seatLock = new SeatLock();
+    private AdmissionGate admissionGate = new AdmissionGate();
+    private Outbox outbox = new Outbox();
+    private Events events = new Events();
+    private HoldExpiry holdExpiry = new HoldExpiry();
+    private Reconciliation reconciliation = new Reconciliation();
+    private SeatMap seatMap = new SeatMap();
+    private SeatFeed seatFeed = new SeatFeed();
+    private BestAvailable bestAvailable = new BestAvailable();
+    private SingleWriter singleWriter = new SingleWriter();
+    private HoldBatch holdBatch = new HoldBatch();
+    private GameCache gameCache = new GameCache();
+    private BookingCounter bookingCounter = new BookingCounter();
+    private HoldHealth holdHealth = new HoldHealth();
+
+    @Getter
+    @Setter
+    public static class SeatIndex {
+        /** Reject holds for seats already known to be taken before Redis/DB */
+        private boolean enabled = true;
+        /** Full resync from DB; bounds staleness of changes made by other pods */
+        private long resyncIntervalMs = 5000;
+    }
+
+    @Getter
+    @Setter
+    public static class SeatLock {
+        /** PER_SEAT: sequential Redisson tryLock, BATCH: single Lua round trip per attempt */
+        private Mode mode = Mode.PER_SEAT;
+
+        public enum Mode {
+            PER_SEAT, BATCH
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class AdmissionGate {
+        /** Collapse concurrent holds for the same seat on this pod before Redis */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+        /** PER_EVENT: one send + commit per event, BATCH: pipelined sends + one UPDATE per poll */
+        private PublishMode publishMode = PublishMode.BATCH;
+        /** Max events fetched per poll */
+        private int batchSize = 50;
+        /** SINGLE: one ShedLock-elected relay, PARTITIONED: slices leased across all pods */
+        private RelayMode relayMode = RelayMode.PARTITIONED;
+        /** Logical slices of outbox_events (by partition_key hash) in PARTITIONED mode */
+        private int sliceCount = 16;
+        /** Slice lease duration; a crashed pod's slices are reassigned after this */
+        private int leaseSeconds = 10;
+        /** NOTIFY on outbox insert and LISTEN in the relay; the fixed-delay poll becomes a fallback */
+        private boolean notifyEnabled = true;
+
+        public enum PublishMode {
+            PER_EVENT, BATCH
+        }
+
+        public enum RelayMode {
+            SINGLE, PARTITIONED
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Events {
+        /**
+         * AGGREGATE: one v2 event per booking, PER_SEAT: one v1 event per seat.
+         * Defaults to AGGREGATE: payment-service and admin-service read both versions.
+         * Set PER_SEAT while a consumer older than v2 is still running (e.g. when
+         * booking-service is rolled out first).
+         */
+        private Shape shape = Shape.AGGREGATE;
+
+        public enum Shape {
+            AGGREGATE, PER_SEAT
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class HoldExpiry {
+        /** Release holds from the Redis expiry queue on every pod; the DB sweep stays as a fallback */
+        private boolean queueEnabled = true;
+        /** Expiry queue poll interval; bounds how late a hold is released */
+        private long tickMs = 200;
+        /** Max bookings popped from the queue per round trip */
+        private int batchSize = 100;
+        /** Fallback table scan interval for holds missing from the queue */
+        private long sweepIntervalMs = 30_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Reconciliation {
+        /** Rows fetched per keyset page; bounds heap per page */
+        private int pageSize = 500;
+        /** Pages per check per run; the rest resumes from the checkpoint next run */
+        private int maxPagesPerRun = 20;
+    }
+
+    @Getter
+    @Setter
+    public static class SeatMap {
+        /** Serve seat maps and availability from the Redis read model */
+        private boolean enabled = true;
+        /** Seat changes kept per game for delta reads; older clients get a snapshot */
+        private int deltaRetention = 10_000;
+        /** Diff against the DB to correct out-of-order or lost updates */
+        private long resyncIntervalMs = 60_000;
+    }
+
+    @Getter
+    @Setter
+    public static class SeatFeed {
+        /** Push committed seat status changes to /topic/seats/{gameId}/{sectionId} */
+        private boolean enabled = true;
+        /** Coalescing window; one message per section per window */
+        private long flushIntervalMs = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class BestAvailable {
+        /** Best runs to choose from at random; higher spreads concurrent requests further */
+        private int candidateRuns = 8;
+        /** Runs tried per request when the chosen one was taken concurrently */
+        private int maxAttempts = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class SingleWriter {
+        /**
+         * Route hold/confirm/cancel of a game to the owner of its command partition.
+         * A game's commands are applied by one thread in order, so its throughput is
+         * bounded by one DB transaction per poll (up to maxPollRecords holds) plus one
+         * DB transaction per confirm/cancel; a hot game does not scale with pods.
+         */
+        private boolean enabled = false;
+        /** Games routed to their owner; empty routes every game */
+        private Set<Long> gameIds = new HashSet<>();
+        /** Max wait for the owner's reply before the request fails */
+        private long replyTimeoutMs = 5000;
+        /** Consumer group of this pod's reply listener; blank uses booking-command-replies-{hostname} */
+        private String replyGroupId = "";
+        /** Max commands per owner poll, i.e. max holds group-committed in one transaction */
+        private int maxPollRecords = 32;
+
+        public boolean routes(Long gameId) {
+            return enabled && (gameIds.isEmpty() || gameIds.contains(gameId));
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class HoldBatch {
+        /** Group-commit concurrent holds on this pod in one transaction */
+        private boolean enabled = false;
+        /** Max holds per transaction */
+        private int maxBatchSize = 32;
+        /** Max time the first hold of a batch waits for others */
+        private long maxWaitMs = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class GameCache {
+        /** Per-pod cache of game rules; bounds staleness on pods that did not consume the update */
+        private long ttlMs = 30_000;
+    }
+
+    @Getter
+    @Setter
+    public static class BookingCounter {
+        /** Check the per-user limit against a Redis counter; the DB count seeds it on a miss */
+        private boolean enabled = true;
+        /** Counter lifetime; the next hold after expiry recounts from the DB, bounding drift */
+        private long ttlSeconds = 600;
+    }
+
+    @Getter
+    @Setter
+    public static class HoldHealth {
+        /** How often this pod publishes hold p99 and error counts to booking:health for queue admission */
+        private long publishIntervalMs = 1000;
+    }
+}
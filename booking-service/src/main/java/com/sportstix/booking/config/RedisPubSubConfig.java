@@ -0,0 +1,31 @@
+package com.sportstix.booking.config;
+
+import com.sportstix.booking.websocket.RedisSeatDeltaSubscriber;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
+
+@Configuration
+public class RedisPubSubConfig {
+
+    public static final String SEAT_DELTA_CHANNEL = "ws:broadcast:seat-delta";
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            MessageListenerAdapter seatDeltaListenerAdapter
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(seatDeltaListenerAdapter, new ChannelTopic(SEAT_DELTA_CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public MessageListenerAdapter seatDeltaListenerAdapter(RedisSeatDeltaSubscriber subscriber) {
+        return new MessageListenerAdapter(subscriber, "onMessage");
+    }
+}
@@ -1,8 +1,12 @@
 package com.sportstix.booking.controller;
 
+import com.sportstix.booking.command.BookingCommandRouter;
+import com.sportstix.booking.dto.request.HoldBestAvailableRequest;
 import com.sportstix.booking.dto.request.HoldSeatsRequest;
+import com.sportstix.booking.dto.response.AvailableSeatPageResponse;
 import com.sportstix.booking.dto.response.BookingResponse;
 import com.sportstix.booking.service.BookingService;
+import com.sportstix.booking.service.HoldHealthMonitor;
 import com.sportstix.common.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,6 +27,8 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingCommandRouter bookingCommandRouter;
+    private final HoldHealthMonitor holdHealthMonitor;
 
     @Operation(summary = "Hold seats", description = "Reserve seats with 3-tier lock (Redis + DB pessimistic + optimistic)")
     @ApiResponses({
@@ -36,7 +42,25 @@ public class BookingController {
     public ResponseEntity<ApiResponse<BookingResponse>> holdSeats(
             @Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId,
             @Valid @RequestBody HoldSeatsRequest request) {
-        var booking = bookingService.holdSeats(userId, request.gameId(), request.gameSeatIds());
+        var booking = holdHealthMonitor.record(
+                () -> bookingCommandRouter.hold(userId, request.gameId(), request.gameSeatIds()));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.ok(booking));
+    }
+
+    @Operation(summary = "Hold best available seats",
+            description = "Hold N adjacent seats in a section chosen by the server")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Seats held"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No adjacent seats available"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Game not found")
+    })
+    @PostMapping("/hold/best-available")
+    public ResponseEntity<ApiResponse<BookingResponse>> holdBestAvailable(
+            @Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody HoldBestAvailableRequest request) {
+        var booking = holdHealthMonitor.record(() -> bookingService.holdBestAvailable(
+                userId, request.gameId(), request.sectionId(), request.quantity()));
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.ok(BookingResponse.from(booking)));
     }
@@ -51,8 +75,7 @@ public class BookingController {
     public ResponseEntity<ApiResponse<BookingResponse>> confirmBooking(
             @PathVariable Long bookingId,
             @Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId) {
-        var booking = bookingService.confirmBooking(bookingId, userId);
-        return ResponseEntity.ok(ApiResponse.ok(BookingResponse.from(booking)));
+        return ResponseEntity.ok(ApiResponse.ok(bookingCommandRouter.confirm(bookingId, userId)));
     }
 
     @Operation(summary = "Cancel booking", description = "Cancel a booking and release held seats")
@@ -65,8 +88,7 @@ public class BookingController {
     public ResponseEntity<ApiResponse<BookingResponse>> cancelBooking(
             @PathVariable Long bookingId,
             @Parameter(hidden = true) @RequestHeader("X-User-Id") Long userId) {
-        var booking = bookingService.cancelBooking(bookingId, userId);
-        return ResponseEntity.ok(ApiResponse.ok(BookingResponse.from(booking)));
+        return ResponseEntity.ok(ApiResponse.ok(bookingCommandRouter.cancel(bookingId, userId)));
     }
 
     @Operation(summary = "Get booking", description = "Get booking details by ID")
@@ -91,4 +113,20 @@ public class BookingController {
                 .toList();
         return ResponseEntity.ok(ApiResponse.ok(bookings));
     }
+
+    @Operation(summary = "List available seats",
+            description = "Keyset-paginated available seats of a section; pass nextCursor to get the next page")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Seat page"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping("/games/{gameId}/sections/{sectionId}/available-seats")
+    public ResponseEntity<ApiResponse<AvailableSeatPageResponse>> getAvailableSeats(
+            @PathVariable Long gameId,
+            @PathVariable Long sectionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.ok(
+                bookingService.getAvailableSeats(gameId, sectionId, cursor, size)));
+    }
 }
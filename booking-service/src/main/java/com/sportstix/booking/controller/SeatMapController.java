@@ -0,0 +1,42 @@
+package com.sportstix.booking.controller;
+
+import com.sportstix.booking.dto.response.SeatAvailabilityResponse;
+import com.sportstix.booking.dto.response.SeatMapResponse;
+import com.sportstix.booking.service.SeatMapService;
+import com.sportstix.common.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Seat Map", description = "Seat availability served from the Redis read model")
+@RestController
+@RequestMapping("/api/v1/bookings/games/{gameId}")
+@RequiredArgsConstructor
+public class SeatMapController {
+
+    private final SeatMapService seatMapService;
+
+    @Operation(summary = "Get section seat map",
+            description = "Full section snapshot, or only the changes after sinceVersion when still retained")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Seat map or deltas"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Game not found")
+    })
+    @GetMapping("/sections/{sectionId}/seat-map")
+    public ResponseEntity<ApiResponse<SeatMapResponse>> getSectionSeatMap(
+            @PathVariable Long gameId,
+            @PathVariable Long sectionId,
+            @RequestParam(required = false) Long sinceVersion) {
+        return ResponseEntity.ok(ApiResponse.ok(
+                seatMapService.getSectionSeatMap(gameId, sectionId, sinceVersion)));
+    }
+
+    @Operation(summary = "Get seat availability", description = "AVAILABLE seat counts per section")
+    @GetMapping("/availability")
+    public ResponseEntity<ApiResponse<SeatAvailabilityResponse>> getAvailability(@PathVariable Long gameId) {
+        return ResponseEntity.ok(ApiResponse.ok(seatMapService.getAvailability(gameId)));
+    }
+}
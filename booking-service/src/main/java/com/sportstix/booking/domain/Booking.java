@@ -59,6 +59,17 @@ public class Booking extends BaseTimeEntity {
         this.totalPrice = this.totalPrice.add(price);
     }
 
+    /**
+     * Marks a booking written by a jOOQ bulk insert as persisted.
+     */
+    public void markInserted(Long id, LocalDateTime insertedAt) {
+        if (this.id != null) {
+            throw new IllegalStateException("Booking already persisted: id=" + this.id);
+        }
+        this.id = id;
+        initTimestamps(insertedAt);
+    }
+
     public void confirm() {
         if (this.status != BookingStatus.PENDING) {
             throw new BusinessException(ErrorCode.INVALID_INPUT,
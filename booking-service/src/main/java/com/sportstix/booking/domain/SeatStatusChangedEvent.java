@@ -0,0 +1,21 @@
+package com.sportstix.booking.domain;
+
+import java.util.List;
+
+/**
+ * Seats whose status a repository update changed, published inside the transaction
+ * and consumed after commit (SeatStatusChangeListener).
+ *
+ * @param seats     rows that actually transitioned
+ * @param newStatus status they transitioned to
+ * @param complete  true if every requested seat transitioned
+ */
+public record SeatStatusChangedEvent(List<Seat> seats, String newStatus, boolean complete) {
+
+    public record Seat(Long gameId, Long sectionId, Long gameSeatId) {
+    }
+
+    public List<Long> gameSeatIds() {
+        return seats.stream().map(Seat::gameSeatId).toList();
+    }
+}
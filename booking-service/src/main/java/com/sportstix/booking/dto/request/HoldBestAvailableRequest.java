@@ -0,0 +1,12 @@
+package com.sportstix.booking.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record HoldBestAvailableRequest(
+        @NotNull Long gameId,
+        @NotNull Long sectionId,
+        @Min(1) @Max(4) int quantity
+) {
+}
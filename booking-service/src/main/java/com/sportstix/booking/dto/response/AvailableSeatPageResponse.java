@@ -0,0 +1,14 @@
+package com.sportstix.booking.dto.response;
+
+import java.util.List;
+
+/**
+ * One keyset page of available seats; nextCursor is null on the last page.
+ */
+public record AvailableSeatPageResponse(
+        List<SeatInfo> seats,
+        String nextCursor
+) {
+    public record SeatInfo(Long gameSeatId, String rowName, Integer seatNumber, Long price) {
+    }
+}
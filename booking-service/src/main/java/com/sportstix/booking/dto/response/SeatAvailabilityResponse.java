@@ -0,0 +1,17 @@
+package com.sportstix.booking.dto.response;
+
+import com.sportstix.booking.service.SeatMapCache;
+
+import java.util.Map;
+
+public record SeatAvailabilityResponse(
+        Long gameId,
+        long version,
+        long totalAvailable,
+        Map<Long, Long> availableBySection
+) {
+    public static SeatAvailabilityResponse from(Long gameId, SeatMapCache.AvailabilitySnapshot snapshot) {
+        return new SeatAvailabilityResponse(gameId, snapshot.version(),
+                snapshot.totalAvailable(), snapshot.availableBySection());
+    }
+}
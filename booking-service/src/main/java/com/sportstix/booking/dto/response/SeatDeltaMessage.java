@@ -0,0 +1,16 @@
+package com.sportstix.booking.dto.response;
+
+import java.util.List;
+
+/**
+ * Coalesced seat status changes of one section, pushed to /topic/seats/{gameId}/{sectionId}.
+ * Only the latest status per seat within a flush window is sent.
+ */
+public record SeatDeltaMessage(
+        Long gameId,
+        Long sectionId,
+        List<SeatChange> changes
+) {
+    public record SeatChange(Long seatId, String status) {
+    }
+}
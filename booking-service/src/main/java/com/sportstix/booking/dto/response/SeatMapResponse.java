@@ -0,0 +1,40 @@
+package com.sportstix.booking.dto.response;
+
+import com.sportstix.booking.service.SeatMapCache;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Section seat map at {@code version}: either a full snapshot (full=true, seats)
+ * or the changes since the client's version (full=false, deltas).
+ */
+public record SeatMapResponse(
+        Long gameId,
+        Long sectionId,
+        long version,
+        boolean full,
+        List<SeatInfo> seats,
+        List<SeatDelta> deltas
+) {
+    public record SeatInfo(Long gameSeatId, String rowName, Integer seatNumber, Long price, String status) {
+    }
+
+    public record SeatDelta(long version, Long gameSeatId, String status) {
+    }
+
+    public static SeatMapResponse snapshot(Long gameId, Long sectionId, SeatMapCache.SectionSnapshot snapshot) {
+        List<SeatInfo> seats = snapshot.seats().stream()
+                .map(s -> new SeatInfo(s.seatId(), s.rowName(), s.seatNumber(), s.price(), s.status()))
+                .toList();
+        return new SeatMapResponse(gameId, sectionId, snapshot.version(), true, seats, List.of());
+    }
+
+    public static SeatMapResponse delta(Long gameId, Long sectionId, SeatMapCache.DeltaPage page) {
+        List<SeatDelta> deltas = page.deltas().stream()
+                .filter(d -> Objects.equals(d.sectionId(), sectionId))
+                .map(d -> new SeatDelta(d.version(), d.seatId(), d.status()))
+                .toList();
+        return new SeatMapResponse(gameId, sectionId, page.version(), false, List.of(), deltas);
+    }
+}
@@ -5,6 +5,8 @@ import com.sportstix.booking.domain.LocalGameSeat;
 import com.sportstix.booking.event.IdempotencyService;
 import com.sportstix.booking.repository.LocalGameRepository;
 import com.sportstix.booking.repository.LocalGameSeatRepository;
+import com.sportstix.booking.service.LocalGameCache;
+import com.sportstix.booking.service.SeatAvailabilityIndex;
 import com.sportstix.common.event.GameInfoUpdatedEvent;
 import com.sportstix.common.event.SeatInitializedEvent;
 import com.sportstix.common.event.Topics;
@@ -13,6 +15,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +32,8 @@ public class GameEventConsumer {
     private final LocalGameRepository localGameRepository;
     private final LocalGameSeatRepository localGameSeatRepository;
     private final IdempotencyService idempotencyService;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final LocalGameCache localGameCache;
 
     @KafkaListener(topics = Topics.GAME_SEAT_INITIALIZED, groupId = "booking-service")
     @Transactional
@@ -59,9 +65,11 @@ public class GameEventConsumer {
         localGameSeatRepository.deleteByGameId(event.getGameId());
 
         // Batch insert seats
+        List<Long> seatIds = new ArrayList<>();
         if (event.getSeats() != null && !event.getSeats().isEmpty()) {
             List<LocalGameSeat> seats = new ArrayList<>();
             for (SeatInitializedEvent.SeatInfo seatInfo : event.getSeats()) {
+                seatIds.add(seatInfo.getGameSeatId());
                 seats.add(new LocalGameSeat(
                         seatInfo.getGameSeatId(),
                         event.getGameId(),
@@ -76,9 +84,28 @@ public class GameEventConsumer {
             log.info("Synced {} seats for gameId={}", seats.size(), event.getGameId());
         }
 
+        // Re-initialized seats are all AVAILABLE: rebuild the in-memory index once committed
+        runAfterCommit(() -> {
+            availabilityIndex.load(event.getGameId(), seatIds, List.of());
+            localGameCache.evict(event.getGameId());
+        });
+
         idempotencyService.markProcessed(event.getEventId(), Topics.GAME_SEAT_INITIALIZED);
     }
 
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     @KafkaListener(topics = Topics.GAME_INFO_UPDATED, groupId = "booking-service")
     @Transactional
     public void handleGameInfoUpdated(GameInfoUpdatedEvent event) {
@@ -108,6 +135,8 @@ public class GameEventConsumer {
                             log.info("Created local game replica: gameId={}", event.getGameId());
                         }
                 );
+        // Only this pod consumes the event; other pods see the change within the cache TTL
+        runAfterCommit(() -> localGameCache.evict(event.getGameId()));
 
         idempotencyService.markProcessed(event.getEventId(), Topics.GAME_INFO_UPDATED);
     }
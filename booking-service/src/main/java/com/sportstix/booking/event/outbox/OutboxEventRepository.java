@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
@@ -19,6 +20,37 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
             """, nativeQuery = true)
     List<OutboxEvent> findPendingEvents(@Param("batchSize") int batchSize);
 
+    /**
+     * Pending events of the given logical slices (slice = abs(hashtext(partition_key)) % sliceCount).
+     * All events of one partition key fall into one slice, so per-key order is kept by its leaseholder.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE status IN ('PENDING', 'RETRYING')
+            AND mod(abs(CAST(hashtext(partition_key) AS BIGINT)), :sliceCount) IN (:slices)
+            ORDER BY created_at ASC
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> findPendingEventsInSlices(@Param("slices") Collection<Integer> slices,
+                                                @Param("sliceCount") int sliceCount,
+                                                @Param("batchSize") int batchSize);
+
+    /**
+     * Per-slice backlog: [slice, pending count, age of oldest pending event in seconds].
+     */
+    @Query(value = """
+            SELECT mod(abs(CAST(hashtext(partition_key) AS BIGINT)), :sliceCount) AS slice,
+                   count(*) AS pending,
+                   CAST(EXTRACT(EPOCH FROM (NOW() - min(created_at))) AS DOUBLE PRECISION) AS lag_seconds
+            FROM outbox_events
+            WHERE status IN ('PENDING', 'RETRYING')
+            AND mod(abs(CAST(hashtext(partition_key) AS BIGINT)), :sliceCount) IN (:slices)
+            GROUP BY 1
+            """, nativeQuery = true)
+    List<Object[]> findSliceBacklog(@Param("slices") Collection<Integer> slices,
+                                    @Param("sliceCount") int sliceCount);
+
     @Modifying
     @Query(value = """
             DELETE FROM outbox_events
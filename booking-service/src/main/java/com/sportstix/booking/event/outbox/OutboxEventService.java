@@ -2,36 +2,105 @@ package com.sportstix.booking.event.outbox;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.jooq.OutboxEventJooqRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Saves events to the outbox table within the caller's transaction.
  * Must be called inside an existing @Transactional context.
+ * Optionally issues a Postgres NOTIFY (delivered on commit) so the relay wakes
+ * immediately instead of waiting for the next poll: partition keys saved in a
+ * transaction are collected and notified in one statement just before commit.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OutboxEventService {
 
+    private static final String PENDING_NOTIFY_KEY = OutboxEventService.class.getName() + ".pendingNotify";
+
     private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
+    private final OutboxEventJooqRepository outboxEventJooqRepository;
+    private final BookingProperties bookingProperties;
 
     public void save(String aggregateType, String aggregateId,
                      String eventType, String topic,
                      String partitionKey, Object event) {
-        String payload = serialize(event);
-
-        OutboxEvent outboxEvent = new OutboxEvent(
-                aggregateType, aggregateId, eventType,
-                topic, partitionKey, payload);
+        OutboxEvent outboxEvent = create(aggregateType, aggregateId,
+                eventType, topic, partitionKey, event);
 
         outboxEventRepository.save(outboxEvent);
+
+        notifyBeforeCommit(List.of(partitionKey));
         log.debug("Outbox event saved: type={}, topic={}, aggregateId={}",
                 eventType, topic, aggregateId);
     }
 
+    /**
+     * Builds an unsaved outbox event; pair with {@link #saveAll(List)}.
+     */
+    public OutboxEvent create(String aggregateType, String aggregateId,
+                              String eventType, String topic,
+                              String partitionKey, Object event) {
+        return new OutboxEvent(aggregateType, aggregateId, eventType,
+                topic, partitionKey, serialize(event));
+    }
+
+    /**
+     * Saves events with one multi-row INSERT.
+     */
+    public void saveAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        outboxEventJooqRepository.insertAll(events);
+
+        notifyBeforeCommit(events.stream().map(OutboxEvent::getPartitionKey).toList());
+        log.debug("Outbox events saved: count={}", events.size());
+    }
+
+    private void notifyBeforeCommit(Collection<String> partitionKeys) {
+        BookingProperties.Outbox outbox = bookingProperties.getOutbox();
+        if (!outbox.isNotifyEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxEventJooqRepository.notifyPending(new LinkedHashSet<>(partitionKeys), outbox.getSliceCount());
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(PENDING_NOTIFY_KEY);
+        if (pending == null) {
+            Set<String> keys = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_NOTIFY_KEY, keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    outboxEventJooqRepository.notifyPending(keys, outbox.getSliceCount());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_NOTIFY_KEY);
+                }
+            });
+            pending = keys;
+        }
+        pending.addAll(partitionKeys);
+    }
+
     private String serialize(Object event) {
         try {
             return objectMapper.writeValueAsString(event);
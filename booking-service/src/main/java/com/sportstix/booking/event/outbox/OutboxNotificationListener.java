@@ -0,0 +1,156 @@
+package com.sportstix.booking.event.outbox;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.jooq.OutboxEventJooqRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LISTENs on the outbox NOTIFY channel over a dedicated JDBC connection
+ * (outside the Hikari pool, since it is held for the lifetime of the pod)
+ * and wakes the outbox relay as soon as an outbox insert commits.
+ *
+ * The fixed-delay poll stays in place as a fallback: lost notifications
+ * (listener reconnecting, NOTIFY queue overflow) only cost up to one poll interval.
+ *
+ * Relay runs happen on a separate thread so a slow relay never delays reading
+ * notifications; slices notified while a run is queued or in progress are
+ * coalesced into the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxNotificationListener implements SmartLifecycle {
+
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_BACKOFF_MS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final BookingProperties bookingProperties;
+    private final OutboxPartitionedRelay partitionedRelay;
+    private final OutboxPollingPublisher pollingPublisher;
+
+    private final Set<Integer> pendingSlices = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wakeupScheduled = new AtomicBoolean();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+    private ExecutorService relayExecutor;
+
+    @Override
+    public void start() {
+        if (!bookingProperties.getOutbox().isNotifyEnabled()) {
+            return;
+        }
+        running = true;
+        relayExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("outbox-notify-relay").daemon(true).factory());
+        listenerThread = Thread.ofPlatform()
+                .name("outbox-notify-listener")
+                .daemon(true)
+                .start(this::listenLoop);
+        log.info("Outbox NOTIFY listener started: channel={}", OutboxEventJooqRepository.NOTIFY_CHANNEL);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        if (relayExecutor != null) {
+            relayExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + OutboxEventJooqRepository.NOTIFY_CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        enqueue(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Outbox NOTIFY listener connection lost, reconnecting in {}ms", RECONNECT_BACKOFF_MS, e);
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void enqueue(String slicePayload) {
+        try {
+            pendingSlices.add(Integer.parseInt(slicePayload));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed outbox notification payload: {}", slicePayload);
+            return;
+        }
+        if (wakeupScheduled.compareAndSet(false, true)) {
+            try {
+                relayExecutor.execute(this::dispatchPending);
+            } catch (RejectedExecutionException e) {
+                wakeupScheduled.set(false);
+            }
+        }
+    }
+
+    private void dispatchPending() {
+        // Cleared first: a notification arriving during this run schedules the next one
+        wakeupScheduled.set(false);
+        List<Integer> slices = new ArrayList<>(pendingSlices);
+        pendingSlices.removeAll(slices);
+        try {
+            if (bookingProperties.getOutbox().getRelayMode() == BookingProperties.Outbox.RelayMode.SINGLE) {
+                // Goes through the ShedLock proxy: skipped if another replica holds the lock
+                pollingPublisher.pollAndPublish();
+            } else {
+                partitionedRelay.wakeUp(slices);
+            }
+        } catch (Exception e) {
+            log.warn("Outbox relay wakeup failed: slices={}", slices, e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.sportstix.booking.event.outbox;
+
+import com.sportstix.booking.config.BookingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Partitioned outbox relay: runs on every pod (no ShedLock).
+ *
+ * outbox_events are split into N logical slices by partition_key hash; each pod
+ * relays only the slices it leases (see OutboxSliceLeaseManager), so relay
+ * throughput scales with replicas while per-key (per-game) ordering is kept.
+ * Exposes per-slice backlog gauges for the slices this pod owns.
+ *
+ * Runs on the fixed-delay schedule (lease renewal + fallback poll) and on
+ * NOTIFY wakeups for owned slices. Concurrent triggers are coalesced: a trigger
+ * arriving while a run is in progress causes exactly one more run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPartitionedRelay {
+
+    private static final String LAG_GAUGE = "booking.outbox.slice.lag";
+    private static final String PENDING_GAUGE = "booking.outbox.slice.pending";
+
+    private final OutboxSliceLeaseManager leaseManager;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingProperties bookingProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Integer, SliceBacklog> backlogBySlice = new ConcurrentHashMap<>();
+    private final Set<Integer> registeredSlices = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicBoolean runPending = new AtomicBoolean();
+    private volatile List<Integer> leasedSlices = List.of();
+
+    @Scheduled(fixedDelay = 1000)
+    public void relay() {
+        BookingProperties.Outbox outbox = bookingProperties.getOutbox();
+        if (outbox.getRelayMode() != BookingProperties.Outbox.RelayMode.PARTITIONED) {
+            return;
+        }
+        try {
+            leasedSlices = List.copyOf(leaseManager.acquire(outbox.getSliceCount(), outbox.getLeaseSeconds()));
+        } catch (Exception e) {
+            log.warn("Outbox slice lease acquisition failed", e);
+            return;
+        }
+        runCoalesced();
+    }
+
+    /**
+     * NOTIFY wakeup: relays immediately if this pod currently leases the slice.
+     * Uses the leases from the last scheduled renewal (at most one poll interval old).
+     */
+    public void wakeUp(int slice) {
+        wakeUp(List.of(slice));
+    }
+
+    /**
+     * Wakeup for several notified slices: one relay run if any of them is leased here.
+     */
+    public void wakeUp(Collection<Integer> slices) {
+        if (bookingProperties.getOutbox().getRelayMode() != BookingProperties.Outbox.RelayMode.PARTITIONED) {
+            return;
+        }
+        List<Integer> leased = leasedSlices;
+        if (slices.stream().noneMatch(leased::contains)) {
+            return;
+        }
+        runCoalesced();
+    }
+
+    private void runCoalesced() {
+        runPending.set(true);
+        while (runPending.get() && relayLock.tryLock()) {
+            try {
+                runPending.set(false);
+                relayOnce();
+            } catch (Exception e) {
+                log.warn("Outbox relay run failed: slices={}", leasedSlices, e);
+            } finally {
+                relayLock.unlock();
+            }
+        }
+    }
+
+    private void relayOnce() {
+        BookingProperties.Outbox outbox = bookingProperties.getOutbox();
+        List<Integer> slices = leasedSlices;
+        if (slices.isEmpty()) {
+            backlogBySlice.clear();
+            return;
+        }
+
+        // Drain full batches, but stop well before the lease could expire
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(outbox.getLeaseSeconds()) / 2;
+        int fetched;
+        do {
+            fetched = outboxEventPublisher.publishSlices(slices, outbox.getSliceCount(), outbox.getBatchSize());
+        } while (fetched == outbox.getBatchSize() && System.nanoTime() < drainDeadline);
+
+        recordBacklog(slices, outbox.getSliceCount());
+    }
+
+    private void recordBacklog(List<Integer> slices, int sliceCount) {
+        backlogBySlice.keySet().retainAll(slices);
+        for (Integer slice : slices) {
+            registerGauges(slice);
+            backlogBySlice.put(slice, SliceBacklog.EMPTY);
+        }
+        for (Object[] row : outboxEventRepository.findSliceBacklog(slices, sliceCount)) {
+            int slice = ((Number) row[0]).intValue();
+            backlogBySlice.put(slice, new SliceBacklog(
+                    ((Number) row[1]).longValue(),
+                    row[2] != null ? ((Number) row[2]).doubleValue() : 0));
+        }
+    }
+
+    private void registerGauges(Integer slice) {
+        if (!registeredSlices.add(slice)) {
+            return;
+        }
+        String tag = String.valueOf(slice);
+        Gauge.builder(LAG_GAUGE, backlogBySlice, m -> m.getOrDefault(slice, SliceBacklog.EMPTY).lagSeconds())
+                .description("Age of the oldest unpublished outbox event in the slice (owning pod only)")
+                .baseUnit("seconds")
+                .tag("slice", tag)
+                .register(meterRegistry);
+        Gauge.builder(PENDING_GAUGE, backlogBySlice, m -> m.getOrDefault(slice, SliceBacklog.EMPTY).pending())
+                .description("Unpublished outbox events in the slice (owning pod only)")
+                .tag("slice", tag)
+                .register(meterRegistry);
+    }
+
+    private record SliceBacklog(long pending, double lagSeconds) {
+        static final SliceBacklog EMPTY = new SliceBacklog(0, 0);
+    }
+}
@@ -1,5 +1,6 @@
 package com.sportstix.booking.event.outbox;
 
+import com.sportstix.booking.config.BookingProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
@@ -13,27 +14,36 @@ import java.util.List;
 /**
  * Polls outbox_events table and publishes pending events to Kafka.
  * ShedLock ensures only one instance runs polling across all replicas.
+ * Publish mode (per-event or batch) is selected by booking.outbox.publish-mode.
+ * Inactive when booking.outbox.relay-mode is PARTITIONED (see OutboxPartitionedRelay).
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OutboxPollingPublisher {
 
-    private static final int BATCH_SIZE = 50;
-
     private final OutboxEventRepository outboxEventRepository;
     private final OutboxEventPublisher outboxEventPublisher;
+    private final BookingProperties bookingProperties;
 
     @Scheduled(fixedDelay = 1000)
     @SchedulerLock(name = "outboxPolling", lockAtMostFor = "30s", lockAtLeastFor = "500ms")
     public void pollAndPublish() {
-        List<OutboxEvent> events = outboxEventRepository.findPendingEvents(BATCH_SIZE);
+        BookingProperties.Outbox outbox = bookingProperties.getOutbox();
+        if (outbox.getRelayMode() != BookingProperties.Outbox.RelayMode.SINGLE) {
+            return;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findPendingEvents(outbox.getBatchSize());
         if (events.isEmpty()) {
             return;
         }
 
         log.debug("Polling {} outbox events", events.size());
 
+        if (outbox.getPublishMode() == BookingProperties.Outbox.PublishMode.BATCH) {
+            outboxEventPublisher.publishBatch(events);
+            return;
+        }
         for (OutboxEvent event : events) {
             outboxEventPublisher.publishEvent(event);
         }
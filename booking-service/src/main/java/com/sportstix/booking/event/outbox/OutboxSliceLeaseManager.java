@@ -0,0 +1,89 @@
+package com.sportstix.booking.event.outbox;
+
+import com.sportstix.booking.jooq.OutboxSliceLeaseJooqRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Assigns outbox slices to pods through the outbox_slice_leases table.
+ *
+ * Each call heartbeats this pod in outbox_relay_owners (also while it holds no slice),
+ * renews its leases and rebalances towards a fair share (ceil(slices / live pods)):
+ * extra slices are released for newly started pods,
+ * missing ones are claimed from unowned or expired leases. A crashed pod's slices
+ * are picked up once its leases expire.
+ */
+@Slf4j
+@Component
+public class OutboxSliceLeaseManager {
+
+    private final OutboxSliceLeaseJooqRepository leaseRepository;
+    private final String owner;
+    private volatile int ensuredSliceCount = -1;
+
+    @Autowired
+    public OutboxSliceLeaseManager(OutboxSliceLeaseJooqRepository leaseRepository) {
+        this(leaseRepository, ManagementFactory.getRuntimeMXBean().getName());
+    }
+
+    OutboxSliceLeaseManager(OutboxSliceLeaseJooqRepository leaseRepository, String owner) {
+        this.leaseRepository = leaseRepository;
+        this.owner = owner;
+    }
+
+    /**
+     * Renews and rebalances this pod's leases. Returns the slices this pod may relay.
+     */
+    public List<Integer> acquire(int sliceCount, int leaseSeconds) {
+        if (ensuredSliceCount != sliceCount) {
+            leaseRepository.ensureSlices(sliceCount);
+            ensuredSliceCount = sliceCount;
+        }
+
+        leaseRepository.heartbeat(owner, leaseSeconds);
+        List<Integer> owned = new ArrayList<>(leaseRepository.renew(owner, sliceCount, leaseSeconds));
+        int liveOwners = leaseRepository.countOtherLiveOwners(owner) + 1;
+        int fairShare = Math.ceilDiv(sliceCount, liveOwners);
+
+        if (owned.size() > fairShare) {
+            Collections.sort(owned);
+            List<Integer> extra = List.copyOf(owned.subList(fairShare, owned.size()));
+            leaseRepository.release(owner, extra);
+            owned.removeAll(extra);
+            log.info("Outbox slices released for rebalancing: owner={}, slices={}", owner, extra);
+        } else if (owned.size() < fairShare) {
+            List<Integer> claimed = leaseRepository.claimFree(
+                    owner, sliceCount, fairShare - owned.size(), leaseSeconds);
+            if (!claimed.isEmpty()) {
+                owned.addAll(claimed);
+                log.info("Outbox slices claimed: owner={}, slices={}", owner, claimed);
+            }
+        }
+        return owned;
+    }
+
+    public String owner() {
+        return owner;
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        try {
+            List<Integer> all = new ArrayList<>();
+            for (int slice = 0; slice < Math.max(ensuredSliceCount, 0); slice++) {
+                all.add(slice);
+            }
+            leaseRepository.release(owner, all);
+            leaseRepository.removeOwner(owner);
+        } catch (Exception e) {
+            log.warn("Failed to release outbox slice leases on shutdown: owner={}", owner, e);
+        }
+    }
+}
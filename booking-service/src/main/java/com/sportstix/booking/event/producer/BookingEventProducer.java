@@ -1,8 +1,11 @@
 package com.sportstix.booking.event.producer;
 
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.domain.Booking;
 import com.sportstix.booking.domain.BookingSeat;
+import com.sportstix.booking.event.outbox.OutboxEvent;
 import com.sportstix.booking.event.outbox.OutboxEventService;
+import com.sportstix.booking.jooq.BookingJooqRepository.CancelledBooking;
 import com.sportstix.common.event.BookingEvent;
 import com.sportstix.common.event.SeatEvent;
 import com.sportstix.common.event.Topics;
@@ -10,9 +13,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Saves booking/seat events to the outbox table instead of publishing directly.
- * Events are published to Kafka asynchronously by OutboxPollingPublisher.
+ * Events are published to Kafka asynchronously by the outbox relay.
+ *
+ * Event shape is selected by booking.events.shape:
+ * - AGGREGATE (v2): one outbox row / message per booking carrying all seat ids
+ * - PER_SEAT (v1): one outbox row / message per seat (legacy consumers)
  */
 @Slf4j
 @Component
@@ -20,9 +30,19 @@ import org.springframework.stereotype.Component;
 public class BookingEventProducer {
 
     private final OutboxEventService outboxEventService;
+    private final BookingProperties bookingProperties;
 
     public void publishBookingCreated(Booking booking) {
         String key = String.valueOf(booking.getGameId());
+        if (isAggregate()) {
+            BookingEvent event = BookingEvent.created(
+                    booking.getId(), booking.getUserId(),
+                    booking.getGameId(), seatIds(booking),
+                    booking.getTotalPrice());
+            outboxEventService.save("Booking", String.valueOf(booking.getId()),
+                    "BOOKING_CREATED", Topics.BOOKING_CREATED, key, event);
+            return;
+        }
         for (BookingSeat seat : booking.getBookingSeats()) {
             BookingEvent event = BookingEvent.created(
                     booking.getId(), booking.getUserId(),
@@ -35,6 +55,14 @@ public class BookingEventProducer {
 
     public void publishBookingConfirmed(Booking booking) {
         String key = String.valueOf(booking.getGameId());
+        if (isAggregate()) {
+            BookingEvent event = BookingEvent.confirmed(
+                    booking.getId(), booking.getUserId(),
+                    booking.getGameId(), seatIds(booking));
+            outboxEventService.save("Booking", String.valueOf(booking.getId()),
+                    "BOOKING_CONFIRMED", Topics.BOOKING_CONFIRMED, key, event);
+            return;
+        }
         for (BookingSeat seat : booking.getBookingSeats()) {
             BookingEvent event = BookingEvent.confirmed(
                     booking.getId(), booking.getUserId(),
@@ -46,6 +74,14 @@ public class BookingEventProducer {
 
     public void publishBookingCancelled(Booking booking) {
         String key = String.valueOf(booking.getGameId());
+        if (isAggregate()) {
+            BookingEvent event = BookingEvent.cancelled(
+                    booking.getId(), booking.getUserId(),
+                    booking.getGameId(), seatIds(booking));
+            outboxEventService.save("Booking", String.valueOf(booking.getId()),
+                    "BOOKING_CANCELLED", Topics.BOOKING_CANCELLED, key, event);
+            return;
+        }
         for (BookingSeat seat : booking.getBookingSeats()) {
             BookingEvent event = BookingEvent.cancelled(
                     booking.getId(), booking.getUserId(),
@@ -57,6 +93,13 @@ public class BookingEventProducer {
 
     public void publishSeatsHeld(Booking booking) {
         String key = String.valueOf(booking.getGameId());
+        if (isAggregate()) {
+            SeatEvent event = SeatEvent.held(
+                    booking.getGameId(), seatIds(booking), booking.getUserId());
+            outboxEventService.save("Booking", String.valueOf(booking.getId()),
+                    "SEAT_HELD", Topics.SEAT_HELD, key, event);
+            return;
+        }
         for (BookingSeat seat : booking.getBookingSeats()) {
             SeatEvent event = SeatEvent.held(
                     booking.getGameId(), seat.getGameSeatId(), booking.getUserId());
@@ -67,6 +110,13 @@ public class BookingEventProducer {
 
     public void publishSeatsReleased(Booking booking) {
         String key = String.valueOf(booking.getGameId());
+        if (isAggregate()) {
+            SeatEvent event = SeatEvent.released(
+                    booking.getGameId(), seatIds(booking), booking.getUserId());
+            outboxEventService.save("Booking", String.valueOf(booking.getId()),
+                    "SEAT_RELEASED", Topics.SEAT_RELEASED, key, event);
+            return;
+        }
         for (BookingSeat seat : booking.getBookingSeats()) {
             SeatEvent event = SeatEvent.released(
                     booking.getGameId(), seat.getGameSeatId(), booking.getUserId());
@@ -74,4 +124,80 @@ public class BookingEventProducer {
                     "SEAT_RELEASED", Topics.SEAT_RELEASED, key, event);
         }
     }
+
+    /**
+     * BOOKING_CREATED + SEAT_HELD for a group-committed batch of holds,
+     * written with a single multi-row outbox insert.
+     */
+    public void publishHeldBatch(List<Booking> bookings) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (Booking booking : bookings) {
+            String key = String.valueOf(booking.getGameId());
+            String bookingId = String.valueOf(booking.getId());
+            if (isAggregate()) {
+                events.add(outboxEventService.create("Booking", bookingId, "BOOKING_CREATED",
+                        Topics.BOOKING_CREATED, key, BookingEvent.created(
+                                booking.getId(), booking.getUserId(), booking.getGameId(),
+                                seatIds(booking), booking.getTotalPrice())));
+                events.add(outboxEventService.create("Booking", bookingId, "SEAT_HELD",
+                        Topics.SEAT_HELD, key, SeatEvent.held(
+                                booking.getGameId(), seatIds(booking), booking.getUserId())));
+                continue;
+            }
+            for (BookingSeat seat : booking.getBookingSeats()) {
+                events.add(outboxEventService.create("Booking", bookingId, "BOOKING_CREATED",
+                        Topics.BOOKING_CREATED, key, BookingEvent.created(
+                                booking.getId(), booking.getUserId(), booking.getGameId(),
+                                seat.getGameSeatId(), booking.getTotalPrice())));
+            }
+            for (BookingSeat seat : booking.getBookingSeats()) {
+                events.add(outboxEventService.create("Seat", String.valueOf(seat.getGameSeatId()), "SEAT_HELD",
+                        Topics.SEAT_HELD, key, SeatEvent.held(
+                                booking.getGameId(), seat.getGameSeatId(), booking.getUserId())));
+            }
+        }
+        outboxEventService.saveAll(events);
+    }
+
+    /**
+     * BOOKING_CANCELLED + SEAT_RELEASED for a batch of bulk-cancelled bookings,
+     * written with a single multi-row outbox insert.
+     */
+    public void publishBulkReleased(List<CancelledBooking> bookings) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (CancelledBooking booking : bookings) {
+            String key = String.valueOf(booking.gameId());
+            String bookingId = String.valueOf(booking.id());
+            if (isAggregate()) {
+                events.add(outboxEventService.create("Booking", bookingId, "BOOKING_CANCELLED",
+                        Topics.BOOKING_CANCELLED, key, BookingEvent.cancelled(
+                                booking.id(), booking.userId(), booking.gameId(), booking.seatIds())));
+                events.add(outboxEventService.create("Booking", bookingId, "SEAT_RELEASED",
+                        Topics.SEAT_RELEASED, key, SeatEvent.released(
+                                booking.gameId(), booking.seatIds(), booking.userId())));
+                continue;
+            }
+            for (Long seatId : booking.seatIds()) {
+                events.add(outboxEventService.create("Booking", bookingId, "BOOKING_CANCELLED",
+                        Topics.BOOKING_CANCELLED, key, BookingEvent.cancelled(
+                                booking.id(), booking.userId(), booking.gameId(), seatId)));
+            }
+            for (Long seatId : booking.seatIds()) {
+                events.add(outboxEventService.create("Seat", String.valueOf(seatId), "SEAT_RELEASED",
+                        Topics.SEAT_RELEASED, key, SeatEvent.released(
+                                booking.gameId(), seatId, booking.userId())));
+            }
+        }
+        outboxEventService.saveAll(events);
+    }
+
+    private boolean isAggregate() {
+        return bookingProperties.getEvents().getShape() == BookingProperties.Events.Shape.AGGREGATE;
+    }
+
+    private static List<Long> seatIds(Booking booking) {
+        return booking.getBookingSeats().stream()
+                .map(BookingSeat::getGameSeatId)
+                .toList();
+    }
 }
@@ -0,0 +1,191 @@
+package com.sportstix.booking.jooq;
+
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.domain.BookingSeat;
+import com.sportstix.booking.domain.BookingStatus;
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.sportstix.booking.jooq.generated.Tables.BOOKINGS;
+import static com.sportstix.booking.jooq.generated.Tables.BOOKING_SEATS;
+import static com.sportstix.booking.jooq.generated.Tables.LOCAL_GAME_SEATS;
+
+/**
+ * jOOQ repository for bulk hold inserts, set-based booking status transitions and
+ * reconciliation scans. Bypasses the JPA persistence context: callers must not hold the affected
+ * Booking entities in the same transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookingJooqRepository {
+
+    private static final String PENDING = BookingStatus.PENDING.name();
+    private static final String CANCELLED = BookingStatus.CANCELLED.name();
+
+    private final DSLContext dsl;
+
+    /**
+     * Cancels up to {@code limit} expired PENDING bookings (oldest hold first) in one
+     * UPDATE ... RETURNING. Rows locked by a concurrent release are skipped.
+     */
+    @Transactional
+    public List<CancelledBooking> cancelExpired(int limit) {
+        return cancelExpiredWhere(DSL.noCondition(), limit);
+    }
+
+    /**
+     * Cancels those of the given bookings that are still PENDING and past their hold.
+     */
+    @Transactional
+    public List<CancelledBooking> cancelExpired(Collection<Long> bookingIds) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            return List.of();
+        }
+        return cancelExpiredWhere(BOOKINGS.ID.eq(DSL.any(bookingIds.toArray(Long[]::new))), bookingIds.size());
+    }
+
+    /**
+     * Inserts new bookings and their seats in two statements: one multi-row
+     * INSERT ... RETURNING id on bookings and one multi-row insert on booking_seats.
+     * Hibernate cannot batch IDENTITY inserts, so the JPA path costs one round trip
+     * per booking and per seat. Assigns the generated ids to the given entities,
+     * which stay detached from the persistence context.
+     */
+    @Transactional
+    public List<Booking> insertHolds(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        var insertBookings = dsl.insertInto(BOOKINGS, BOOKINGS.USER_ID, BOOKINGS.GAME_ID, BOOKINGS.STATUS,
+                BOOKINGS.TOTAL_PRICE, BOOKINGS.HOLD_EXPIRES_AT, BOOKINGS.CREATED_AT, BOOKINGS.UPDATED_AT);
+        for (Booking booking : bookings) {
+            insertBookings = insertBookings.values(booking.getUserId(), booking.getGameId(),
+                    booking.getStatus().name(), booking.getTotalPrice().longValueExact(),
+                    booking.getHoldExpiresAt(), now, now);
+        }
+        // The sequence is drawn in VALUES order within one statement; sorting keeps the
+        // mapping correct without relying on the order of RETURNING rows
+        List<Long> ids = new ArrayList<>(insertBookings.returningResult(BOOKINGS.ID).fetch().getValues(BOOKINGS.ID));
+        if (ids.size() != bookings.size()) {
+            throw new IllegalStateException("Inserted " + ids.size() + " of " + bookings.size() + " bookings");
+        }
+        ids.sort(null);
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).markInserted(ids.get(i), now);
+        }
+
+        var insertSeats = dsl.insertInto(BOOKING_SEATS, BOOKING_SEATS.BOOKING_ID, BOOKING_SEATS.GAME_SEAT_ID,
+                BOOKING_SEATS.PRICE, BOOKING_SEATS.CREATED_AT);
+        for (Booking booking : bookings) {
+            for (BookingSeat seat : booking.getBookingSeats()) {
+                insertSeats = insertSeats.values(booking.getId(), seat.getGameSeatId(),
+                        seat.getPrice().longValueExact(), seat.getCreatedAt());
+            }
+        }
+        insertSeats.execute();
+        return bookings;
+    }
+
+    public Optional<Long> findGameId(Long bookingId) {
+        return dsl.select(BOOKINGS.GAME_ID)
+                .from(BOOKINGS)
+                .where(BOOKINGS.ID.eq(bookingId))
+                .fetchOptional(BOOKINGS.GAME_ID);
+    }
+
+    /**
+     * Hold expiry of the given bookings that are still PENDING.
+     */
+    public Map<Long, LocalDateTime> findPendingHoldExpiries(Collection<Long> bookingIds) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            return Map.of();
+        }
+        return dsl.select(BOOKINGS.ID, BOOKINGS.HOLD_EXPIRES_AT)
+                .from(BOOKINGS)
+                .where(BOOKINGS.ID.eq(DSL.any(bookingIds.toArray(Long[]::new))))
+                .and(BOOKINGS.STATUS.eq(PENDING))
+                .and(BOOKINGS.HOLD_EXPIRES_AT.isNotNull())
+                .fetchMap(BOOKINGS.ID, BOOKINGS.HOLD_EXPIRES_AT);
+    }
+
+    /**
+     * Keyset page (booking_seats.id > afterId, ascending) of seats of CONFIRMED
+     * bookings whose local seat is missing or not RESERVED.
+     */
+    public List<SeatMismatch> findConfirmedSeatMismatches(long afterId, int limit) {
+        return dsl.select(BOOKING_SEATS.ID, BOOKING_SEATS.BOOKING_ID,
+                        BOOKING_SEATS.GAME_SEAT_ID, LOCAL_GAME_SEATS.STATUS)
+                .from(BOOKING_SEATS)
+                .join(BOOKINGS).on(BOOKINGS.ID.eq(BOOKING_SEATS.BOOKING_ID))
+                .leftJoin(LOCAL_GAME_SEATS).on(LOCAL_GAME_SEATS.ID.eq(BOOKING_SEATS.GAME_SEAT_ID))
+                .where(BOOKINGS.STATUS.eq(BookingStatus.CONFIRMED.name()))
+                .and(BOOKING_SEATS.ID.gt(afterId))
+                .and(LOCAL_GAME_SEATS.ID.isNull()
+                        .or(LOCAL_GAME_SEATS.STATUS.ne(LocalGameSeatJooqRepository.RESERVED)))
+                .orderBy(BOOKING_SEATS.ID.asc())
+                .limit(limit)
+                .fetch(r -> new SeatMismatch(r.value1(), r.value2(), r.value3(), r.value4()));
+    }
+
+    private List<CancelledBooking> cancelExpiredWhere(Condition filter, int limit) {
+        // Status is re-checked in the outer WHERE so a row cancelled concurrently
+        // (user cancel, another pod) is skipped after its lock is released
+        var expired = dsl.select(BOOKINGS.ID)
+                .from(BOOKINGS)
+                .where(BOOKINGS.STATUS.eq(PENDING))
+                .and(BOOKINGS.HOLD_EXPIRES_AT.lt(DSL.currentLocalDateTime()))
+                .and(filter)
+                .orderBy(BOOKINGS.HOLD_EXPIRES_AT.asc())
+                .limit(limit)
+                .forUpdate()
+                .skipLocked();
+
+        var cancelled = dsl.update(BOOKINGS)
+                .set(BOOKINGS.STATUS, CANCELLED)
+                .set(BOOKINGS.HOLD_EXPIRES_AT, (LocalDateTime) null)
+                .set(BOOKINGS.UPDATED_AT, DSL.currentLocalDateTime())
+                .where(BOOKINGS.ID.in(expired))
+                .and(BOOKINGS.STATUS.eq(PENDING))
+                .returning(BOOKINGS.ID, BOOKINGS.USER_ID, BOOKINGS.GAME_ID)
+                .fetch();
+        if (cancelled.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<Long>> seatsByBooking = new LinkedHashMap<>();
+        List<Long> bookingIds = cancelled.getValues(BOOKINGS.ID);
+        dsl.select(BOOKING_SEATS.BOOKING_ID, BOOKING_SEATS.GAME_SEAT_ID)
+                .from(BOOKING_SEATS)
+                .where(BOOKING_SEATS.BOOKING_ID.eq(DSL.any(bookingIds.toArray(Long[]::new))))
+                .orderBy(BOOKING_SEATS.ID.asc())
+                .forEach(r -> seatsByBooking
+                        .computeIfAbsent(r.get(BOOKING_SEATS.BOOKING_ID), id -> new ArrayList<>())
+                        .add(r.get(BOOKING_SEATS.GAME_SEAT_ID)));
+
+        return cancelled.map(r -> new CancelledBooking(
+                r.get(BOOKINGS.ID), r.get(BOOKINGS.USER_ID), r.get(BOOKINGS.GAME_ID),
+                seatsByBooking.getOrDefault(r.get(BOOKINGS.ID), List.of())));
+    }
+
+    public record CancelledBooking(Long id, Long userId, Long gameId, List<Long> seatIds) {
+    }
+
+    /** seatStatus is null when the local seat replica is missing. */
+    public record SeatMismatch(Long bookingSeatId, Long bookingId, Long gameSeatId, String seatStatus) {
+    }
+}
@@ -1,15 +1,25 @@
 package com.sportstix.booking.jooq;
 
+import com.sportstix.booking.domain.BookingStatus;
+import com.sportstix.booking.domain.SeatStatusChangedEvent;
+import com.sportstix.booking.service.SeatMapCache;
 import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Record2;
+import org.jooq.Record3;
 import org.jooq.Record4;
 import org.jooq.Result;
 import org.jooq.impl.DSL;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
 
+import static com.sportstix.booking.jooq.generated.Tables.BOOKINGS;
+import static com.sportstix.booking.jooq.generated.Tables.BOOKING_SEATS;
 import static com.sportstix.booking.jooq.generated.Tables.LOCAL_GAME_SEATS;
 
 /**
@@ -26,7 +36,10 @@ public class LocalGameSeatJooqRepository {
     public static final String HELD = "HELD";
     public static final String RESERVED = "RESERVED";
 
+    private static final String PENDING_BOOKING = BookingStatus.PENDING.name();
+
     private final DSLContext dsl;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Select a single seat with FOR UPDATE lock (pessimistic lock for booking).
@@ -48,18 +61,120 @@ public class LocalGameSeatJooqRepository {
     /**
      * Bulk update seat status by IDs with current-status guard.
      * Returns the number of rows actually updated.
+     * The rows that transitioned are published as a SeatStatusChangedEvent.
      */
     @Transactional
     public int bulkUpdateStatus(Collection<Long> seatIds, String expectedCurrentStatus, String newStatus) {
         if (seatIds == null || seatIds.isEmpty()) {
             return 0;
         }
-        return dsl.update(LOCAL_GAME_SEATS)
+        Result<Record3<Long, Long, Long>> updated = dsl.update(LOCAL_GAME_SEATS)
                 .set(LOCAL_GAME_SEATS.STATUS, newStatus)
                 .set(LOCAL_GAME_SEATS.SYNCED_AT, DSL.currentLocalDateTime())
                 .where(LOCAL_GAME_SEATS.ID.in(seatIds))
                 .and(LOCAL_GAME_SEATS.STATUS.eq(expectedCurrentStatus))
-                .execute();
+                .returningResult(LOCAL_GAME_SEATS.ID, LOCAL_GAME_SEATS.GAME_ID, LOCAL_GAME_SEATS.SECTION_ID)
+                .fetch();
+        publishTransitions(updated, newStatus, updated.size() == seatIds.size());
+        return updated.size();
+    }
+
+    /**
+     * Releases (HELD/RESERVED -> AVAILABLE) every seat of the given bookings in one
+     * UPDATE joined through booking_seats. Returns the IDs of the seats released.
+     */
+    @Transactional
+    public List<Long> releaseSeatsOfBookings(Collection<Long> bookingIds) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            return List.of();
+        }
+        Result<Record3<Long, Long, Long>> released = dsl.update(LOCAL_GAME_SEATS)
+                .set(LOCAL_GAME_SEATS.STATUS, AVAILABLE)
+                .set(LOCAL_GAME_SEATS.SYNCED_AT, DSL.currentLocalDateTime())
+                .from(BOOKING_SEATS)
+                .where(BOOKING_SEATS.GAME_SEAT_ID.eq(LOCAL_GAME_SEATS.ID))
+                .and(BOOKING_SEATS.BOOKING_ID.eq(DSL.any(bookingIds.toArray(Long[]::new))))
+                .and(LOCAL_GAME_SEATS.STATUS.in(HELD, RESERVED))
+                .returningResult(LOCAL_GAME_SEATS.ID, LOCAL_GAME_SEATS.GAME_ID, LOCAL_GAME_SEATS.SECTION_ID)
+                .fetch();
+        publishTransitions(released, AVAILABLE, true);
+        return released.getValues(LOCAL_GAME_SEATS.ID);
+    }
+
+    /**
+     * Releases (HELD -> AVAILABLE) up to {@code limit} HELD seats with id > afterId that no
+     * PENDING booking references (NOT EXISTS anti-join through booking_seats and bookings,
+     * scanning the partial HELD index) in one UPDATE. Seats locked by an in-flight hold are
+     * skipped, and the anti-join is re-checked on the locked rows.
+     * Returns (id, game_id) of the seats released.
+     */
+    @Transactional
+    public Result<Record2<Long, Long>> releaseStaleHeldSeats(long afterId, int limit) {
+        var stalePage = dsl.select(LOCAL_GAME_SEATS.ID)
+                .from(LOCAL_GAME_SEATS)
+                .where(staleHeld())
+                .and(LOCAL_GAME_SEATS.ID.gt(afterId))
+                .orderBy(LOCAL_GAME_SEATS.ID.asc())
+                .limit(limit)
+                .forUpdate()
+                .skipLocked();
+
+        Result<Record3<Long, Long, Long>> released = dsl.update(LOCAL_GAME_SEATS)
+                .set(LOCAL_GAME_SEATS.STATUS, AVAILABLE)
+                .set(LOCAL_GAME_SEATS.SYNCED_AT, DSL.currentLocalDateTime())
+                .where(LOCAL_GAME_SEATS.ID.in(stalePage))
+                .and(staleHeld())
+                .returningResult(LOCAL_GAME_SEATS.ID, LOCAL_GAME_SEATS.GAME_ID, LOCAL_GAME_SEATS.SECTION_ID)
+                .fetch()
+                .sortAsc(LOCAL_GAME_SEATS.ID);
+        publishTransitions(released, AVAILABLE, true);
+        return released.into(LOCAL_GAME_SEATS.ID, LOCAL_GAME_SEATS.GAME_ID);
+    }
+
+    /**
+     * Full seat map of a game (id, section, row, number, price, status) for the Redis read model.
+     */
+    public List<SeatMapCache.SeatLayout> findSeatMapByGame(Long gameId) {
+        return dsl.select(LOCAL_GAME_SEATS.ID, LOCAL_GAME_SEATS.SECTION_ID, LOCAL_GAME_SEATS.ROW_NAME,
+                        LOCAL_GAME_SEATS.SEAT_NUMBER, LOCAL_GAME_SEATS.PRICE, LOCAL_GAME_SEATS.STATUS)
+                .from(LOCAL_GAME_SEATS)
+                .where(LOCAL_GAME_SEATS.GAME_ID.eq(gameId))
+                .orderBy(LOCAL_GAME_SEATS.ID.asc())
+                .fetch(r -> new SeatMapCache.SeatLayout(r.value1(), r.value2(), r.value3(),
+                        r.value4(), r.value5(), r.value6()));
+    }
+
+    /**
+     * Current (id, section, status) of every seat of a game, for seat map resync.
+     */
+    public List<SeatMapCache.SeatState> findSeatStatesByGame(Long gameId) {
+        return dsl.select(LOCAL_GAME_SEATS.ID, LOCAL_GAME_SEATS.SECTION_ID, LOCAL_GAME_SEATS.STATUS)
+                .from(LOCAL_GAME_SEATS)
+                .where(LOCAL_GAME_SEATS.GAME_ID.eq(gameId))
+                .orderBy(LOCAL_GAME_SEATS.ID.asc())
+                .fetch(r -> new SeatMapCache.SeatState(gameId, r.value2(), r.value1(), r.value3()));
+    }
+
+    /**
+     * All seat IDs of a game, ascending (dense ordinal layout for the availability index).
+     */
+    public List<Long> findSeatIdsByGame(Long gameId) {
+        return dsl.select(LOCAL_GAME_SEATS.ID)
+                .from(LOCAL_GAME_SEATS)
+                .where(LOCAL_GAME_SEATS.GAME_ID.eq(gameId))
+                .orderBy(LOCAL_GAME_SEATS.ID.asc())
+                .fetch(LOCAL_GAME_SEATS.ID);
+    }
+
+    /**
+     * Seat IDs of a game that are not AVAILABLE (HELD or RESERVED).
+     */
+    public List<Long> findTakenSeatIdsByGame(Long gameId) {
+        return dsl.select(LOCAL_GAME_SEATS.ID)
+                .from(LOCAL_GAME_SEATS)
+                .where(LOCAL_GAME_SEATS.GAME_ID.eq(gameId))
+                .and(LOCAL_GAME_SEATS.STATUS.ne(AVAILABLE))
+                .fetch(LOCAL_GAME_SEATS.ID);
     }
 
     /**
@@ -83,6 +198,35 @@ public class LocalGameSeatJooqRepository {
                 .fetch();
     }
 
+    /**
+     * Keyset page of available seats in a section, ordered by (row_name, seat_number, id)
+     * and starting after the given position (first page when afterId is null).
+     * Served by idx_local_game_seats_available_keyset, so cost does not grow with depth.
+     * Seats without row_name/seat_number are not returned.
+     */
+    public Result<Record4<Long, String, Integer, Long>> findAvailableByGameAndSectionAfter(
+            Long gameId, Long sectionId, String afterRowName, Integer afterSeatNumber, Long afterId, int limit) {
+        Condition after = afterId == null
+                ? DSL.noCondition()
+                : DSL.row(LOCAL_GAME_SEATS.ROW_NAME, LOCAL_GAME_SEATS.SEAT_NUMBER, LOCAL_GAME_SEATS.ID)
+                        .gt(afterRowName, afterSeatNumber, afterId);
+        return dsl.select(
+                        LOCAL_GAME_SEATS.ID,
+                        LOCAL_GAME_SEATS.ROW_NAME,
+                        LOCAL_GAME_SEATS.SEAT_NUMBER,
+                        LOCAL_GAME_SEATS.PRICE)
+                .from(LOCAL_GAME_SEATS)
+                .where(LOCAL_GAME_SEATS.GAME_ID.eq(gameId))
+                .and(LOCAL_GAME_SEATS.SECTION_ID.eq(sectionId))
+                .and(LOCAL_GAME_SEATS.STATUS.eq(AVAILABLE))
+                .and(LOCAL_GAME_SEATS.ROW_NAME.isNotNull())
+                .and(LOCAL_GAME_SEATS.SEAT_NUMBER.isNotNull())
+                .and(after)
+                .orderBy(LOCAL_GAME_SEATS.ROW_NAME, LOCAL_GAME_SEATS.SEAT_NUMBER, LOCAL_GAME_SEATS.ID)
+                .limit(limit)
+                .fetch();
+    }
+
     /**
      * Count available seats by game.
      */
@@ -143,4 +287,26 @@ public class LocalGameSeatJooqRepository {
                 .where(LOCAL_GAME_SEATS.ID.eq(gameSeatId))
                 .fetchOne(LOCAL_GAME_SEATS.PRICE);
     }
+
+    private static Condition staleHeld() {
+        return LOCAL_GAME_SEATS.STATUS.eq(HELD)
+                .andNotExists(DSL.selectOne()
+                        .from(BOOKING_SEATS)
+                        .join(BOOKINGS).on(BOOKINGS.ID.eq(BOOKING_SEATS.BOOKING_ID))
+                        .where(BOOKING_SEATS.GAME_SEAT_ID.eq(LOCAL_GAME_SEATS.ID))
+                        .and(BOOKINGS.STATUS.eq(PENDING_BOOKING)));
+    }
+
+    /**
+     * Publishes the rows that actually transitioned (id, game_id, section_id).
+     */
+    private void publishTransitions(Result<Record3<Long, Long, Long>> transitioned, String newStatus,
+                                    boolean complete) {
+        if (transitioned.isEmpty()) {
+            return;
+        }
+        List<SeatStatusChangedEvent.Seat> seats = transitioned.map(r ->
+                new SeatStatusChangedEvent.Seat(r.value2(), r.value3(), r.value1()));
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(seats, newStatus, complete));
+    }
 }
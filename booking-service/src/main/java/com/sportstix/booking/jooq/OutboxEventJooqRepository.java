@@ -0,0 +1,91 @@
+package com.sportstix.booking.jooq;
+
+import com.sportstix.booking.event.outbox.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static com.sportstix.booking.jooq.generated.Tables.OUTBOX_EVENTS;
+
+/**
+ * jOOQ repository for set-based outbox inserts and status updates, and relay wakeup notifications.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxEventJooqRepository {
+
+    public static final String NOTIFY_CHANNEL = "outbox_events";
+
+    private static final Field<LocalDateTime> CLOCK_TIMESTAMP =
+            DSL.field("CAST(clock_timestamp() AS TIMESTAMP)", LocalDateTime.class);
+
+    private final DSLContext dsl;
+
+    /**
+     * Inserts all given events in a single multi-row INSERT (status PENDING).
+     * Returns the number of rows inserted.
+     */
+    @Transactional
+    public int insertAll(Collection<OutboxEvent> events) {
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        InsertValuesStepN<?> insert = dsl.insertInto(OUTBOX_EVENTS, List.<Field<?>>of(
+                OUTBOX_EVENTS.AGGREGATE_TYPE, OUTBOX_EVENTS.AGGREGATE_ID, OUTBOX_EVENTS.EVENT_TYPE,
+                OUTBOX_EVENTS.TOPIC, OUTBOX_EVENTS.PARTITION_KEY, OUTBOX_EVENTS.PAYLOAD, OUTBOX_EVENTS.STATUS));
+        for (OutboxEvent event : events) {
+            insert = insert.values(
+                    DSL.val(event.getAggregateType()), DSL.val(event.getAggregateId()),
+                    DSL.val(event.getEventType()), DSL.val(event.getTopic()),
+                    DSL.val(event.getPartitionKey()),
+                    DSL.field("CAST({0} AS JSONB)", Object.class, event.getPayload()),
+                    DSL.val(event.getStatus().name()));
+        }
+        return insert.execute();
+    }
+
+    /**
+     * Marks all given events PUBLISHED in a single statement (id = ANY(array)).
+     * published_at is the DB wall clock at the update (clock_timestamp(), not the
+     * transaction start), so it and created_at come from the same clock.
+     * Returns created_at to published_at of each updated row.
+     */
+    @Transactional
+    public List<Duration> markPublished(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return dsl.update(OUTBOX_EVENTS)
+                .set(OUTBOX_EVENTS.STATUS, OutboxEvent.OutboxStatus.PUBLISHED.name())
+                .set(OUTBOX_EVENTS.PUBLISHED_AT, CLOCK_TIMESTAMP)
+                .where(OUTBOX_EVENTS.ID.eq(DSL.any(ids.toArray(Long[]::new))))
+                .returning(OUTBOX_EVENTS.CREATED_AT, OUTBOX_EVENTS.PUBLISHED_AT)
+                .fetch(r -> Duration.between(r.value1(), r.value2()));
+    }
+
+    /**
+     * Queues one NOTIFY per distinct outbox slice of the given partition keys, in a
+     * single statement. Postgres delivers them only when the surrounding transaction
+     * commits.
+     */
+    public void notifyPending(Collection<String> partitionKeys, int sliceCount) {
+        if (partitionKeys.isEmpty()) {
+            return;
+        }
+        dsl.resultQuery("SELECT pg_notify({0}, slice) FROM ("
+                                + "SELECT DISTINCT CAST(mod(abs(CAST(hashtext(k) AS BIGINT)), {2}) AS TEXT) AS slice "
+                                + "FROM unnest({1}) AS k) slices",
+                        DSL.inline(NOTIFY_CHANNEL), DSL.val(partitionKeys.toArray(String[]::new)),
+                        DSL.val(sliceCount))
+                .fetch();
+    }
+}
@@ -0,0 +1,139 @@
+package com.sportstix.booking.jooq;
+
+import com.sportstix.booking.jooq.generated.tables.records.OutboxSliceLeasesRecord;
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.DatePart;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep1;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static com.sportstix.booking.jooq.generated.Tables.OUTBOX_RELAY_OWNERS;
+import static com.sportstix.booking.jooq.generated.Tables.OUTBOX_SLICE_LEASES;
+
+/**
+ * jOOQ repository for outbox slice leases.
+ * All timestamps use DB time so lease expiry does not depend on pod clock skew.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OutboxSliceLeaseJooqRepository {
+
+    private final DSLContext dsl;
+
+    /**
+     * Creates lease rows for slices [0, sliceCount) that do not exist yet.
+     */
+    @Transactional
+    public void ensureSlices(int sliceCount) {
+        InsertValuesStep1<OutboxSliceLeasesRecord, Integer> insert =
+                dsl.insertInto(OUTBOX_SLICE_LEASES, OUTBOX_SLICE_LEASES.SLICE);
+        for (int slice = 0; slice < sliceCount; slice++) {
+            insert = insert.values(slice);
+        }
+        insert.onConflictDoNothing().execute();
+    }
+
+    /**
+     * Extends every lease still held by the owner. Returns the renewed slices.
+     */
+    @Transactional
+    public List<Integer> renew(String owner, int sliceCount, int leaseSeconds) {
+        return dsl.update(OUTBOX_SLICE_LEASES)
+                .set(OUTBOX_SLICE_LEASES.LEASE_UNTIL, leaseUntil(leaseSeconds))
+                .where(OUTBOX_SLICE_LEASES.OWNER.eq(owner))
+                .and(OUTBOX_SLICE_LEASES.SLICE.lt(sliceCount))
+                .returningResult(OUTBOX_SLICE_LEASES.SLICE)
+                .fetch(OUTBOX_SLICE_LEASES.SLICE);
+    }
+
+    /**
+     * Marks the owner live for {@code leaseSeconds}, whether or not it holds any slice,
+     * and drops owners whose heartbeat has expired.
+     */
+    @Transactional
+    public void heartbeat(String owner, int leaseSeconds) {
+        dsl.insertInto(OUTBOX_RELAY_OWNERS, OUTBOX_RELAY_OWNERS.OWNER, OUTBOX_RELAY_OWNERS.LIVE_UNTIL)
+                .values(DSL.val(owner), leaseUntil(leaseSeconds))
+                .onConflict(OUTBOX_RELAY_OWNERS.OWNER)
+                .doUpdate()
+                .set(OUTBOX_RELAY_OWNERS.LIVE_UNTIL, leaseUntil(leaseSeconds))
+                .execute();
+        dsl.deleteFrom(OUTBOX_RELAY_OWNERS)
+                .where(OUTBOX_RELAY_OWNERS.LIVE_UNTIL.lt(DSL.currentLocalDateTime()))
+                .execute();
+    }
+
+    /**
+     * Number of other relay pods with an unexpired heartbeat, with or without slices.
+     */
+    public int countOtherLiveOwners(String owner) {
+        return dsl.fetchCount(OUTBOX_RELAY_OWNERS,
+                OUTBOX_RELAY_OWNERS.OWNER.ne(owner)
+                        .and(OUTBOX_RELAY_OWNERS.LIVE_UNTIL.gt(DSL.currentLocalDateTime())));
+    }
+
+    /**
+     * Removes the owner's heartbeat so the other pods stop counting it right away.
+     */
+    @Transactional
+    public void removeOwner(String owner) {
+        dsl.deleteFrom(OUTBOX_RELAY_OWNERS)
+                .where(OUTBOX_RELAY_OWNERS.OWNER.eq(owner))
+                .execute();
+    }
+
+    /**
+     * Claims up to {@code limit} unowned or expired slices.
+     * SKIP LOCKED lets concurrent pods claim disjoint slices without blocking.
+     */
+    @Transactional
+    public List<Integer> claimFree(String owner, int sliceCount, int limit, int leaseSeconds) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        var freeSlices = dsl.select(OUTBOX_SLICE_LEASES.SLICE)
+                .from(OUTBOX_SLICE_LEASES)
+                .where(OUTBOX_SLICE_LEASES.SLICE.lt(sliceCount))
+                .and(OUTBOX_SLICE_LEASES.OWNER.isNull()
+                        .or(OUTBOX_SLICE_LEASES.LEASE_UNTIL.lt(DSL.currentLocalDateTime())))
+                .orderBy(OUTBOX_SLICE_LEASES.SLICE.asc())
+                .limit(limit)
+                .forUpdate()
+                .skipLocked();
+
+        return dsl.update(OUTBOX_SLICE_LEASES)
+                .set(OUTBOX_SLICE_LEASES.OWNER, owner)
+                .set(OUTBOX_SLICE_LEASES.LEASE_UNTIL, leaseUntil(leaseSeconds))
+                .where(OUTBOX_SLICE_LEASES.SLICE.in(freeSlices))
+                .returningResult(OUTBOX_SLICE_LEASES.SLICE)
+                .fetch(OUTBOX_SLICE_LEASES.SLICE);
+    }
+
+    /**
+     * Gives up the owner's leases on the given slices so another pod can claim them.
+     */
+    @Transactional
+    public int release(String owner, Collection<Integer> slices) {
+        if (slices == null || slices.isEmpty()) {
+            return 0;
+        }
+        return dsl.update(OUTBOX_SLICE_LEASES)
+                .setNull(OUTBOX_SLICE_LEASES.OWNER)
+                .setNull(OUTBOX_SLICE_LEASES.LEASE_UNTIL)
+                .where(OUTBOX_SLICE_LEASES.OWNER.eq(owner))
+                .and(OUTBOX_SLICE_LEASES.SLICE.in(slices))
+                .execute();
+    }
+
+    private static Field<LocalDateTime> leaseUntil(int leaseSeconds) {
+        return DSL.localDateTimeAdd(DSL.currentLocalDateTime(), DSL.inline(leaseSeconds), DatePart.SECOND);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sportstix.booking.jooq;
+
+import lombok.RequiredArgsConstructor;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.sportstix.booking.jooq.generated.Tables.RECONCILIATION_CHECKPOINTS;
+
+/**
+ * jOOQ repository for reconciliation keyset checkpoints (last processed id per check).
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReconciliationCheckpointJooqRepository {
+
+    private final DSLContext dsl;
+
+    /**
+     * Last processed id of the given check, or 0 when it has no checkpoint yet.
+     */
+    public long load(String name) {
+        Long lastId = dsl.select(RECONCILIATION_CHECKPOINTS.LAST_ID)
+                .from(RECONCILIATION_CHECKPOINTS)
+                .where(RECONCILIATION_CHECKPOINTS.NAME.eq(name))
+                .fetchOne(RECONCILIATION_CHECKPOINTS.LAST_ID);
+        return lastId != null ? lastId : 0L;
+    }
+
+    @Transactional
+    public void save(String name, long lastId) {
+        dsl.insertInto(RECONCILIATION_CHECKPOINTS)
+                .set(RECONCILIATION_CHECKPOINTS.NAME, name)
+                .set(RECONCILIATION_CHECKPOINTS.LAST_ID, lastId)
+                .onConflict(RECONCILIATION_CHECKPOINTS.NAME)
+                .doUpdate()
+                .set(RECONCILIATION_CHECKPOINTS.LAST_ID, lastId)
+                .set(RECONCILIATION_CHECKPOINTS.UPDATED_AT, DSL.currentLocalDateTime())
+                .execute();
+    }
+}
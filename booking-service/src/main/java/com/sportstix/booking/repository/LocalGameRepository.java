@@ -3,5 +3,9 @@ package com.sportstix.booking.repository;
 import com.sportstix.booking.domain.LocalGame;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface LocalGameRepository extends JpaRepository<LocalGame, Long> {
+
+    List<LocalGame> findByStatus(String status);
 }
@@ -1,12 +1,12 @@
 package com.sportstix.booking.scheduler;
 
-import com.sportstix.booking.domain.Booking;
-import com.sportstix.booking.domain.BookingStatus;
-import com.sportstix.booking.repository.BookingRepository;
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.service.BookingTransactionService;
+import com.sportstix.booking.service.BookingTransactionService.BulkRelease;
+import com.sportstix.booking.service.HoldExpiryQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -14,8 +14,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * Scheduler to release expired HELD seats (5-minute hold TTL).
- * Runs every 30 seconds to clean up expired bookings.
+ * Releases expired HELD seats (5-minute hold TTL).
+ *
+ * drainDue runs on every pod and pops due holds from the Redis expiry queue,
+ * so holds are released within one tick of expiring. releaseExpiredHolds is
+ * the fallback table scan (one pod at a time) for holds missing from the queue.
+ * Both release set-based batches, one transaction per batch.
  */
 @Slf4j
 @Component
@@ -23,31 +27,61 @@ import java.util.List;
 public class HoldExpiryScheduler {
 
     private static final int BATCH_SIZE = 100;
+    private static final int MAX_SWEEP_BATCHES = 50;
+    private static final long NOT_DUE_RETRY_SECONDS = 1;
 
-    private final BookingRepository bookingRepository;
     private final BookingTransactionService transactionService;
+    private final HoldExpiryQueue holdExpiryQueue;
+    private final BookingProperties bookingProperties;
 
-    @Scheduled(fixedRate = 30_000)
-    public void releaseExpiredHolds() {
-        List<Booking> expiredBookings = bookingRepository
-                .findByStatusAndHoldExpiresAtBefore(
-                        BookingStatus.PENDING, LocalDateTime.now(),
-                        PageRequest.of(0, BATCH_SIZE));
-
-        if (expiredBookings.isEmpty()) {
+    @Scheduled(fixedDelayString = "${booking.hold-expiry.tick-ms:200}")
+    public void drainDue() {
+        BookingProperties.HoldExpiry holdExpiry = bookingProperties.getHoldExpiry();
+        if (!holdExpiry.isQueueEnabled()) {
             return;
         }
 
-        log.info("Releasing {} expired bookings", expiredBookings.size());
+        List<Long> due;
+        do {
+            due = holdExpiryQueue.pollDue(holdExpiry.getBatchSize());
+            if (!due.isEmpty()) {
+                releaseDue(due);
+            }
+        } while (due.size() == holdExpiry.getBatchSize());
+    }
 
-        for (Booking booking : expiredBookings) {
+    @Scheduled(fixedRateString = "${booking.hold-expiry.sweep-interval-ms:30000}")
+    @SchedulerLock(name = "holdExpirySweep", lockAtMostFor = "5m", lockAtLeastFor = "5s")
+    public void releaseExpiredHolds() {
+        int total = 0;
+        for (int batch = 0; batch < MAX_SWEEP_BATCHES; batch++) {
+            int released;
             try {
-                transactionService.releaseBookingById(booking.getId());
-                log.info("Released expired booking: bookingId={}", booking.getId());
+                released = transactionService.releaseExpiredBatch(BATCH_SIZE);
             } catch (Exception e) {
-                log.error("Failed to release expired booking: bookingId={}",
-                        booking.getId(), e);
+                log.error("Failed to release expired bookings batch", e);
+                break;
             }
+            total += released;
+            if (released < BATCH_SIZE) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Released {} expired bookings", total);
+        }
+    }
+
+    private void releaseDue(List<Long> bookingIds) {
+        try {
+            BulkRelease result = transactionService.releaseExpired(bookingIds);
+            // Clock skew between pods, Redis and the DB: check again shortly
+            LocalDateTime retryAt = LocalDateTime.now().plusSeconds(NOT_DUE_RETRY_SECONDS);
+            result.notDue().forEach((bookingId, expiresAt) -> holdExpiryQueue.schedule(
+                    bookingId, expiresAt.isAfter(retryAt) ? expiresAt : retryAt));
+        } catch (Exception e) {
+            // Already popped from the queue; the fallback sweep retries them
+            log.error("Failed to release expired bookings: bookingIds={}", bookingIds, e);
         }
     }
 }
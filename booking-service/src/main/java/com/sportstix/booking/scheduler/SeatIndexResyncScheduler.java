@@ -0,0 +1,82 @@
+package com.sportstix.booking.scheduler;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.LocalGame;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import com.sportstix.booking.repository.LocalGameRepository;
+import com.sportstix.booking.service.BestAvailableAllocator;
+import com.sportstix.booking.service.SeatAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the per-pod SeatAvailabilityIndex aligned with the DB.
+ * Runs on every pod (no ShedLock): each pod owns its own in-memory index.
+ * Indexes OPEN games plus games initialized via Kafka, evicts closed/cancelled games.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatIndexResyncScheduler {
+
+    private static final String OPEN = "OPEN";
+    private static final Set<String> TERMINAL_STATUSES = Set.of("CLOSED", "CANCELLED");
+
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final LocalGameSeatJooqRepository seatJooqRepository;
+    private final LocalGameRepository localGameRepository;
+    private final BookingProperties bookingProperties;
+    private final BestAvailableAllocator bestAvailableAllocator;
+
+    @Scheduled(fixedDelayString = "${booking.seat-index.resync-interval-ms:5000}", initialDelay = 5000)
+    public void resync() {
+        if (!bookingProperties.getSeatIndex().isEnabled()) {
+            return;
+        }
+
+        Set<Long> gameIds = new HashSet<>(availabilityIndex.indexedGameIds());
+        localGameRepository.findByStatus(OPEN).forEach(game -> gameIds.add(game.getId()));
+        if (gameIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LocalGame> gamesById = localGameRepository.findAllById(gameIds).stream()
+                .collect(Collectors.toMap(LocalGame::getId, Function.identity()));
+
+        for (Long gameId : gameIds) {
+            LocalGame game = gamesById.get(gameId);
+            if (game == null || TERMINAL_STATUSES.contains(game.getStatus())) {
+                availabilityIndex.evict(gameId);
+                bestAvailableAllocator.evict(gameId);
+                continue;
+            }
+            try {
+                refresh(gameId);
+            } catch (Exception e) {
+                log.warn("Seat index resync failed: gameId={}", gameId, e);
+            }
+        }
+    }
+
+    /**
+     * A new game is first registered with every seat possibly available, so transitions
+     * committed while its taken seats are read are recorded like for any resync.
+     */
+    private void refresh(Long gameId) {
+        if (!availabilityIndex.isIndexed(gameId)) {
+            List<Long> seatIds = seatJooqRepository.findSeatIdsByGame(gameId);
+            availabilityIndex.load(gameId, seatIds, List.of());
+            log.info("Seat availability index built: gameId={}, seats={}", gameId, seatIds.size());
+        }
+        availabilityIndex.resync(gameId, () -> seatJooqRepository.findTakenSeatIdsByGame(gameId));
+    }
+}
@@ -0,0 +1,63 @@
+package com.sportstix.booking.scheduler;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.LocalGame;
+import com.sportstix.booking.repository.LocalGameRepository;
+import com.sportstix.booking.service.SeatMapCache;
+import com.sportstix.booking.service.SeatMapService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Corrects the shared Redis seat maps against the DB (out-of-order or lost
+ * after-commit updates) and evicts closed/cancelled games.
+ * One pod at a time (ShedLock): the seat maps are shared, unlike the per-pod index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatMapResyncScheduler {
+
+    private static final Set<String> TERMINAL_STATUSES = Set.of("CLOSED", "CANCELLED");
+
+    private final SeatMapCache seatMapCache;
+    private final SeatMapService seatMapService;
+    private final LocalGameRepository localGameRepository;
+    private final BookingProperties bookingProperties;
+
+    @Scheduled(fixedDelayString = "${booking.seat-map.resync-interval-ms:60000}", initialDelay = 30_000)
+    @SchedulerLock(name = "seatMapResync", lockAtMostFor = "5m", lockAtLeastFor = "5s")
+    public void resync() {
+        if (!bookingProperties.getSeatMap().isEnabled()) {
+            return;
+        }
+        Set<Long> gameIds = seatMapCache.builtGameIds();
+        if (gameIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LocalGame> gamesById = localGameRepository.findAllById(gameIds).stream()
+                .collect(Collectors.toMap(LocalGame::getId, Function.identity()));
+
+        for (Long gameId : gameIds) {
+            LocalGame game = gamesById.get(gameId);
+            if (game == null || TERMINAL_STATUSES.contains(game.getStatus())) {
+                seatMapCache.evict(gameId);
+                continue;
+            }
+            try {
+                seatMapService.resync(gameId);
+            } catch (Exception e) {
+                log.warn("Seat map resync failed: gameId={}", gameId, e);
+            }
+        }
+    }
+}
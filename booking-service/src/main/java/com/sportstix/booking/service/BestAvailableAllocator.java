@@ -0,0 +1,194 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Per-pod allocator for "N adjacent seats in section S" holds.
+ *
+ * Keeps the static row layout of each game (rows by row_name, seats by
+ * seat_number) and reads availability from the SeatAvailabilityIndex bitmap,
+ * so a lookup is a scan over one section's bits with no DB access.
+ * Picks randomly among the first few best runs instead of always the first one,
+ * spreading concurrent requests over the inventory. The result is a proposal
+ * only: the seats are claimed by the normal hold path, which remains the authority.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BestAvailableAllocator {
+
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final LocalGameSeatJooqRepository seatJooqRepository;
+    private final BookingProperties bookingProperties;
+
+    private final Map<Long, Map<Long, List<Row>>> layouts = new ConcurrentHashMap<>();
+
+    /**
+     * Finds {@code quantity} free seats with consecutive seat numbers in one row,
+     * skipping {@code excluded} (seats that already failed to hold for this request).
+     */
+    public Optional<List<Long>> findAdjacent(Long gameId, Long sectionId, int quantity, Set<Long> excluded) {
+        List<Row> rows = layouts.computeIfAbsent(gameId, this::loadLayout).get(sectionId);
+        if (rows == null) {
+            return Optional.empty();
+        }
+        Predicate<Long> free = freeSeats(gameId, sectionId, rows).and(id -> !excluded.contains(id));
+
+        int maxCandidates = bookingProperties.getBestAvailable().getCandidateRuns();
+        List<List<Long>> candidates = new ArrayList<>(maxCandidates);
+        for (Row row : rows) {
+            collectRuns(row, quantity, free, candidates, maxCandidates);
+            if (candidates.size() >= maxCandidates) {
+                break;
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(ThreadLocalRandom.current().nextInt(candidates.size())));
+    }
+
+    public void evict(Long gameId) {
+        layouts.remove(gameId);
+    }
+
+    private static void collectRuns(Row row, int quantity, Predicate<Long> free,
+                                    List<List<Long>> candidates, int maxCandidates) {
+        int runStart = 0;
+        for (int i = 0; i < row.seatIds().length && candidates.size() < maxCandidates; i++) {
+            boolean adjacent = i > runStart && row.seatNumbers()[i] == row.seatNumbers()[i - 1] + 1;
+            if (!free.test(row.seatIds()[i])) {
+                runStart = i + 1;
+                continue;
+            }
+            if (i > runStart && !adjacent) {
+                runStart = i;
+            }
+            if (i - runStart + 1 == quantity) {
+                List<Long> run = new ArrayList<>(quantity);
+                for (int j = runStart; j <= i; j++) {
+                    run.add(row.seatIds()[j]);
+                }
+                candidates.add(run);
+                runStart = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Availability from the per-pod bitmap; falls back to one DB read of the
+     * section when the index is disabled or has not loaded the game yet.
+     */
+    private Predicate<Long> freeSeats(Long gameId, Long sectionId, List<Row> rows) {
+        if (bookingProperties.getSeatIndex().isEnabled() && availabilityIndex.isIndexed(gameId)) {
+            return id -> !availabilityIndex.isTaken(gameId, id);
+        }
+        int sectionSize = rows.stream().mapToInt(r -> r.seatIds().length).sum();
+        Set<Long> available = new HashSet<>(seatJooqRepository
+                .findAvailableByGameAndSection(gameId, sectionId, sectionSize, 0)
+                .getValues(0, Long.class));
+        return available::contains;
+    }
+
+    private Map<Long, List<Row>> loadLayout(Long gameId) {
+        Map<Long, List<Row>> sections = buildLayout(seatJooqRepository.findSeatMapByGame(gameId));
+        log.info("Best-available layout loaded: gameId={}, sections={}", gameId, sections.size());
+        return sections;
+    }
+
+    static Map<Long, List<Row>> buildLayout(Collection<SeatMapCache.SeatLayout> seats) {
+        Map<Long, TreeMap<String, List<SeatMapCache.SeatLayout>>> bySectionRow = seats.stream()
+                .filter(s -> s.rowName() != null && s.seatNumber() != null)
+                .collect(Collectors.groupingBy(SeatMapCache.SeatLayout::sectionId,
+                        Collectors.groupingBy(SeatMapCache.SeatLayout::rowName,
+                                () -> new TreeMap<>(BestAvailableAllocator::compareRowNames), Collectors.toList())));
+
+        Map<Long, List<Row>> sections = new ConcurrentHashMap<>();
+        bySectionRow.forEach((sectionId, rowsByName) -> {
+            List<Row> rows = new ArrayList<>(rowsByName.size());
+            rowsByName.forEach((rowName, rowSeats) -> {
+                rowSeats.sort(Comparator.comparing(SeatMapCache.SeatLayout::seatNumber));
+                rows.add(new Row(
+                        rowSeats.stream().mapToLong(SeatMapCache.SeatLayout::seatId).toArray(),
+                        rowSeats.stream().mapToInt(SeatMapCache.SeatLayout::seatNumber).toArray()));
+            });
+            sections.put(sectionId, List.copyOf(rows));
+        });
+        return sections;
+    }
+
+    /**
+     * Row order from the row names: digit runs compare by value, so "2" comes before
+     * "10" and "A9" before "A10"; everything else compares character by character.
+     */
+    static int compareRowNames(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            if (Character.isDigit(a.charAt(i)) && Character.isDigit(b.charAt(j))) {
+                int endA = digitRunEnd(a, i);
+                int endB = digitRunEnd(b, j);
+                int cmp = compareDigitRuns(a.substring(i, endA), b.substring(j, endB));
+                if (cmp != 0) {
+                    return cmp;
+                }
+                i = endA;
+                j = endB;
+            } else {
+                int cmp = Character.compare(a.charAt(i), b.charAt(j));
+                if (cmp != 0) {
+                    return cmp;
+                }
+                i++;
+                j++;
+            }
+        }
+        int cmp = Integer.compare(a.length() - i, b.length() - j);
+        // Equal by value but spelled differently ("01" vs "1"): fall back to plain order
+        return cmp != 0 ? cmp : a.compareTo(b);
+    }
+
+    private static int digitRunEnd(String s, int start) {
+        int end = start;
+        while (end < s.length() && Character.isDigit(s.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int compareDigitRuns(String a, String b) {
+        String x = stripLeadingZeros(a);
+        String y = stripLeadingZeros(b);
+        return x.length() != y.length() ? Integer.compare(x.length(), y.length()) : x.compareTo(y);
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int start = 0;
+        while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+            start++;
+        }
+        return digits.substring(start);
+    }
+
+    /** One row, seats sorted by seat_number (parallel arrays). */
+    record Row(long[] seatIds, int[] seatNumbers) {
+    }
+}
@@ -1,11 +1,14 @@
 package com.sportstix.booking.service;
 
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.domain.Booking;
 import com.sportstix.booking.domain.BookingStatus;
+import com.sportstix.booking.dto.response.AvailableSeatPageResponse;
 import com.sportstix.booking.event.producer.BookingEventProducer;
 import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
 import com.sportstix.booking.repository.BookingRepository;
-import com.sportstix.booking.repository.LocalGameRepository;
+import com.sportstix.booking.service.BookingTransactionService.HoldOutcome;
+import com.sportstix.booking.service.BookingTransactionService.HoldRequest;
 import com.sportstix.common.exception.BusinessException;
 import com.sportstix.common.response.ErrorCode;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +17,12 @@ import org.redisson.api.RLock;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,49 +34,187 @@ import static com.sportstix.booking.jooq.LocalGameSeatJooqRepository.*;
 public class BookingService {
 
     private static final int MAX_TICKETS_DEFAULT = 4;
+    private static final int MAX_SEAT_PAGE_SIZE = 100;
 
     private final BookingRepository bookingRepository;
-    private final LocalGameRepository localGameRepository;
+    private final LocalGameCache localGameCache;
     private final LocalGameSeatJooqRepository seatJooqRepository;
     private final SeatLockService seatLockService;
     private final BookingEventProducer bookingEventProducer;
     private final BookingTransactionService transactionService;
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final SeatAdmissionGate admissionGate;
+    private final BookingProperties bookingProperties;
+    private final BestAvailableAllocator bestAvailableAllocator;
+    private final HoldBatcher holdBatcher;
+    private final UserBookingCounter userBookingCounter;
 
     /**
      * Hold seats with 3-tier lock:
+     * 0. In-memory availability bitmap (rejects seats already known to be taken)
      * 1. Redis distributed lock (cross-pod)
      * 2. DB pessimistic lock (FOR UPDATE SKIP LOCKED)
      * 3. Optimistic lock (@Version on status change)
      */
     public Booking holdSeats(Long userId, Long gameId, Set<Long> gameSeatIds) {
         log.info("Hold seats: userId={}, gameId={}, seatIds={}", userId, gameId, gameSeatIds);
+        validateHold(userId, gameId, gameSeatIds);
 
-        // Validate max tickets per user
-        var game = localGameRepository.findById(gameId)
+        // Per-pod admission gate: one in-flight request per seat proceeds to Redis
+        if (!bookingProperties.getAdmissionGate().isEnabled()) {
+            return holdWithSeatLock(userId, gameId, gameSeatIds);
+        }
+        SeatAdmissionGate.Admission admission = admissionGate.tryAdmit(gameSeatIds);
+        if (admission == null) {
+            throw new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+                    "Seats are being held by another request: " + gameSeatIds);
+        }
+        try {
+            return holdWithSeatLock(userId, gameId, gameSeatIds);
+        } finally {
+            admissionGate.release(admission);
+        }
+    }
+
+    /**
+     * Single-writer mode: called by the game's owner with the holds of one poll of
+     * its command partition. The owner is the only writer of these games, so the
+     * Redis lock tier and admission gate are skipped; the DB tier still guards
+     * against writers outside the owner (expiry, saga). Holds that fail validation
+     * or contend for a seat claimed earlier in the poll are rejected, the rest are
+     * group-committed in one transaction. Outcomes are in request order.
+     */
+    public List<HoldOutcome> holdSeatsAsOwner(List<HoldRequest> requests) {
+        log.info("Hold seats (owner): requests={}", requests.size());
+        HoldOutcome[] outcomes = new HoldOutcome[requests.size()];
+        Set<Long> claimed = new HashSet<>();
+        Map<List<Long>, Integer> pendingTickets = new HashMap<>();
+        List<HoldRequest> accepted = new ArrayList<>(requests.size());
+        List<Integer> acceptedSlots = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            HoldRequest request = requests.get(i);
+            List<Long> userGame = List.of(request.userId(), request.gameId());
+            try {
+                validateHold(request.userId(), request.gameId(), request.gameSeatIds(),
+                        pendingTickets.getOrDefault(userGame, 0));
+            } catch (BusinessException e) {
+                outcomes[i] = HoldOutcome.failed(e);
+                continue;
+            }
+            // In-memory conflict resolution: the earliest request wins a contested seat
+            if (request.gameSeatIds().stream().anyMatch(claimed::contains)) {
+                outcomes[i] = HoldOutcome.failed(new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+                        "Seats are being held by another request: " + request.gameSeatIds()));
+                continue;
+            }
+            claimed.addAll(request.gameSeatIds());
+            pendingTickets.merge(userGame, request.gameSeatIds().size(), Integer::sum);
+            accepted.add(request);
+            acceptedSlots.add(i);
+        }
+        if (accepted.isEmpty()) {
+            return List.of(outcomes);
+        }
+
+        try {
+            List<HoldOutcome> committed = transactionService.holdSeatsBatch(accepted);
+            for (int j = 0; j < committed.size(); j++) {
+                outcomes[acceptedSlots.get(j)] = committed.get(j);
+            }
+        } catch (BusinessException e) {
+            log.warn("Owner hold commit failed: requests={}", accepted.size(), e);
+            acceptedSlots.forEach(slot -> outcomes[slot] = HoldOutcome.failed(e));
+        }
+        return List.of(outcomes);
+    }
+
+    private void validateHold(Long userId, Long gameId, Set<Long> gameSeatIds) {
+        validateHold(userId, gameId, gameSeatIds, 0);
+    }
+
+    /** {@code pendingTickets}: seats this user already requested earlier in the same owner poll. */
+    private void validateHold(Long userId, Long gameId, Set<Long> gameSeatIds, int pendingTickets) {
+        // Tier 0: in-memory availability bitmap - no Redis/DB for seats already gone
+        if (bookingProperties.getSeatIndex().isEnabled()
+                && availabilityIndex.anyTaken(gameId, gameSeatIds)) {
+            throw new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+                    "Some seats are no longer available: " + gameSeatIds);
+        }
+
+        // Validate max tickets per user (cached game rules and Redis counter; DB only on a miss)
+        var game = localGameCache.find(gameId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.GAME_NOT_FOUND,
                         "Game not found: " + gameId));
 
         int maxTickets = game.getMaxTicketsPerUser() != null
                 ? game.getMaxTicketsPerUser() : MAX_TICKETS_DEFAULT;
 
-        long existingCount = bookingRepository.countByUserIdAndGameIdAndStatusIn(
-                userId, gameId, List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED));
+        long existingCount = userBookingCounter.count(userId, gameId);
 
-        if (existingCount + gameSeatIds.size() > maxTickets) {
-            throw new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+        if (existingCount + pendingTickets + gameSeatIds.size() > maxTickets) {
+            throw new BusinessException(ErrorCode.TICKET_LIMIT_EXCEEDED,
                     "Exceeds max tickets per user: " + maxTickets);
         }
+    }
+
+    /**
+     * Holds {@code quantity} adjacent seats in a section chosen by the allocator.
+     * A run lost to a concurrent request is excluded and another one is tried.
+     */
+    public Booking holdBestAvailable(Long userId, Long gameId, Long sectionId, int quantity) {
+        Set<Long> excluded = new HashSet<>();
+        BusinessException lastFailure = null;
+        for (int attempt = 0; attempt < bookingProperties.getBestAvailable().getMaxAttempts(); attempt++) {
+            List<Long> run = bestAvailableAllocator.findAdjacent(gameId, sectionId, quantity, excluded)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+                            "No " + quantity + " adjacent seats available in section " + sectionId));
+            try {
+                return holdSeats(userId, gameId, new LinkedHashSet<>(run));
+            } catch (BusinessException e) {
+                if (!isContention(e)) {
+                    throw e;
+                }
+                log.debug("Best-available run lost, retrying: gameId={}, seats={}", gameId, run);
+                excluded.addAll(run);
+                lastFailure = e;
+            }
+        }
+        throw lastFailure;
+    }
+
+    private static boolean isContention(BusinessException e) {
+        return e.getErrorCode() == ErrorCode.SEAT_ALREADY_HELD
+                || e.getErrorCode() == ErrorCode.SEAT_NOT_AVAILABLE
+                || e.getErrorCode() == ErrorCode.LOCK_ACQUISITION_FAILED;
+    }
 
+    private Booking holdWithSeatLock(Long userId, Long gameId, Set<Long> gameSeatIds) {
         // Tier 1: Redis distributed lock
+        if (bookingProperties.getSeatLock().getMode() == BookingProperties.SeatLock.Mode.BATCH) {
+            SeatLockService.BatchLock batchLock = seatLockService.acquireBatchLock(gameSeatIds);
+            try {
+                return commitHold(userId, gameId, gameSeatIds);
+            } finally {
+                seatLockService.releaseBatchLock(batchLock);
+            }
+        }
+
         List<RLock> locks = seatLockService.acquireLocks(gameSeatIds);
         try {
-            // Tier 2 & 3: called via proxy (separate bean) to ensure @Transactional works
-            return transactionService.holdSeatsInTransaction(userId, gameId, gameSeatIds);
+            return commitHold(userId, gameId, gameSeatIds);
         } finally {
             seatLockService.releaseLocks(locks);
         }
     }
 
+    private Booking commitHold(Long userId, Long gameId, Set<Long> gameSeatIds) {
+        if (bookingProperties.getHoldBatch().isEnabled()) {
+            return holdBatcher.hold(userId, gameId, gameSeatIds);
+        }
+        // Tier 2 & 3: called via proxy (separate bean) to ensure @Transactional works
+        return transactionService.holdSeatsInTransaction(userId, gameId, gameSeatIds);
+    }
+
     @Transactional
     public Booking confirmBooking(Long bookingId, Long userId) {
         log.info("Confirming booking: bookingId={}, userId={}", bookingId, userId);
@@ -134,6 +280,7 @@ public class BookingService {
 
         booking.cancel();
         booking = bookingRepository.save(booking);
+        userBookingCounter.releasedAfterCommit(booking.getUserId(), booking.getGameId());
 
         bookingEventProducer.publishBookingCancelled(booking);
         bookingEventProducer.publishSeatsReleased(booking);
@@ -160,4 +307,31 @@ public class BookingService {
     public List<Booking> getUserBookings(Long userId) {
         return bookingRepository.findByUserIdWithSeats(userId);
     }
+
+    /**
+     * Keyset-paginated available seats of a section; pass the previous page's
+     * nextCursor to continue (null for the first page).
+     */
+    public AvailableSeatPageResponse getAvailableSeats(Long gameId, Long sectionId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SEAT_PAGE_SIZE));
+        SeatPageCursor after = cursor == null || cursor.isBlank() ? null : SeatPageCursor.decode(cursor);
+
+        // One extra row tells whether another page exists
+        var rows = seatJooqRepository.findAvailableByGameAndSectionAfter(gameId, sectionId,
+                after != null ? after.rowName() : null,
+                after != null ? after.seatNumber() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        List<AvailableSeatPageResponse.SeatInfo> seats = rows.stream()
+                .limit(pageSize)
+                .map(r -> new AvailableSeatPageResponse.SeatInfo(r.value1(), r.value2(), r.value3(), r.value4()))
+                .toList();
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            var last = seats.get(seats.size() - 1);
+            nextCursor = new SeatPageCursor(last.rowName(), last.seatNumber(), last.gameSeatId()).encode();
+        }
+        return new AvailableSeatPageResponse(seats, nextCursor);
+    }
 }
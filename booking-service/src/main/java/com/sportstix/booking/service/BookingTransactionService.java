@@ -2,6 +2,8 @@ package com.sportstix.booking.service;
 
 import com.sportstix.booking.domain.Booking;
 import com.sportstix.booking.event.producer.BookingEventProducer;
+import com.sportstix.booking.jooq.BookingJooqRepository;
+import com.sportstix.booking.jooq.BookingJooqRepository.CancelledBooking;
 import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
 import com.sportstix.booking.repository.BookingRepository;
 import com.sportstix.common.exception.BusinessException;
@@ -14,6 +16,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.sportstix.booking.jooq.LocalGameSeatJooqRepository.*;
@@ -30,6 +39,9 @@ public class BookingTransactionService {
     private final BookingRepository bookingRepository;
     private final LocalGameSeatJooqRepository seatJooqRepository;
     private final BookingEventProducer bookingEventProducer;
+    private final HoldExpiryQueue holdExpiryQueue;
+    private final BookingJooqRepository bookingJooqRepository;
+    private final UserBookingCounter userBookingCounter;
 
     /**
      * Tier 2 & 3: DB pessimistic lock + optimistic lock within transaction.
@@ -58,7 +70,7 @@ public class BookingTransactionService {
             booking.addSeat(seatId, BigDecimal.valueOf(price));
         }
 
-        booking = bookingRepository.save(booking);
+        bookingJooqRepository.insertHolds(List.of(booking));
 
         // Tier 2 continued: Update seat status (AVAILABLE -> HELD)
         int updated = seatJooqRepository.bulkUpdateStatus(gameSeatIds, AVAILABLE, HELD);
@@ -73,10 +85,115 @@ public class BookingTransactionService {
         // Publish events
         bookingEventProducer.publishBookingCreated(booking);
         bookingEventProducer.publishSeatsHeld(booking);
+        holdExpiryQueue.scheduleAfterCommit(booking.getId(), booking.getHoldExpiresAt());
+        userBookingCounter.heldAfterCommit(List.of(booking));
 
         return booking;
     }
 
+    /**
+     * Group commit: holds a batch of independent requests in one transaction.
+     * One FOR UPDATE SKIP LOCKED over the union of seats, one seat UPDATE and one
+     * multi-row outbox insert for all bookings. A request whose seats could not
+     * all be locked fails on its own; the others still commit.
+     * Requests must not share seats (HoldBatcher resolves such conflicts first).
+     */
+    @Transactional
+    public List<HoldOutcome> holdSeatsBatch(List<HoldRequest> requests) {
+        Set<Long> requestedSeatIds = new HashSet<>();
+        requests.forEach(r -> requestedSeatIds.addAll(r.gameSeatIds()));
+
+        Map<Long, Long> lockedPrices = new HashMap<>();
+        for (var seat : seatJooqRepository.findByIdsForUpdateSkipLocked(requestedSeatIds, AVAILABLE)) {
+            lockedPrices.put(seat.get(0, Long.class), seat.get(2, Long.class));
+        }
+
+        HoldOutcome[] outcomes = new HoldOutcome[requests.size()];
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookingSlots = new ArrayList<>();
+        Set<Long> heldSeatIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            HoldRequest request = requests.get(i);
+            if (!lockedPrices.keySet().containsAll(request.gameSeatIds())) {
+                outcomes[i] = HoldOutcome.failed(new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+                        "Some seats are no longer available: " + request.gameSeatIds()));
+                continue;
+            }
+            Booking booking = Booking.builder()
+                    .userId(request.userId())
+                    .gameId(request.gameId())
+                    .build();
+            request.gameSeatIds().stream().sorted().forEach(seatId ->
+                    booking.addSeat(seatId, BigDecimal.valueOf(lockedPrices.get(seatId))));
+            bookings.add(booking);
+            bookingSlots.add(i);
+            heldSeatIds.addAll(request.gameSeatIds());
+        }
+        if (bookings.isEmpty()) {
+            return List.of(outcomes);
+        }
+
+        List<Booking> saved = bookingJooqRepository.insertHolds(bookings);
+        int updated = seatJooqRepository.bulkUpdateStatus(heldSeatIds, AVAILABLE, HELD);
+        if (updated != heldSeatIds.size()) {
+            // Rows are locked above, so this means a writer bypassed the lock: fail the whole batch
+            throw new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+                    "Failed to hold all seats. Expected=" + heldSeatIds.size() + ", updated=" + updated);
+        }
+
+        bookingEventProducer.publishHeldBatch(saved);
+        userBookingCounter.heldAfterCommit(saved);
+        for (int j = 0; j < saved.size(); j++) {
+            Booking booking = saved.get(j);
+            holdExpiryQueue.scheduleAfterCommit(booking.getId(), booking.getHoldExpiresAt());
+            outcomes[bookingSlots.get(j)] = HoldOutcome.held(booking);
+        }
+        log.info("Seats held (group commit): requests={}, bookings={}, seats={}",
+                requests.size(), saved.size(), heldSeatIds.size());
+        return List.of(outcomes);
+    }
+
+    /**
+     * Cancels up to {@code limit} expired PENDING bookings in one transaction:
+     * one UPDATE ... RETURNING on bookings, one seat UPDATE joined through
+     * booking_seats and one multi-row outbox insert. Returns the number released.
+     */
+    @Transactional
+    public int releaseExpiredBatch(int limit) {
+        List<CancelledBooking> cancelled = bookingJooqRepository.cancelExpired(limit);
+        releaseCancelled(cancelled);
+        return cancelled.size();
+    }
+
+    /**
+     * Bulk-releases those of the given bookings that are still PENDING and expired.
+     * Still-PENDING bookings whose hold has not expired yet are returned as notDue.
+     */
+    @Transactional
+    public BulkRelease releaseExpired(Collection<Long> bookingIds) {
+        List<CancelledBooking> cancelled = bookingJooqRepository.cancelExpired(bookingIds);
+        releaseCancelled(cancelled);
+
+        Set<Long> leftover = new HashSet<>(bookingIds);
+        cancelled.forEach(b -> leftover.remove(b.id()));
+        Map<Long, LocalDateTime> notDue = leftover.isEmpty()
+                ? Map.of()
+                : bookingJooqRepository.findPendingHoldExpiries(leftover);
+        return new BulkRelease(cancelled.size(), notDue);
+    }
+
+    private void releaseCancelled(List<CancelledBooking> cancelled) {
+        if (cancelled.isEmpty()) {
+            return;
+        }
+        List<Long> bookingIds = cancelled.stream().map(CancelledBooking::id).toList();
+        List<Long> releasedSeats = seatJooqRepository.releaseSeatsOfBookings(bookingIds);
+        bookingEventProducer.publishBulkReleased(cancelled);
+        userBookingCounter.releasedAfterCommit(cancelled);
+        log.info("Bulk released expired bookings: bookings={}, seats={}",
+                cancelled.size(), releasedSeats.size());
+    }
+
     /**
      * Release a booking by ID - loads entity fresh within transaction
      * to avoid LazyInitializationException.
@@ -101,6 +218,7 @@ public class BookingTransactionService {
 
         booking.cancel();
         booking = bookingRepository.save(booking);
+        userBookingCounter.releasedAfterCommit(booking.getUserId(), booking.getGameId());
 
         bookingEventProducer.publishBookingCancelled(booking);
         bookingEventProducer.publishSeatsReleased(booking);
@@ -108,4 +226,22 @@ public class BookingTransactionService {
 
         return booking;
     }
+
+    public record HoldRequest(Long userId, Long gameId, Set<Long> gameSeatIds) {
+    }
+
+    /** Exactly one of booking / failure is set. */
+    public record HoldOutcome(Booking booking, BusinessException failure) {
+
+        static HoldOutcome held(Booking booking) {
+            return new HoldOutcome(booking, null);
+        }
+
+        static HoldOutcome failed(BusinessException failure) {
+            return new HoldOutcome(null, failure);
+        }
+    }
+
+    public record BulkRelease(int released, Map<Long, LocalDateTime> notDue) {
+    }
 }
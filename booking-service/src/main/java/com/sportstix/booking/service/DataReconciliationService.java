@@ -1,72 +1,72 @@
 package com.sportstix.booking.service;
 
-import com.sportstix.booking.domain.Booking;
-import com.sportstix.booking.domain.BookingSeat;
-import com.sportstix.booking.domain.BookingStatus;
-import com.sportstix.booking.domain.LocalGameSeat;
-import com.sportstix.booking.event.producer.BookingEventProducer;
-import com.sportstix.booking.repository.BookingRepository;
-import com.sportstix.booking.repository.LocalGameSeatRepository;
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.event.producer.ResilientKafkaPublisher;
+import com.sportstix.booking.jooq.BookingJooqRepository;
+import com.sportstix.booking.jooq.BookingJooqRepository.SeatMismatch;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import com.sportstix.booking.jooq.ReconciliationCheckpointJooqRepository;
 import com.sportstix.common.event.SeatEvent;
 import com.sportstix.common.event.Topics;
-import com.sportstix.booking.event.producer.ResilientKafkaPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.jooq.Record2;
+import org.jooq.Result;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Validates data consistency between bookings and local game seat replicas.
  * Detects and auto-corrects stale HELD seats and orphaned reservations.
+ *
+ * Checks 1 and 2 stream keyset pages (anti-joins evaluated in SQL) and persist
+ * the last processed id after every page, so heap per run is bounded by
+ * pageSize and a run picks up where the previous one stopped. A check whose
+ * scan reaches the end resets its checkpoint to start the next cycle.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DataReconciliationService {
 
-    private final BookingRepository bookingRepository;
-    private final LocalGameSeatRepository localGameSeatRepository;
+    static final String STALE_HELD_CHECKPOINT = "stale-held-seats";
+    static final String SEAT_MISMATCH_CHECKPOINT = "confirmed-seat-mismatch";
+
+    private static final int EXPIRED_BATCH_SIZE = 200;
+
+    private final LocalGameSeatJooqRepository seatJooqRepository;
+    private final BookingJooqRepository bookingJooqRepository;
+    private final ReconciliationCheckpointJooqRepository checkpointRepository;
     private final ResilientKafkaPublisher kafkaPublisher;
     private final BookingTransactionService transactionService;
+    private final BookingProperties bookingProperties;
 
     /**
-     * Check 1: Find seats stuck in HELD status with no active booking.
+     * Check 1: Find seats stuck in HELD status with no PENDING booking.
      * This can happen when a booking expires but the seat release event was lost.
-     * Uses findByStatus() to leverage DB index instead of loading all seats.
+     * Detection and release are a single set-based UPDATE per page.
      */
-    @Transactional
     public int reconcileStaleHeldSeats() {
-        List<LocalGameSeat> heldSeats = localGameSeatRepository.findByStatus("HELD");
-
-        if (heldSeats.isEmpty()) return 0;
-
-        // Only PENDING bookings hold seats; CONFIRMED seats are RESERVED, CANCELLED are AVAILABLE
-        List<Booking> pendingBookings = bookingRepository.findByStatusWithSeats(BookingStatus.PENDING);
-        Set<Long> activeHeldSeatIds = pendingBookings.stream()
-                .flatMap(b -> b.getBookingSeats().stream())
-                .map(BookingSeat::getGameSeatId)
-                .collect(Collectors.toSet());
+        BookingProperties.Reconciliation config = bookingProperties.getReconciliation();
+        long afterId = checkpointRepository.load(STALE_HELD_CHECKPOINT);
 
         int released = 0;
-        for (LocalGameSeat seat : heldSeats) {
-            if (!activeHeldSeatIds.contains(seat.getId())) {
-                log.warn("RECONCILE: Releasing stale HELD seat id={}, gameId={}",
-                        seat.getId(), seat.getGameId());
-                seat.release();
-                localGameSeatRepository.save(seat);
-
-                // Notify game-service to sync original seat status
-                SeatEvent event = SeatEvent.released(seat.getGameId(), seat.getId(), null);
-                kafkaPublisher.publish(Topics.SEAT_RELEASED,
-                        String.valueOf(seat.getGameId()), event, "reconcile-seat-released");
-                released++;
+        for (int page = 0; page < config.getMaxPagesPerRun(); page++) {
+            Result<Record2<Long, Long>> releasedSeats =
+                    seatJooqRepository.releaseStaleHeldSeats(afterId, config.getPageSize());
+            if (!releasedSeats.isEmpty()) {
+                publishReleased(releasedSeats);
+                released += releasedSeats.size();
+                afterId = releasedSeats.get(releasedSeats.size() - 1).value1();
+            }
+            boolean endOfScan = releasedSeats.size() < config.getPageSize();
+            checkpointRepository.save(STALE_HELD_CHECKPOINT, endOfScan ? 0L : afterId);
+            if (endOfScan) {
+                break;
             }
         }
 
@@ -77,37 +77,35 @@ public class DataReconciliationService {
     }
 
     /**
-     * Check 2: Find bookings in CONFIRMED status whose seats are not RESERVED.
+     * Check 2: Find seats of CONFIRMED bookings that are not RESERVED.
      * This can happen when the seat status update event was lost after payment.
-     * Uses batch loading to avoid N+1 queries.
      */
-    @Transactional(readOnly = true)
     public int detectBookingSeatMismatch() {
-        List<Booking> confirmedBookings = bookingRepository.findByStatusWithSeats(BookingStatus.CONFIRMED);
-        if (confirmedBookings.isEmpty()) return 0;
-
-        // Batch-load all referenced seats in one query
-        Set<Long> seatIds = confirmedBookings.stream()
-                .flatMap(b -> b.getBookingSeats().stream())
-                .map(BookingSeat::getGameSeatId)
-                .collect(Collectors.toSet());
-        Map<Long, LocalGameSeat> seatMap = localGameSeatRepository.findAllById(seatIds).stream()
-                .collect(Collectors.toMap(LocalGameSeat::getId, s -> s));
+        BookingProperties.Reconciliation config = bookingProperties.getReconciliation();
+        long afterId = checkpointRepository.load(SEAT_MISMATCH_CHECKPOINT);
 
         int mismatches = 0;
-        for (Booking booking : confirmedBookings) {
-            for (BookingSeat bs : booking.getBookingSeats()) {
-                LocalGameSeat seat = seatMap.get(bs.getGameSeatId());
-                if (seat == null) {
+        for (int page = 0; page < config.getMaxPagesPerRun(); page++) {
+            List<SeatMismatch> found =
+                    bookingJooqRepository.findConfirmedSeatMismatches(afterId, config.getPageSize());
+            for (SeatMismatch mismatch : found) {
+                if (mismatch.seatStatus() == null) {
                     log.warn("RECONCILE: Confirmed booking {} references missing seat id={}",
-                            booking.getId(), bs.getGameSeatId());
-                    mismatches++;
-                } else if (!"RESERVED".equals(seat.getStatus())) {
+                            mismatch.bookingId(), mismatch.gameSeatId());
+                } else {
                     log.warn("RECONCILE: Confirmed booking {} seat id={} has status={} (expected RESERVED)",
-                            booking.getId(), bs.getGameSeatId(), seat.getStatus());
-                    mismatches++;
+                            mismatch.bookingId(), mismatch.gameSeatId(), mismatch.seatStatus());
                 }
             }
+            mismatches += found.size();
+            if (!found.isEmpty()) {
+                afterId = found.get(found.size() - 1).bookingSeatId();
+            }
+            boolean endOfScan = found.size() < config.getPageSize();
+            checkpointRepository.save(SEAT_MISMATCH_CHECKPOINT, endOfScan ? 0L : afterId);
+            if (endOfScan) {
+                break;
+            }
         }
 
         if (mismatches > 0) {
@@ -118,27 +116,46 @@ public class DataReconciliationService {
 
     /**
      * Check 3: Find and cancel expired PENDING bookings that HoldExpiryScheduler missed.
-     * Delegates to BookingTransactionService for proper cancellation with Kafka events.
+     * Delegates to BookingTransactionService's set-based bulk release (with Kafka events).
      */
-    @Transactional
     public int reconcileExpiredPendingBookings() {
-        List<Booking> expiredBookings = bookingRepository.findByStatusAndHoldExpiresAtBefore(
-                BookingStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 200));
-
-        int cancelled = 0;
-        for (Booking booking : expiredBookings) {
-            try {
-                transactionService.releaseBookingById(booking.getId());
-                log.warn("RECONCILE: Force-cancelled expired booking {}", booking.getId());
-                cancelled++;
-            } catch (Exception e) {
-                log.error("RECONCILE: Failed to cancel expired booking {}", booking.getId(), e);
-            }
+        int cancelled;
+        try {
+            cancelled = transactionService.releaseExpiredBatch(EXPIRED_BATCH_SIZE);
+        } catch (Exception e) {
+            log.error("RECONCILE: Failed to cancel expired bookings", e);
+            return 0;
         }
 
         if (cancelled > 0) {
-            log.info("RECONCILE: Cancelled {} expired PENDING bookings", cancelled);
+            log.warn("RECONCILE: Cancelled {} expired PENDING bookings", cancelled);
         }
         return cancelled;
     }
+
+    /**
+     * Notifies game-service to sync original seat status: one event per game
+     * (AGGREGATE shape) or per seat (PER_SEAT shape).
+     */
+    private void publishReleased(Result<Record2<Long, Long>> releasedSeats) {
+        Map<Long, List<Long>> seatsByGame = releasedSeats.stream()
+                .collect(Collectors.groupingBy(Record2::value2, LinkedHashMap::new,
+                        Collectors.mapping(Record2::value1, Collectors.toList())));
+        boolean aggregate = bookingProperties.getEvents().getShape() == BookingProperties.Events.Shape.AGGREGATE;
+
+        seatsByGame.forEach((gameId, seatIds) -> {
+            log.warn("RECONCILE: Released {} stale HELD seats, gameId={}, seatIds={}",
+                    seatIds.size(), gameId, seatIds);
+            String key = String.valueOf(gameId);
+            if (aggregate) {
+                kafkaPublisher.publish(Topics.SEAT_RELEASED, key,
+                        SeatEvent.released(gameId, seatIds, null), "reconcile-seat-released");
+                return;
+            }
+            for (Long seatId : seatIds) {
+                kafkaPublisher.publish(Topics.SEAT_RELEASED, key,
+                        SeatEvent.released(gameId, seatId, null), "reconcile-seat-released");
+            }
+        });
+    }
 }
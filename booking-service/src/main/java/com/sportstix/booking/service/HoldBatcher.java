@@ -0,0 +1,182 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.service.BookingTransactionService.HoldOutcome;
+import com.sportstix.booking.service.BookingTransactionService.HoldRequest;
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for holds (booking.hold-batch.enabled).
+ *
+ * Callers enqueue their hold and block; a single flusher thread collects up to
+ * maxBatchSize requests or maxWaitMs, rejects requests contending for a seat
+ * already claimed earlier in the batch, and commits the rest in one transaction
+ * (BookingTransactionService.holdSeatsBatch). Each caller gets its own booking
+ * or exception, so the hold API is unchanged.
+ *
+ * Only the lock path (BookingService.holdSeats) goes through here; it batches
+ * concurrent request threads. The single-writer owner already receives its
+ * holds as a Kafka poll and group-commits them itself (holdSeatsAsOwner).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldBatcher implements SmartLifecycle {
+
+    private static final long IDLE_POLL_MS = 1000;
+    // Bounds the wait of a hold enqueued while the flusher was stopping
+    private static final long RESULT_TIMEOUT_MS = 30_000;
+
+    private final BookingTransactionService transactionService;
+    private final BookingProperties bookingProperties;
+
+    private final BlockingQueue<PendingHold> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public Booking hold(Long userId, Long gameId, Set<Long> gameSeatIds) {
+        if (!running) {
+            return transactionService.holdSeatsInTransaction(userId, gameId, gameSeatIds);
+        }
+        PendingHold pending = new PendingHold(new HoldRequest(userId, gameId, gameSeatIds), new CompletableFuture<>());
+        queue.add(pending);
+        try {
+            return pending.result().get(RESULT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Interrupted waiting for hold commit");
+        } catch (TimeoutException e) {
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Timed out waiting for hold commit");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "Hold commit failed");
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!bookingProperties.getHoldBatch().isEnabled()) {
+            return;
+        }
+        running = true;
+        flusherThread = Thread.ofPlatform()
+                .name("hold-batch-flusher")
+                .daemon(true)
+                .start(this::flushLoop);
+        log.info("Hold group commit started: maxBatchSize={}, maxWaitMs={}",
+                bookingProperties.getHoldBatch().getMaxBatchSize(), bookingProperties.getHoldBatch().getMaxWaitMs());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+        }
+        // New holds take the direct path from now on; fail the ones still queued
+        List<PendingHold> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(p -> p.result().completeExceptionally(
+                new BusinessException(ErrorCode.INTERNAL_ERROR, "Hold batching stopped")));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                List<PendingHold> batch = collect();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private List<PendingHold> collect() throws InterruptedException {
+        PendingHold first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        BookingProperties.HoldBatch config = bookingProperties.getHoldBatch();
+        List<PendingHold> batch = new ArrayList<>(config.getMaxBatchSize());
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitMs());
+        while (batch.size() < config.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingHold next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    void flush(List<PendingHold> batch) {
+        // In-memory conflict resolution: the earliest request wins a contested seat
+        Set<Long> claimed = new HashSet<>();
+        List<PendingHold> accepted = new ArrayList<>(batch.size());
+        for (PendingHold pending : batch) {
+            Set<Long> seats = pending.request().gameSeatIds();
+            if (seats.stream().anyMatch(claimed::contains)) {
+                pending.result().completeExceptionally(new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE,
+                        "Seats are being held by another request: " + seats));
+                continue;
+            }
+            claimed.addAll(seats);
+            accepted.add(pending);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<HoldOutcome> outcomes = transactionService.holdSeatsBatch(
+                    accepted.stream().map(PendingHold::request).toList());
+            for (int i = 0; i < accepted.size(); i++) {
+                HoldOutcome outcome = outcomes.get(i);
+                CompletableFuture<Booking> result = accepted.get(i).result();
+                if (outcome.failure() != null) {
+                    result.completeExceptionally(outcome.failure());
+                } else {
+                    result.complete(outcome.booking());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Hold group commit failed: requests={}", accepted.size(), e);
+            accepted.forEach(p -> p.result().completeExceptionally(e));
+        }
+    }
+
+    record PendingHold(HoldRequest request, CompletableFuture<Booking> result) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.sportstix.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Redis ZSET of pending holds scored by holdExpiresAt (epoch millis).
+ *
+ * Every pod polls it; due entries are popped atomically by a Lua script,
+ * so each expiry is claimed by exactly one pod. Entries lost in Redis (or
+ * popped by a pod that crashes before releasing) are caught by the DB sweep
+ * in HoldExpiryScheduler. Redis failures never fail the booking flow.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldExpiryQueue {
+
+    private static final String KEY = "booking:hold-expiry";
+
+    // KEYS[1] = zset, ARGV[1] = now (epoch ms), ARGV[2] = max entries
+    private static final String POP_DUE_SCRIPT =
+            "local due = redis.call('zrangebyscore', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+            "if #due > 0 then redis.call('zrem', KEYS[1], unpack(due)) end " +
+            "return due";
+
+    private final RedissonClient redissonClient;
+
+    /**
+     * Schedules expiry once the current transaction commits (immediately if none).
+     */
+    public void scheduleAfterCommit(Long bookingId, LocalDateTime holdExpiresAt) {
+        if (bookingId == null || holdExpiresAt == null) {
+            return;
+        }
+        Runnable schedule = () -> schedule(bookingId, holdExpiresAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule.run();
+                }
+            });
+        } else {
+            schedule.run();
+        }
+    }
+
+    public void schedule(Long bookingId, LocalDateTime holdExpiresAt) {
+        try {
+            redissonClient.getScoredSortedSet(KEY, StringCodec.INSTANCE)
+                    .add(toEpochMillis(holdExpiresAt), String.valueOf(bookingId));
+        } catch (Exception e) {
+            log.warn("Failed to schedule hold expiry (DB sweep will catch it): bookingId={}", bookingId, e);
+        }
+    }
+
+    /**
+     * Atomically removes and returns up to {@code max} booking ids whose hold has expired.
+     */
+    public List<Long> pollDue(int max) {
+        try {
+            List<Object> due = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE, POP_DUE_SCRIPT, RScript.ReturnType.MULTI,
+                    List.<Object>of(KEY), String.valueOf(System.currentTimeMillis()), String.valueOf(max));
+            return toIds(due);
+        } catch (Exception e) {
+            log.warn("Failed to poll hold expiry queue", e);
+            return List.of();
+        }
+    }
+
+    private static List<Long> toIds(Collection<Object> members) {
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(members.size());
+        for (Object member : members) {
+            ids.add(Long.valueOf(member.toString()));
+        }
+        return ids;
+    }
+
+    private static double toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,103 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Measures user-facing holds and publishes this pod's hold health to Redis,
+ * where queue-service's admission controller reads it to pace admissions.
+ *
+ * Hash booking:health, field = pod id, value = "publishedAtMs,p99Ms,holds,errors"
+ * for the last publish window. Losing a seat to another user is normal
+ * contention, not an error; lock timeouts and unexpected failures are.
+ */
+@Slf4j
+@Component
+public class HoldHealthMonitor {
+
+    static final String HEALTH_KEY = "booking:health";
+    private static final Duration HEALTH_KEY_TTL = Duration.ofMinutes(1);
+    private static final Set<ErrorCode> OVERLOAD_CODES = Set.of(
+            ErrorCode.LOCK_ACQUISITION_FAILED, ErrorCode.INTERNAL_ERROR);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Timer holdTimer;
+    private final String podId = UUID.randomUUID().toString();
+    private final AtomicLong holds = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    public HoldHealthMonitor(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        // Short statistics window so the published p99 follows load within seconds
+        this.holdTimer = Timer.builder("booking.hold.latency")
+                .publishPercentiles(0.99)
+                .distributionStatisticExpiry(Duration.ofSeconds(10))
+                .distributionStatisticBufferLength(2)
+                .register(meterRegistry);
+    }
+
+    public <T> T record(Supplier<T> hold) {
+        long start = System.nanoTime();
+        try {
+            return hold.get();
+        } catch (BusinessException e) {
+            if (OVERLOAD_CODES.contains(e.getErrorCode())) {
+                errors.incrementAndGet();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            throw e;
+        } finally {
+            holds.incrementAndGet();
+            holdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold-health.publish-interval-ms:1000}")
+    public void publish() {
+        long windowHolds = holds.getAndSet(0);
+        long windowErrors = errors.getAndSet(0);
+        String value = System.currentTimeMillis() + "," + Math.round(p99Millis()) + ","
+                + windowHolds + "," + windowErrors;
+        try {
+            redisTemplate.opsForHash().put(HEALTH_KEY, podId, value);
+            redisTemplate.expire(HEALTH_KEY, HEALTH_KEY_TTL);
+        } catch (Exception e) {
+            log.warn("Failed to publish hold health", e);
+        }
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            redisTemplate.opsForHash().delete(HEALTH_KEY, podId);
+        } catch (Exception e) {
+            log.debug("Failed to remove hold health entry on shutdown", e);
+        }
+    }
+
+    private double p99Millis() {
+        for (ValueAtPercentile percentile : holdTimer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                return percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.LocalGame;
+import com.sportstix.booking.repository.LocalGameRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-pod cache of the game rules checked on every hold, so the hold path does
+ * not read local_games. Evicted by GameEventConsumer on the pod that applies a
+ * game update; other pods pick it up within the TTL.
+ * Unknown games are not cached, since their replica may arrive later.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalGameCache {
+
+    private final LocalGameRepository localGameRepository;
+    private final BookingProperties bookingProperties;
+
+    private final Map<Long, Entry> games = new ConcurrentHashMap<>();
+
+    public Optional<GameRules> find(Long gameId) {
+        long now = System.currentTimeMillis();
+        Entry entry = games.get(gameId);
+        if (entry != null && entry.expiresAt() > now) {
+            return Optional.of(entry.rules());
+        }
+
+        Optional<GameRules> rules = localGameRepository.findById(gameId).map(GameRules::of);
+        rules.ifPresentOrElse(
+                r -> games.put(gameId, new Entry(r, now + bookingProperties.getGameCache().getTtlMs())),
+                () -> games.remove(gameId));
+        return rules;
+    }
+
+    public void evict(Long gameId) {
+        games.remove(gameId);
+    }
+
+    /** Immutable snapshot of the LocalGame fields the hold path needs. */
+    public record GameRules(Long gameId, String status, Integer maxTicketsPerUser) {
+
+        static GameRules of(LocalGame game) {
+            return new GameRules(game.getId(), game.getStatus(), game.getMaxTicketsPerUser());
+        }
+    }
+
+    private record Entry(GameRules rules, long expiresAt) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.sportstix.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-pod, lock-free admission stage in front of the Redis seat lock.
+ *
+ * Collapses concurrent hold requests for the same seat within one JVM:
+ * only one in-flight request per seat proceeds to Redis, the others are
+ * rejected immediately instead of waiting up to the Redis lock wait time.
+ * Claims are all-or-nothing per request (putIfAbsent + rollback, no blocking).
+ */
+@Slf4j
+@Component
+public class SeatAdmissionGate {
+
+    private final ConcurrentHashMap<Long, Admission> inFlight = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
+
+    public SeatAdmissionGate(MeterRegistry meterRegistry) {
+        this.rejectedCounter = Counter.builder("booking.seat.admission.rejected")
+                .description("Hold requests collapsed by the per-pod seat admission gate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Claims all seats for the calling request.
+     * Returns null if any seat is already in flight on this pod.
+     */
+    public Admission tryAdmit(Collection<Long> gameSeatIds) {
+        Admission admission = new Admission(new ArrayList<>(gameSeatIds.size()));
+        for (Long seatId : gameSeatIds) {
+            if (inFlight.putIfAbsent(seatId, admission) != null) {
+                release(admission);
+                rejectedCounter.increment();
+                log.debug("Seat admission rejected (in flight on this pod): seatId={}", seatId);
+                return null;
+            }
+            admission.seatIds().add(seatId);
+        }
+        return admission;
+    }
+
+    /**
+     * Releases only the seats claimed by this admission.
+     */
+    public void release(Admission admission) {
+        if (admission == null) {
+            return;
+        }
+        for (Long seatId : admission.seatIds()) {
+            inFlight.remove(seatId, admission);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Identity-compared claim token for one hold request.
+     */
+    public static final class Admission {
+
+        private final List<Long> seatIds;
+
+        private Admission(List<Long> seatIds) {
+            this.seatIds = seatIds;
+        }
+
+        List<Long> seatIds() {
+            return seatIds;
+        }
+    }
+}
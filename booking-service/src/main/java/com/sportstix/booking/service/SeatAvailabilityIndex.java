@@ -0,0 +1,244 @@
+package com.sportstix.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Tier 0: per-pod, in-memory seat availability bitmap.
+ *
+ * One bit per local_game_seats row, indexed by a dense ordinal (position of the
+ * seat id in the sorted id array of its game). A set bit means the seat is known
+ * to be taken (HELD or RESERVED) and the hold can be rejected before touching
+ * Redis or the DB.
+ *
+ * The index is a negative cache only: a clear bit (or an unknown game/seat) never
+ * guarantees availability, it just lets the request fall through to the 3-tier lock.
+ * Stale "taken" bits are corrected by the periodic resync from the DB.
+ *
+ * Reads are lock-free; writes (committed transitions and resync) serialize per game
+ * so a resync never overwrites a transition that committed after its snapshot.
+ */
+@Slf4j
+@Component
+public class SeatAvailabilityIndex {
+
+    private final Map<Long, GameSeatBitmap> games = new ConcurrentHashMap<>();
+
+    /**
+     * (Re)builds the bitmap for a game.
+     *
+     * @param seatIds      all seat ids of the game
+     * @param takenSeatIds seat ids currently not AVAILABLE
+     */
+    public void load(Long gameId, Collection<Long> seatIds, Collection<Long> takenSeatIds) {
+        long[] ids = seatIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        GameSeatBitmap bitmap = new GameSeatBitmap(ids);
+        bitmap.setTaken(takenSeatIds, true);
+        games.put(gameId, bitmap);
+        log.debug("Seat availability index loaded: gameId={}, seats={}, taken={}",
+                gameId, ids.length, takenSeatIds.size());
+    }
+
+    /**
+     * Aligns an already indexed game with a DB snapshot of its taken seats, keeping
+     * its ordinal layout. Seats marked while the snapshot is read keep their marked
+     * state: that transition committed after the snapshot started, so it is newer.
+     * Returns false if the game is not indexed (caller should do a full load).
+     * Single caller (SeatIndexResyncScheduler); resyncs of one game must not overlap.
+     *
+     * @param takenSeatIds reads the seat ids currently not AVAILABLE
+     */
+    public boolean resync(Long gameId, Supplier<? extends Collection<Long>> takenSeatIds) {
+        GameSeatBitmap bitmap = games.get(gameId);
+        if (bitmap == null) {
+            return false;
+        }
+        bitmap.beginResync();
+        Collection<Long> taken;
+        try {
+            taken = takenSeatIds.get();
+        } catch (RuntimeException e) {
+            bitmap.abortResync();
+            throw e;
+        }
+        bitmap.completeResync(taken);
+        return true;
+    }
+
+    public void evict(Long gameId) {
+        games.remove(gameId);
+    }
+
+    public boolean isIndexed(Long gameId) {
+        return games.containsKey(gameId);
+    }
+
+    public Set<Long> indexedGameIds() {
+        return Set.copyOf(games.keySet());
+    }
+
+    /**
+     * Returns true if any of the given seats is known to be taken.
+     * Unknown games and seats are treated as possibly available.
+     */
+    public boolean anyTaken(Long gameId, Collection<Long> gameSeatIds) {
+        GameSeatBitmap bitmap = games.get(gameId);
+        if (bitmap == null) {
+            return false;
+        }
+        for (Long seatId : gameSeatIds) {
+            if (bitmap.isTaken(seatId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the seat is known to be taken; unknown games and seats are not.
+     */
+    public boolean isTaken(Long gameId, Long gameSeatId) {
+        GameSeatBitmap bitmap = games.get(gameId);
+        return bitmap != null && bitmap.isTaken(gameSeatId);
+    }
+
+    /**
+     * Applies a committed status transition. Seat ids are global (local_game_seats PK),
+     * so the owning game is located by id range before the ordinal lookup.
+     */
+    public void markTaken(Collection<Long> gameSeatIds) {
+        apply(gameSeatIds, true);
+    }
+
+    public void markAvailable(Collection<Long> gameSeatIds) {
+        apply(gameSeatIds, false);
+    }
+
+    private void apply(Collection<Long> gameSeatIds, boolean taken) {
+        if (gameSeatIds == null || gameSeatIds.isEmpty() || games.isEmpty()) {
+            return;
+        }
+        for (GameSeatBitmap bitmap : games.values()) {
+            bitmap.setTaken(gameSeatIds, taken);
+        }
+    }
+
+    /**
+     * Primitive-specialized bitmap for one game: sorted long[] of seat ids
+     * (id -> ordinal by binary search) plus an AtomicLongArray of bits read lock-free.
+     * Writers take a ReentrantLock rather than synchronized, so a virtual request
+     * thread applying a transition parks instead of pinning its carrier.
+     */
+    static final class GameSeatBitmap {
+
+        private final long[] seatIds;
+        private final long minId;
+        private final long maxId;
+        private final AtomicLongArray bits;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        // Seats marked since the running resync started reading its snapshot; null when idle
+        private Set<Long> touched;
+
+        GameSeatBitmap(long[] sortedSeatIds) {
+            this.seatIds = sortedSeatIds;
+            this.minId = sortedSeatIds.length > 0 ? sortedSeatIds[0] : Long.MAX_VALUE;
+            this.maxId = sortedSeatIds.length > 0 ? sortedSeatIds[sortedSeatIds.length - 1] : Long.MIN_VALUE;
+            this.bits = new AtomicLongArray((sortedSeatIds.length + 63) >>> 6);
+        }
+
+        int ordinalOf(long seatId) {
+            if (seatId < minId || seatId > maxId) {
+                return -1;
+            }
+            int ordinal = Arrays.binarySearch(seatIds, seatId);
+            return ordinal >= 0 ? ordinal : -1;
+        }
+
+        boolean isTaken(Long seatId) {
+            int ordinal = seatId != null ? ordinalOf(seatId) : -1;
+            if (ordinal < 0) {
+                return false;
+            }
+            return (bits.get(ordinal >>> 6) & (1L << ordinal)) != 0;
+        }
+
+        void setTaken(Collection<Long> ids, boolean taken) {
+            writeLock.lock();
+            try {
+                for (Long seatId : ids) {
+                    int ordinal = seatId != null ? ordinalOf(seatId) : -1;
+                    if (ordinal < 0) {
+                        continue;
+                    }
+                    if (touched != null) {
+                        touched.add(seatId);
+                    }
+                    long mask = 1L << ordinal;
+                    if (taken) {
+                        bits.getAndAccumulate(ordinal >>> 6, mask, (word, m) -> word | m);
+                    } else {
+                        bits.getAndAccumulate(ordinal >>> 6, mask, (word, m) -> word & ~m);
+                    }
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void beginResync() {
+            writeLock.lock();
+            try {
+                touched = new HashSet<>();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void abortResync() {
+            writeLock.lock();
+            try {
+                touched = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        /**
+         * Rewrites every bit from the snapshot except those of seats marked since
+         * beginResync, which already hold a newer state.
+         */
+        void completeResync(Collection<Long> takenIds) {
+            long[] snapshot = new long[bits.length()];
+            for (Long seatId : takenIds) {
+                int ordinal = seatId != null ? ordinalOf(seatId) : -1;
+                if (ordinal >= 0) {
+                    snapshot[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+            writeLock.lock();
+            try {
+                long[] keep = new long[bits.length()];
+                for (Long seatId : touched) {
+                    int ordinal = ordinalOf(seatId);
+                    keep[ordinal >>> 6] |= 1L << ordinal;
+                }
+                for (int i = 0; i < snapshot.length; i++) {
+                    bits.set(i, (snapshot[i] & ~keep[i]) | (bits.get(i) & keep[i]));
+                }
+                touched = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
@@ -3,22 +3,32 @@ package com.sportstix.booking.service;
 import com.sportstix.common.exception.BusinessException;
 import com.sportstix.common.response.ErrorCode;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Tier 1: Redis distributed lock for seat booking.
  * Prevents concurrent booking attempts across pods.
  * Circuit breaker protects against Redis outages.
+ *
+ * Two modes:
+ * - per-seat: sequential Redisson tryLock per seat (one round trip per seat)
+ * - batch: one Lua script claims all seat keys atomically (one round trip per attempt)
+ * Both use the same key and hash layout, so they exclude each other during rollout.
  */
 @Slf4j
 @Component
@@ -26,10 +36,39 @@ import java.util.concurrent.TimeUnit;
 public class SeatLockService {
 
     private static final String LOCK_PREFIX = "lock:seat:";
+    private static final String REDISSON_UNLOCK_CHANNEL_PREFIX = "redisson_lock__channel:";
     private static final long WAIT_TIME_MS = 3000;
     private static final long LEASE_TIME_MS = 5000;
+    private static final long BATCH_RETRY_INTERVAL_MS = 50;
+    private static final String ACQUIRE_TIMER = "booking.seat.lock.acquire";
+
+    // KEYS = sorted seat lock keys, ARGV[1] = owner, ARGV[2] = lease ms
+    // Returns 0 on success, otherwise the 1-based index of the first busy key
+    private static final String BATCH_ACQUIRE_SCRIPT =
+            "for i = 1, #KEYS do " +
+            "  if redis.call('exists', KEYS[i]) == 1 then return i end " +
+            "end " +
+            "for i = 1, #KEYS do " +
+            "  redis.call('hset', KEYS[i], ARGV[1], 1) " +
+            "  redis.call('pexpire', KEYS[i], ARGV[2]) " +
+            "end " +
+            "return 0";
+
+    // Deletes only keys owned by ARGV[1]; publishes Redisson's unlock message
+    // so per-seat mode waiters are woken up immediately
+    private static final String BATCH_RELEASE_SCRIPT =
+            "local released = 0 " +
+            "for i = 1, #KEYS do " +
+            "  if redis.call('hexists', KEYS[i], ARGV[1]) == 1 then " +
+            "    redis.call('del', KEYS[i]) " +
+            "    redis.call('publish', ARGV[2] .. '{' .. KEYS[i] .. '}', 0) " +
+            "    released = released + 1 " +
+            "  end " +
+            "end " +
+            "return released";
 
     private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Acquires distributed locks for multiple seats in sorted order (deadlock prevention).
@@ -40,6 +79,7 @@ public class SeatLockService {
         List<Long> sortedIds = new ArrayList<>(gameSeatIds);
         Collections.sort(sortedIds);
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         List<RLock> acquiredLocks = new ArrayList<>();
         try {
             for (Long seatId : sortedIds) {
@@ -47,11 +87,13 @@ public class SeatLockService {
                 boolean acquired = lock.tryLock(WAIT_TIME_MS, LEASE_TIME_MS, TimeUnit.MILLISECONDS);
                 if (!acquired) {
                     releaseLocks(acquiredLocks);
+                    recordAcquire(sample, "per-seat", false);
                     throw new BusinessException(ErrorCode.LOCK_ACQUISITION_FAILED,
                             "Failed to acquire lock for seat: " + seatId);
                 }
                 acquiredLocks.add(lock);
             }
+            recordAcquire(sample, "per-seat", true);
             return acquiredLocks;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -79,4 +121,85 @@ public class SeatLockService {
             }
         }
     }
+
+    /**
+     * Claims all seat locks atomically in a single Lua call (all-or-nothing).
+     * Retries the whole batch until WAIT_TIME_MS elapses; each attempt is one round trip.
+     */
+    @CircuitBreaker(name = "redisLock", fallbackMethod = "acquireBatchLockFallback")
+    public BatchLock acquireBatchLock(Collection<Long> gameSeatIds) {
+        List<Long> sortedIds = new ArrayList<>(gameSeatIds);
+        Collections.sort(sortedIds);
+
+        List<Object> keys = new ArrayList<>(sortedIds.size());
+        for (Long seatId : sortedIds) {
+            keys.add(LOCK_PREFIX + seatId);
+        }
+        BatchLock batchLock = new BatchLock(List.copyOf(keys), UUID.randomUUID().toString());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WAIT_TIME_MS);
+        RScript script = redissonClient.getScript(StringCodec.INSTANCE);
+        try {
+            while (true) {
+                Long busyIndex = script.eval(RScript.Mode.READ_WRITE, BATCH_ACQUIRE_SCRIPT,
+                        RScript.ReturnType.INTEGER, keys,
+                        batchLock.owner(), String.valueOf(LEASE_TIME_MS));
+                if (busyIndex != null && busyIndex == 0) {
+                    recordAcquire(sample, "batch", true);
+                    return batchLock;
+                }
+                if (System.nanoTime() >= deadline) {
+                    recordAcquire(sample, "batch", false);
+                    Long busySeatId = busyIndex != null ? sortedIds.get(busyIndex.intValue() - 1) : null;
+                    throw new BusinessException(ErrorCode.LOCK_ACQUISITION_FAILED,
+                            "Failed to acquire lock for seat: " + busySeatId);
+                }
+                Thread.sleep(BATCH_RETRY_INTERVAL_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.LOCK_ACQUISITION_FAILED,
+                    "Lock acquisition interrupted");
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private BatchLock acquireBatchLockFallback(Collection<Long> gameSeatIds, Throwable t) {
+        log.error("Redis circuit breaker open. Batch seat lock unavailable for seats: {}", gameSeatIds, t);
+        throw new BusinessException(ErrorCode.LOCK_ACQUISITION_FAILED,
+                "Service temporarily unavailable. Please try again shortly.");
+    }
+
+    /**
+     * Releases all keys of a batch lock in a single Lua call.
+     * Keys already expired or taken over by another owner are left untouched.
+     */
+    public void releaseBatchLock(BatchLock batchLock) {
+        if (batchLock == null || batchLock.keys().isEmpty()) {
+            return;
+        }
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    BATCH_RELEASE_SCRIPT, RScript.ReturnType.INTEGER, batchLock.keys(),
+                    batchLock.owner(), REDISSON_UNLOCK_CHANNEL_PREFIX);
+        } catch (Exception e) {
+            log.warn("Failed to release batch lock: keys={}", batchLock.keys(), e);
+        }
+    }
+
+    private void recordAcquire(Timer.Sample sample, String mode, boolean acquired) {
+        sample.stop(Timer.builder(ACQUIRE_TIMER)
+                .description("Seat lock acquisition latency by lock mode")
+                .tag("mode", mode)
+                .tag("outcome", acquired ? "acquired" : "failed")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Seat locks claimed by one batch acquisition, released together by owner token.
+     */
+    public record BatchLock(List<Object> keys, String owner) {
+    }
 }
@@ -0,0 +1,356 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Redis read model of per-game seat maps, so seat browsing never touches Postgres.
+ *
+ * Per game (all keys share the {gameId} hash tag):
+ * - seatmap:{g}:sec:{sectionId}    HASH seatId -> status
+ * - seatmap:{g}:layout:{sectionId} HASH seatId -> "row|number|price" (static)
+ * - seatmap:{g}:avail              HASH sectionId -> AVAILABLE count
+ * - seatmap:{g}:version            monotonic version, bumped once per seat change
+ * - seatmap:{g}:deltas             ZSET version -> "version:sectionId:seatId:status" (last N)
+ *
+ * Status changes are applied after commit from the transitions published by
+ * LocalGameSeatJooqRepository (SeatStatusChangeListener). Commits on different pods can
+ * reach Redis out of order; the periodic resync diffs against the DB and emits
+ * the corrections as regular deltas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatMapCache {
+
+    private static final String GAMES_KEY = "seatmap:games";
+
+    // KEYS[1] = section, KEYS[2] = layout, KEYS[3] = avail
+    // ARGV[1] = sectionId, ARGV[2] = AVAILABLE count, then (seatId, status, layout) per seat
+    private static final String BUILD_SECTION_SCRIPT =
+            "redis.call('del', KEYS[1], KEYS[2]) " +
+            "for i = 3, #ARGV, 3 do " +
+            "  redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) " +
+            "  redis.call('hset', KEYS[2], ARGV[i], ARGV[i + 2]) " +
+            "end " +
+            "redis.call('hset', KEYS[3], ARGV[1], ARGV[2]) " +
+            "return (#ARGV - 2) / 3";
+
+    // KEYS[1] = version, KEYS[2] = avail, KEYS[3] = deltas,
+    // KEYS[4..] = section and layout keys of sections no longer in the game
+    // ARGV = ids of those sections
+    private static final String PUBLISH_BUILD_SCRIPT =
+            "for i = 4, #KEYS do redis.call('del', KEYS[i]) end " +
+            "for _, s in ipairs(ARGV) do redis.call('hdel', KEYS[2], s) end " +
+            "redis.call('del', KEYS[3]) " +
+            "return redis.call('incr', KEYS[1])";
+
+    // KEYS[1] = version, KEYS[2] = avail, KEYS[3] = deltas
+    // ARGV[1] = section key prefix, ARGV[2] = delta retention, then (sectionId, seatId, status) per seat
+    // No-op (returns -1) for games whose map is not built yet
+    private static final String APPLY_SCRIPT =
+            "if redis.call('exists', KEYS[1]) == 0 then return -1 end " +
+            "local version = tonumber(redis.call('get', KEYS[1])) " +
+            "local changed = 0 " +
+            "for i = 3, #ARGV, 3 do " +
+            "  local section, seat, status = ARGV[i], ARGV[i + 1], ARGV[i + 2] " +
+            "  local key = ARGV[1] .. section " +
+            "  local old = redis.call('hget', key, seat) " +
+            "  if old ~= status then " +
+            "    redis.call('hset', key, seat, status) " +
+            "    if old == 'AVAILABLE' then redis.call('hincrby', KEYS[2], section, -1) end " +
+            "    if status == 'AVAILABLE' then redis.call('hincrby', KEYS[2], section, 1) end " +
+            "    version = version + 1 " +
+            "    redis.call('zadd', KEYS[3], version, version .. ':' .. section .. ':' .. seat .. ':' .. status) " +
+            "    changed = changed + 1 " +
+            "  end " +
+            "end " +
+            "if changed > 0 then " +
+            "  redis.call('set', KEYS[1], version) " +
+            "  redis.call('zremrangebyrank', KEYS[3], 0, -(tonumber(ARGV[2]) + 1)) " +
+            "end " +
+            "return version";
+
+    // KEYS[1] = version, KEYS[2] = hash; returns {version, field, value, ...} or {} if not built
+    private static final String VERSIONED_HASH_SCRIPT =
+            "local version = redis.call('get', KEYS[1]) " +
+            "if not version then return {} end " +
+            "local result = redis.call('hgetall', KEYS[2]) " +
+            "table.insert(result, 1, version) " +
+            "return result";
+
+    // KEYS[1] = version, KEYS[2] = deltas, ARGV[1] = since version
+    // returns {} if not built, {version, 'gap'} if deltas after since were trimmed,
+    // else {version, 'ok', delta...}
+    private static final String DELTAS_SCRIPT =
+            "local version = redis.call('get', KEYS[1]) " +
+            "if not version then return {} end " +
+            "local since = tonumber(ARGV[1]) " +
+            "if since >= tonumber(version) then return {version, 'ok'} end " +
+            "local oldest = redis.call('zrange', KEYS[2], 0, 0, 'WITHSCORES') " +
+            "if #oldest == 0 or tonumber(oldest[2]) > since + 1 then return {version, 'gap'} end " +
+            "local result = redis.call('zrangebyscore', KEYS[2], '(' .. since, '+inf') " +
+            "table.insert(result, 1, 'ok') " +
+            "table.insert(result, 1, version) " +
+            "return result";
+
+    private final RedissonClient redissonClient;
+    private final BookingProperties bookingProperties;
+
+    public boolean isBuilt(Long gameId) {
+        return redissonClient.getBucket(versionKey(gameId), StringCodec.INSTANCE).isExists();
+    }
+
+    public Set<Long> builtGameIds() {
+        return redissonClient.<String>getSet(GAMES_KEY, StringCodec.INSTANCE).readAll().stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * (Re)builds a game's seat map, one script call per section so no single call
+     * carries the whole stadium. The version is bumped last: a first build stays
+     * invisible until every section is written, and on a rebuild the version keeps
+     * increasing while the delta log is cleared, so clients fall back to a snapshot.
+     */
+    public long build(Long gameId, Collection<SeatLayout> seats) {
+        Set<String> staleSections = new HashSet<>(availMap(gameId).readAllKeySet());
+
+        Map<Long, List<SeatLayout>> bySection = seats.stream()
+                .collect(Collectors.groupingBy(SeatLayout::sectionId, LinkedHashMap::new, Collectors.toList()));
+        bySection.forEach((sectionId, sectionSeats) -> {
+            buildSection(gameId, sectionId, sectionSeats);
+            staleSections.remove(String.valueOf(sectionId));
+        });
+
+        List<Object> keys = new ArrayList<>(3 + staleSections.size() * 2);
+        keys.add(versionKey(gameId));
+        keys.add(availKey(gameId));
+        keys.add(deltasKey(gameId));
+        for (String sectionId : staleSections) {
+            keys.add(sectionPrefix(gameId) + sectionId);
+            keys.add(layoutPrefix(gameId) + sectionId);
+        }
+        Long version = script().eval(RScript.Mode.READ_WRITE, PUBLISH_BUILD_SCRIPT, RScript.ReturnType.INTEGER,
+                keys, staleSections.toArray());
+        redissonClient.getSet(GAMES_KEY, StringCodec.INSTANCE).add(String.valueOf(gameId));
+        log.info("Seat map built: gameId={}, sections={}, seats={}, version={}",
+                gameId, bySection.size(), seats.size(), version);
+        return version;
+    }
+
+    /**
+     * Removes every key of a game's seat map. The version goes first, so readers and
+     * apply treat the map as not built while the rest is deleted.
+     */
+    public void evict(Long gameId) {
+        Set<String> sections = availMap(gameId).readAllKeySet();
+        redissonClient.getBucket(versionKey(gameId), StringCodec.INSTANCE).delete();
+
+        List<String> keys = new ArrayList<>(2 + sections.size() * 2);
+        keys.add(availKey(gameId));
+        keys.add(deltasKey(gameId));
+        for (String sectionId : sections) {
+            keys.add(sectionPrefix(gameId) + sectionId);
+            keys.add(layoutPrefix(gameId) + sectionId);
+        }
+        redissonClient.getKeys().delete(keys.toArray(String[]::new));
+        redissonClient.getSet(GAMES_KEY, StringCodec.INSTANCE).remove(String.valueOf(gameId));
+    }
+
+    /**
+     * Applies seat status changes, one script call per game. Games without a built
+     * map are skipped: the first read builds them from the DB and then re-reads the
+     * seat statuses (SeatMapService.resync), so changes skipped mid-build are not lost.
+     * Never throws.
+     */
+    public void apply(Collection<SeatState> changes) {
+        if (!bookingProperties.getSeatMap().isEnabled()) {
+            return;
+        }
+        Map<Long, List<SeatState>> byGame = changes.stream()
+                .collect(Collectors.groupingBy(SeatState::gameId, LinkedHashMap::new, Collectors.toList()));
+        byGame.forEach((gameId, states) -> {
+            try {
+                applyToGame(gameId, states);
+            } catch (Exception e) {
+                log.warn("Seat map update failed (resync will correct it): gameId={}", gameId, e);
+            }
+        });
+    }
+
+    /**
+     * Current version and seat statuses of a section, read atomically.
+     */
+    public Optional<SectionSnapshot> snapshot(Long gameId, Long sectionId) {
+        List<Object> result = script().eval(RScript.Mode.READ_ONLY, VERSIONED_HASH_SCRIPT,
+                RScript.ReturnType.MULTI, List.<Object>of(versionKey(gameId), sectionKey(gameId, sectionId)));
+        if (result == null || result.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, String> statuses = new LinkedHashMap<>();
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            statuses.put(Long.valueOf(result.get(i).toString()), result.get(i + 1).toString());
+        }
+        Map<String, String> layouts = redissonClient.<String, String>getMap(
+                layoutPrefix(gameId) + sectionId, StringCodec.INSTANCE).readAllMap();
+
+        List<SeatLayout> seats = new ArrayList<>(statuses.size());
+        statuses.forEach((seatId, status) -> {
+            String[] layout = layouts.getOrDefault(String.valueOf(seatId), "||").split("\\|", -1);
+            seats.add(new SeatLayout(seatId, sectionId, layout[0],
+                    parseInteger(layout[1]), parseLong(layout[2]), status));
+        });
+        return Optional.of(new SectionSnapshot(Long.parseLong(result.get(0).toString()), seats));
+    }
+
+    /**
+     * Changes after {@code sinceVersion}. Empty if the map is not built; gap=true if
+     * some of those changes were already trimmed (client must take a snapshot).
+     */
+    public Optional<DeltaPage> deltasSince(Long gameId, long sinceVersion) {
+        List<Object> result = script().eval(RScript.Mode.READ_ONLY, DELTAS_SCRIPT, RScript.ReturnType.MULTI,
+                List.<Object>of(versionKey(gameId), deltasKey(gameId)), String.valueOf(sinceVersion));
+        if (result == null || result.isEmpty()) {
+            return Optional.empty();
+        }
+        long version = Long.parseLong(result.get(0).toString());
+        if ("gap".equals(result.get(1).toString())) {
+            return Optional.of(new DeltaPage(version, true, List.of()));
+        }
+        List<SeatDelta> deltas = new ArrayList<>(result.size() - 2);
+        for (int i = 2; i < result.size(); i++) {
+            String[] parts = result.get(i).toString().split(":");
+            deltas.add(new SeatDelta(Long.parseLong(parts[0]), Long.valueOf(parts[1]),
+                    Long.valueOf(parts[2]), parts[3]));
+        }
+        return Optional.of(new DeltaPage(version, false, deltas));
+    }
+
+    /**
+     * Current version and AVAILABLE seat count per section, read atomically.
+     */
+    public Optional<AvailabilitySnapshot> availability(Long gameId) {
+        List<Object> result = script().eval(RScript.Mode.READ_ONLY, VERSIONED_HASH_SCRIPT,
+                RScript.ReturnType.MULTI, List.<Object>of(versionKey(gameId), availKey(gameId)));
+        if (result == null || result.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, Long> bySection = new LinkedHashMap<>();
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            bySection.put(Long.valueOf(result.get(i).toString()), Long.valueOf(result.get(i + 1).toString()));
+        }
+        return Optional.of(new AvailabilitySnapshot(Long.parseLong(result.get(0).toString()), bySection));
+    }
+
+    private void applyToGame(Long gameId, List<SeatState> states) {
+        List<Object> args = new ArrayList<>(2 + states.size() * 3);
+        args.add(sectionPrefix(gameId));
+        args.add(String.valueOf(bookingProperties.getSeatMap().getDeltaRetention()));
+        for (SeatState state : states) {
+            args.add(String.valueOf(state.sectionId()));
+            args.add(String.valueOf(state.seatId()));
+            args.add(state.status());
+        }
+        script().eval(RScript.Mode.READ_WRITE, APPLY_SCRIPT, RScript.ReturnType.INTEGER,
+                List.<Object>of(versionKey(gameId), availKey(gameId), deltasKey(gameId)), args.toArray());
+    }
+
+    private void buildSection(Long gameId, Long sectionId, List<SeatLayout> seats) {
+        List<Object> args = new ArrayList<>(2 + seats.size() * 3);
+        args.add(String.valueOf(sectionId));
+        args.add(String.valueOf(seats.stream().filter(seat -> LocalGameSeatJooqRepository.AVAILABLE.equals(seat.status())).count()));
+        for (SeatLayout seat : seats) {
+            args.add(String.valueOf(seat.seatId()));
+            args.add(seat.status());
+            args.add(seat.rowName() + "|" + seat.seatNumber() + "|" + seat.price());
+        }
+        script().eval(RScript.Mode.READ_WRITE, BUILD_SECTION_SCRIPT, RScript.ReturnType.INTEGER,
+                List.<Object>of(sectionKey(gameId, sectionId), layoutPrefix(gameId) + sectionId, availKey(gameId)),
+                args.toArray());
+    }
+
+    private RMap<String, String> availMap(Long gameId) {
+        return redissonClient.getMap(availKey(gameId), StringCodec.INSTANCE);
+    }
+
+    private RScript script() {
+        return redissonClient.getScript(StringCodec.INSTANCE);
+    }
+
+    private static Integer parseInteger(String value) {
+        return value.isEmpty() || "null".equals(value) ? null : Integer.valueOf(value);
+    }
+
+    private static Long parseLong(String value) {
+        return value.isEmpty() || "null".equals(value) ? null : Long.valueOf(value);
+    }
+
+    private static String gamePrefix(Long gameId) {
+        return "seatmap:{" + gameId + "}:";
+    }
+
+    private static String versionKey(Long gameId) {
+        return gamePrefix(gameId) + "version";
+    }
+
+    private static String availKey(Long gameId) {
+        return gamePrefix(gameId) + "avail";
+    }
+
+    private static String deltasKey(Long gameId) {
+        return gamePrefix(gameId) + "deltas";
+    }
+
+    private static String sectionPrefix(Long gameId) {
+        return gamePrefix(gameId) + "sec:";
+    }
+
+    private static String sectionKey(Long gameId, Long sectionId) {
+        return sectionPrefix(gameId) + sectionId;
+    }
+
+    private static String layoutPrefix(Long gameId) {
+        return gamePrefix(gameId) + "layout:";
+    }
+
+    public record SeatState(Long gameId, Long sectionId, Long seatId, String status) {
+    }
+
+    public record SeatLayout(Long seatId, Long sectionId, String rowName, Integer seatNumber,
+                             Long price, String status) {
+    }
+
+    public record SectionSnapshot(long version, List<SeatLayout> seats) {
+    }
+
+    public record SeatDelta(long version, Long sectionId, Long seatId, String status) {
+    }
+
+    public record DeltaPage(long version, boolean gap, List<SeatDelta> deltas) {
+    }
+
+    public record AvailabilitySnapshot(long version, Map<Long, Long> availableBySection) {
+
+        public long totalAvailable() {
+            return availableBySection.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.dto.response.SeatAvailabilityResponse;
+import com.sportstix.booking.dto.response.SeatMapResponse;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import com.sportstix.booking.repository.LocalGameRepository;
+import com.sportstix.booking.service.SeatMapCache.DeltaPage;
+import com.sportstix.booking.service.SeatMapCache.SeatState;
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat map and availability reads served from the Redis read model (SeatMapCache).
+ *
+ * Postgres is read only to build a game's map on first access (one pod builds,
+ * guarded by a Redisson lock, then re-reads the seat statuses to catch changes
+ * committed during the build) and by the periodic resync, never per request.
+ * Clients pass the last version they saw and get only the changes since then,
+ * or a full section snapshot when those changes are no longer retained.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatMapService {
+
+    private static final String BUILD_LOCK_PREFIX = "lock:seatmap:build:";
+    private static final long BUILD_WAIT_SECONDS = 5;
+    private static final long BUILD_LEASE_SECONDS = 30;
+    private static final int RESYNC_CHUNK_SIZE = 5000;
+
+    private final SeatMapCache seatMapCache;
+    private final LocalGameSeatJooqRepository seatJooqRepository;
+    private final LocalGameRepository localGameRepository;
+    private final RedissonClient redissonClient;
+    private final BookingProperties bookingProperties;
+
+    public SeatMapResponse getSectionSeatMap(Long gameId, Long sectionId, Long sinceVersion) {
+        ensureBuilt(gameId);
+
+        if (sinceVersion != null) {
+            Optional<DeltaPage> page = seatMapCache.deltasSince(gameId, sinceVersion);
+            if (page.isPresent() && !page.get().gap()) {
+                return SeatMapResponse.delta(gameId, sectionId, page.get());
+            }
+        }
+        return seatMapCache.snapshot(gameId, sectionId)
+                .map(snapshot -> SeatMapResponse.snapshot(gameId, sectionId, snapshot))
+                .orElseThrow(() -> notBuilt(gameId));
+    }
+
+    public SeatAvailabilityResponse getAvailability(Long gameId) {
+        ensureBuilt(gameId);
+        return seatMapCache.availability(gameId)
+                .map(snapshot -> SeatAvailabilityResponse.from(gameId, snapshot))
+                .orElseThrow(() -> notBuilt(gameId));
+    }
+
+    /**
+     * Diffs the game's seat map against the DB; differences are applied as regular deltas.
+     */
+    public void resync(Long gameId) {
+        List<SeatState> states = seatJooqRepository.findSeatStatesByGame(gameId);
+        for (int from = 0; from < states.size(); from += RESYNC_CHUNK_SIZE) {
+            seatMapCache.apply(states.subList(from, Math.min(from + RESYNC_CHUNK_SIZE, states.size())));
+        }
+    }
+
+    private void ensureBuilt(Long gameId) {
+        if (!bookingProperties.getSeatMap().isEnabled()) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Seat map read model is disabled");
+        }
+        if (seatMapCache.isBuilt(gameId)) {
+            return;
+        }
+        if (!localGameRepository.existsById(gameId)) {
+            throw new BusinessException(ErrorCode.GAME_NOT_FOUND, "Game not found: " + gameId);
+        }
+
+        RLock lock = redissonClient.getLock(BUILD_LOCK_PREFIX + gameId);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(BUILD_WAIT_SECONDS, BUILD_LEASE_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.LOCK_ACQUISITION_FAILED, "Interrupted while building seat map");
+        }
+        if (!acquired) {
+            throw new BusinessException(ErrorCode.LOCK_ACQUISITION_FAILED,
+                    "Seat map is being built, retry shortly: gameId=" + gameId);
+        }
+        try {
+            if (!seatMapCache.isBuilt(gameId)) {
+                seatMapCache.build(gameId, seatJooqRepository.findSeatMapByGame(gameId));
+                // Changes committed after the snapshot read but applied before the version
+                // was published were dropped (apply skips unbuilt maps): diff them in now.
+                // Anything committed after this re-read is applied against the built map.
+                resync(gameId);
+            }
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static BusinessException notBuilt(Long gameId) {
+        return new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Seat map not available: gameId=" + gameId);
+    }
+}
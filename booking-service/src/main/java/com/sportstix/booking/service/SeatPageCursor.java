@@ -0,0 +1,30 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position (last row_name, seat_number, id) of an available-seat page.
+ * Encoded as URL-safe Base64 so clients treat it as a token, not a query.
+ */
+public record SeatPageCursor(String rowName, Integer seatNumber, Long id) {
+
+    public String encode() {
+        // rowName last: it is the only free-text part and may contain the separator
+        String raw = id + ":" + seatNumber + ":" + rowName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SeatPageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            return new SeatPageCursor(parts[2], Integer.valueOf(parts[1]), Long.valueOf(parts[0]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.domain.SeatStatusChangedEvent;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import com.sportstix.booking.websocket.SeatDeltaBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Applies committed seat transitions to the per-pod availability index, the Redis
+ * seat map and the seat delta broadcast. Runs after commit, or right away when the
+ * update ran without a transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatStatusChangeListener {
+
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final SeatMapCache seatMapCache;
+    private final SeatDeltaBroadcaster seatDeltaBroadcaster;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        if (event.seats().isEmpty()) {
+            return;
+        }
+        syncAvailabilityIndex(event);
+
+        List<SeatMapCache.SeatState> changes = event.seats().stream()
+                .map(seat -> new SeatMapCache.SeatState(
+                        seat.gameId(), seat.sectionId(), seat.gameSeatId(), event.newStatus()))
+                .toList();
+        seatMapCache.apply(changes);
+        seatDeltaBroadcaster.enqueue(changes);
+    }
+
+    /**
+     * Releases are always applied (a stale "available" bit is harmless).
+     * Takes are applied only when every seat transitioned, so a partial update
+     * never marks a seat taken that the DB did not change.
+     */
+    private void syncAvailabilityIndex(SeatStatusChangedEvent event) {
+        if (LocalGameSeatJooqRepository.AVAILABLE.equals(event.newStatus())) {
+            availabilityIndex.markAvailable(event.gameSeatIds());
+        } else if (event.complete()) {
+            availabilityIndex.markTaken(event.gameSeatIds());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.domain.BookingStatus;
+import com.sportstix.booking.jooq.BookingJooqRepository.CancelledBooking;
+import com.sportstix.booking.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis counter of a user's PENDING + CONFIRMED bookings per game, checked
+ * against the per-user limit on every hold instead of a DB count.
+ *
+ * A missing key is seeded from the DB count. Holds and cancellations adjust
+ * the counter after commit, and only while it exists, so a counter is never
+ * created from a delta. A failed adjustment drops the key; the TTL bounds any
+ * remaining drift (e.g. a hold committed while the key was being seeded).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserBookingCounter {
+
+    private static final String KEY_PREFIX = "booking:active-count:";
+    private static final List<BookingStatus> ACTIVE = List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED);
+
+    // KEYS = counters, ARGV[i] = delta for KEYS[i]; a negative result means drift, so recount
+    private static final String ADJUST_SCRIPT =
+            "for i = 1, #KEYS do " +
+            "  if redis.call('exists', KEYS[i]) == 1 " +
+            "      and redis.call('incrby', KEYS[i], ARGV[i]) < 0 then " +
+            "    redis.call('del', KEYS[i]) " +
+            "  end " +
+            "end " +
+            "return #KEYS";
+
+    private final RedissonClient redissonClient;
+    private final BookingRepository bookingRepository;
+    private final BookingProperties bookingProperties;
+
+    /**
+     * Active bookings of the user for the game; falls back to the DB on a miss or Redis failure.
+     */
+    public long count(Long userId, Long gameId) {
+        if (!bookingProperties.getBookingCounter().isEnabled()) {
+            return countFromDb(userId, gameId);
+        }
+        RBucket<String> bucket = redissonClient.getBucket(key(gameId, userId), StringCodec.INSTANCE);
+        try {
+            String cached = bucket.get();
+            if (cached != null) {
+                return Long.parseLong(cached);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read booking counter, counting in DB: userId={}, gameId={}", userId, gameId, e);
+            return countFromDb(userId, gameId);
+        }
+
+        long count = countFromDb(userId, gameId);
+        try {
+            bucket.trySet(String.valueOf(count), bookingProperties.getBookingCounter().getTtlSeconds(),
+                    TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Failed to seed booking counter: userId={}, gameId={}", userId, gameId, e);
+        }
+        return count;
+    }
+
+    public void heldAfterCommit(Collection<Booking> bookings) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        bookings.forEach(b -> deltas.merge(key(b.getGameId(), b.getUserId()), 1L, Long::sum));
+        adjustAfterCommit(deltas);
+    }
+
+    public void releasedAfterCommit(Long userId, Long gameId) {
+        adjustAfterCommit(Map.of(key(gameId, userId), -1L));
+    }
+
+    public void releasedAfterCommit(List<CancelledBooking> cancelled) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        cancelled.forEach(b -> deltas.merge(key(b.gameId(), b.userId()), -1L, Long::sum));
+        adjustAfterCommit(deltas);
+    }
+
+    private void adjustAfterCommit(Map<String, Long> deltas) {
+        if (deltas.isEmpty() || !bookingProperties.getBookingCounter().isEnabled()) {
+            return;
+        }
+        Runnable adjust = () -> adjust(deltas);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adjust.run();
+                }
+            });
+        } else {
+            adjust.run();
+        }
+    }
+
+    private void adjust(Map<String, Long> deltas) {
+        List<Object> keys = new ArrayList<>(deltas.keySet());
+        Object[] args = deltas.values().stream().map(String::valueOf).toArray();
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE, ADJUST_SCRIPT, RScript.ReturnType.INTEGER, keys, args);
+        } catch (Exception e) {
+            log.warn("Failed to adjust booking counters, dropping them: keys={}", keys, e);
+            try {
+                redissonClient.getKeys().delete(deltas.keySet().toArray(String[]::new));
+            } catch (Exception ignored) {
+                // Left to the TTL
+            }
+        }
+    }
+
+    private long countFromDb(Long userId, Long gameId) {
+        return bookingRepository.countByUserIdAndGameIdAndStatusIn(userId, gameId, ACTIVE);
+    }
+
+    private static String key(Long gameId, Long userId) {
+        return KEY_PREFIX + gameId + ":" + userId;
+    }
+}
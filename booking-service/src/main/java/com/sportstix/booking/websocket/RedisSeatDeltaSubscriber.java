@@ -0,0 +1,34 @@
+package com.sportstix.booking.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.booking.dto.response.SeatDeltaMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards seat deltas from Redis Pub/Sub to this pod's STOMP subscribers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisSeatDeltaSubscriber {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Called by Redis MessageListenerAdapter when a message arrives.
+     */
+    public void onMessage(String message) {
+        try {
+            SeatDeltaMessage delta = objectMapper.readValue(message, SeatDeltaMessage.class);
+            String destination = String.format("/topic/seats/%d/%d", delta.gameId(), delta.sectionId());
+            messagingTemplate.convertAndSend(destination, delta);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize seat delta message: {}", message, e);
+        }
+    }
+}
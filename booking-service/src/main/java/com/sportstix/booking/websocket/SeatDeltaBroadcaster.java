@@ -0,0 +1,83 @@
+package com.sportstix.booking.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.config.RedisPubSubConfig;
+import com.sportstix.booking.dto.response.SeatDeltaMessage;
+import com.sportstix.booking.service.SeatMapCache.SeatState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers committed seat transitions and publishes them to Redis Pub/Sub every
+ * flush interval, one message per (game, section) with the latest status per seat.
+ * Every pod forwards the messages to its own STOMP clients (RedisSeatDeltaSubscriber).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatDeltaBroadcaster {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final BookingProperties bookingProperties;
+
+    // Per-section maps are only touched inside compute/remove, which CHM serializes per key
+    private final ConcurrentHashMap<SectionKey, Map<Long, String>> pending = new ConcurrentHashMap<>();
+
+    public void enqueue(Collection<SeatState> changes) {
+        if (!bookingProperties.getSeatFeed().isEnabled() || changes.isEmpty()) {
+            return;
+        }
+        Map<SectionKey, List<SeatState>> bySection = changes.stream()
+                .collect(Collectors.groupingBy(c -> new SectionKey(c.gameId(), c.sectionId())));
+        bySection.forEach((key, states) -> pending.compute(key, (k, seats) -> {
+            Map<Long, String> merged = seats != null ? seats : new LinkedHashMap<>();
+            states.forEach(s -> merged.put(s.seatId(), s.status()));
+            return merged;
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${booking.seat-feed.flush-interval-ms:100}")
+    public void flush() {
+        for (SectionKey key : new ArrayList<>(pending.keySet())) {
+            Map<Long, String> seats = pending.remove(key);
+            if (seats == null || seats.isEmpty()) {
+                continue;
+            }
+            List<SeatDeltaMessage.SeatChange> seatChanges = seats.entrySet().stream()
+                    .map(e -> new SeatDeltaMessage.SeatChange(e.getKey(), e.getValue()))
+                    .toList();
+            publish(new SeatDeltaMessage(key.gameId(), key.sectionId(), seatChanges));
+        }
+    }
+
+    private void publish(SeatDeltaMessage message) {
+        try {
+            redisTemplate.convertAndSend(RedisPubSubConfig.SEAT_DELTA_CHANNEL,
+                    objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize seat delta: gameId={}, sectionId={}",
+                    message.gameId(), message.sectionId(), e);
+        } catch (Exception e) {
+            // Clients recover from missed deltas via the seat-map sinceVersion read
+            log.warn("Failed to publish seat delta: gameId={}, sectionId={}",
+                    message.gameId(), message.sectionId(), e);
+        }
+    }
+
+    private record SectionKey(Long gameId, Long sectionId) {
+    }
+}
@@ -0,0 +1,6 @@
+-- Partitioned outbox relay: one heartbeat row per relay pod, written on every lease round
+-- even while the pod holds no slice, so a newly started pod counts towards the fair share.
+CREATE TABLE outbox_relay_owners (
+    owner      VARCHAR(255)    PRIMARY KEY,
+    live_until TIMESTAMP       NOT NULL
+);
@@ -0,0 +1,9 @@
+-- Partitioned outbox relay: one lease row per logical slice of outbox_events
+-- (slice = abs(hashtext(partition_key)) % slice count). A pod relays only the slices it leases.
+CREATE TABLE outbox_slice_leases (
+    slice       INTEGER         PRIMARY KEY,
+    owner       VARCHAR(255),
+    lease_until TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_slice_leases_owner ON outbox_slice_leases(owner, lease_until);
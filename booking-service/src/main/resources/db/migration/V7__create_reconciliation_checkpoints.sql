@@ -0,0 +1,7 @@
+-- Keyset position of each streaming reconciliation check, so a run resumes
+-- where the previous one stopped instead of rescanning from the start
+CREATE TABLE reconciliation_checkpoints (
+    name        VARCHAR(64)     PRIMARY KEY,
+    last_id     BIGINT          NOT NULL DEFAULT 0,
+    updated_at  TIMESTAMP       NOT NULL DEFAULT NOW()
+);
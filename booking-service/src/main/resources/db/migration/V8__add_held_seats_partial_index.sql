@@ -0,0 +1,3 @@
+-- Stale HELD seat detection scans only HELD rows in id order (keyset pages);
+-- HELD is a small, short-lived fraction of local_game_seats
+CREATE INDEX idx_local_game_seats_held ON local_game_seats(id) WHERE status = 'HELD';
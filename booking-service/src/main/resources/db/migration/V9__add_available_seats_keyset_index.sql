@@ -0,0 +1,6 @@
+-- Available-seat pages seek on (row_name, seat_number, id) within a section;
+-- the partial index serves both filter and order, INCLUDE price keeps it index-only
+CREATE INDEX idx_local_game_seats_available_keyset
+    ON local_game_seats(game_id, section_id, row_name, seat_number, id)
+    INCLUDE (price)
+    WHERE status = 'AVAILABLE';
@@ -0,0 +1,148 @@
+package com.sportstix.booking.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.service.BookingService;
+import com.sportstix.booking.service.BookingTransactionService.HoldOutcome;
+import com.sportstix.booking.service.BookingTransactionService.HoldRequest;
+import com.sportstix.common.event.Topics;
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCommandProcessorTest {
+
+    @Mock
+    private BookingService bookingService;
+    @Mock
+    private KafkaTemplate<String, String> replyTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private BookingCommandProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new BookingCommandProcessor(bookingService, objectMapper, replyTemplate);
+    }
+
+    @Test
+    void handle_holds_commitsPollInOneBatchAndRepliesToEach() throws Exception {
+        Booking booking = Booking.builder().userId(100L).gameId(10L).build();
+        booking.addSeat(1L, BigDecimal.valueOf(50000));
+        HoldRequest first = new HoldRequest(100L, 10L, Set.of(1L));
+        HoldRequest second = new HoldRequest(200L, 10L, Set.of(1L));
+        when(bookingService.holdSeatsAsOwner(List.of(first, second))).thenReturn(List.of(
+                new HoldOutcome(booking, null),
+                new HoldOutcome(null, new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE, "taken"))));
+
+        processor.handle(List.of(
+                commandRecord(0, BookingCommand.hold(100L, 10L, Set.of(1L)), "c-1"),
+                commandRecord(1, BookingCommand.hold(200L, 10L, Set.of(1L)), "c-2")));
+
+        List<ProducerRecord<String, String>> replies = sentReplies(2);
+        assertThat(replies.get(0).topic()).isEqualTo(Topics.BOOKING_COMMAND_REPLIES);
+        assertThat(correlationId(replies.get(0))).isEqualTo("c-1");
+        assertThat(result(replies.get(0)).booking().seats()).hasSize(1);
+        assertThat(correlationId(replies.get(1))).isEqualTo("c-2");
+        assertThat(result(replies.get(1)).errorCode()).isEqualTo(ErrorCode.SEAT_NOT_AVAILABLE.name());
+    }
+
+    @Test
+    void handle_cancelBetweenHolds_flushesEarlierHoldsFirst() throws Exception {
+        Booking held = Booking.builder().userId(100L).gameId(10L).build();
+        Booking cancelled = Booking.builder().userId(300L).gameId(10L).build();
+        HoldRequest before = new HoldRequest(100L, 10L, Set.of(1L));
+        HoldRequest after = new HoldRequest(200L, 10L, Set.of(2L));
+        when(bookingService.holdSeatsAsOwner(List.of(before))).thenReturn(List.of(new HoldOutcome(held, null)));
+        when(bookingService.cancelBooking(7L, 300L)).thenReturn(cancelled);
+        when(bookingService.holdSeatsAsOwner(List.of(after))).thenReturn(List.of(new HoldOutcome(held, null)));
+
+        processor.handle(List.of(
+                commandRecord(0, BookingCommand.hold(100L, 10L, Set.of(1L)), "c-1"),
+                commandRecord(1, BookingCommand.cancel(300L, 10L, 7L), "c-2"),
+                commandRecord(2, BookingCommand.hold(200L, 10L, Set.of(2L)), "c-3")));
+
+        InOrder order = inOrder(bookingService);
+        order.verify(bookingService).holdSeatsAsOwner(List.of(before));
+        order.verify(bookingService).cancelBooking(7L, 300L);
+        order.verify(bookingService).holdSeatsAsOwner(List.of(after));
+        assertThat(sentReplies(3)).extracting(this::correlationId).containsExactly("c-1", "c-2", "c-3");
+    }
+
+    @Test
+    void handle_batchCommitThrows_repliesInternalErrorToEveryHold() throws Exception {
+        HoldRequest request = new HoldRequest(100L, 10L, Set.of(1L));
+        when(bookingService.holdSeatsAsOwner(List.of(request))).thenThrow(new IllegalStateException("db down"));
+
+        processor.handle(List.of(commandRecord(0, BookingCommand.hold(100L, 10L, Set.of(1L)), "c-1")));
+
+        assertThat(result(sentReplies(1).get(0)).errorCode()).isEqualTo(ErrorCode.INTERNAL_ERROR.name());
+    }
+
+    @Test
+    void execute_businessFailure_repliesWithErrorCode() {
+        when(bookingService.cancelBooking(7L, 100L))
+                .thenThrow(new BusinessException(ErrorCode.BOOKING_NOT_FOUND, "Booking not found: 7"));
+
+        BookingCommandResult result = processor.execute(BookingCommand.cancel(100L, 10L, 7L));
+
+        assertThat(result.errorCode()).isEqualTo(ErrorCode.BOOKING_NOT_FOUND.name());
+        assertThat(result.message()).isEqualTo("Booking not found: 7");
+    }
+
+    @Test
+    void execute_unexpectedFailure_repliesWithInternalError() {
+        when(bookingService.confirmBooking(7L, 100L)).thenThrow(new IllegalStateException("boom"));
+
+        BookingCommandResult result = processor.execute(BookingCommand.confirm(100L, 10L, 7L));
+
+        assertThat(result.errorCode()).isEqualTo(ErrorCode.INTERNAL_ERROR.name());
+    }
+
+    private ConsumerRecord<String, String> commandRecord(long offset, BookingCommand command, String correlationId)
+            throws Exception {
+        var record = new ConsumerRecord<>(Topics.BOOKING_COMMANDS, 0, offset,
+                String.valueOf(command.gameId()), objectMapper.writeValueAsString(command));
+        record.headers().add(KafkaHeaders.REPLY_TOPIC, Topics.BOOKING_COMMAND_REPLIES.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.CORRELATION_ID, correlationId.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProducerRecord<String, String>> sentReplies(int count) {
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(replyTemplate, times(count)).send(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private String correlationId(ProducerRecord<String, String> reply) {
+        return new String(reply.headers().lastHeader(KafkaHeaders.CORRELATION_ID).value(), StandardCharsets.UTF_8);
+    }
+
+    private BookingCommandResult result(ProducerRecord<String, String> reply) throws Exception {
+        return objectMapper.readValue(reply.value(), BookingCommandResult.class);
+    }
+}
@@ -0,0 +1,132 @@
+package com.sportstix.booking.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.domain.BookingStatus;
+import com.sportstix.booking.dto.response.BookingResponse;
+import com.sportstix.booking.jooq.BookingJooqRepository;
+import com.sportstix.booking.service.BookingService;
+import com.sportstix.common.event.Topics;
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.requestreply.ReplyingKafkaTemplate;
+import org.springframework.kafka.requestreply.RequestReplyFuture;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCommandRouterTest {
+
+    @Mock
+    private BookingService bookingService;
+    @Mock
+    private BookingJooqRepository bookingJooqRepository;
+    @Mock
+    private ObjectProvider<ReplyingKafkaTemplate<String, String, String>> commandTemplateProvider;
+    @Mock
+    private ReplyingKafkaTemplate<String, String, String> commandTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private BookingCommandRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new BookingCommandRouter(bookingService, bookingJooqRepository, bookingProperties,
+                objectMapper, commandTemplateProvider);
+    }
+
+    @Test
+    void hold_singleWriterDisabled_executesLocally() {
+        Booking booking = Booking.builder().userId(100L).gameId(10L).build();
+        booking.addSeat(1L, BigDecimal.valueOf(50000));
+        when(bookingService.holdSeats(100L, 10L, Set.of(1L))).thenReturn(booking);
+
+        BookingResponse response = router.hold(100L, 10L, Set.of(1L));
+
+        assertThat(response.gameId()).isEqualTo(10L);
+        verifyNoInteractions(commandTemplateProvider);
+    }
+
+    @Test
+    void hold_gameNotRouted_executesLocally() {
+        bookingProperties.getSingleWriter().setEnabled(true);
+        bookingProperties.getSingleWriter().setGameIds(Set.of(99L));
+        when(bookingService.holdSeats(100L, 10L, Set.of(1L)))
+                .thenReturn(Booking.builder().userId(100L).gameId(10L).build());
+
+        router.hold(100L, 10L, Set.of(1L));
+
+        verifyNoInteractions(commandTemplateProvider);
+    }
+
+    @Test
+    void hold_routedGame_sendsCommandKeyedByGameAndReturnsOwnerReply() throws Exception {
+        bookingProperties.getSingleWriter().setEnabled(true);
+        BookingResponse owned = new BookingResponse(7L, 100L, 10L, BookingStatus.PENDING,
+                BigDecimal.valueOf(50000), null, List.of(new BookingResponse.SeatInfo(1L, BigDecimal.valueOf(50000))), null);
+        stubReply(BookingCommandResult.success(owned));
+
+        BookingResponse response = router.hold(100L, 10L, Set.of(1L));
+
+        assertThat(response.bookingId()).isEqualTo(7L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, String>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(commandTemplate).sendAndReceive(sent.capture());
+        assertThat(sent.getValue().topic()).isEqualTo(Topics.BOOKING_COMMANDS);
+        assertThat(sent.getValue().key()).isEqualTo("10");
+        assertThat(objectMapper.readValue(sent.getValue().value(), BookingCommand.class))
+                .isEqualTo(BookingCommand.hold(100L, 10L, Set.of(1L)));
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void cancel_routedGame_rethrowsOwnerFailure() throws Exception {
+        bookingProperties.getSingleWriter().setEnabled(true);
+        when(bookingJooqRepository.findGameId(7L)).thenReturn(Optional.of(10L));
+        stubReply(BookingCommandResult.failure(ErrorCode.BOOKING_NOT_FOUND.name(), "Booking not found: 7"));
+
+        assertThatThrownBy(() -> router.cancel(7L, 100L))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.BOOKING_NOT_FOUND);
+    }
+
+    @Test
+    void confirm_unknownBooking_executesLocally() {
+        bookingProperties.getSingleWriter().setEnabled(true);
+        when(bookingJooqRepository.findGameId(7L)).thenReturn(Optional.empty());
+        when(bookingService.confirmBooking(7L, 100L))
+                .thenThrow(new BusinessException(ErrorCode.BOOKING_NOT_FOUND, "Booking not found: 7"));
+
+        assertThatThrownBy(() -> router.confirm(7L, 100L)).isInstanceOf(BusinessException.class);
+        verifyNoInteractions(commandTemplateProvider);
+    }
+
+    private void stubReply(BookingCommandResult result) throws Exception {
+        RequestReplyFuture<String, String, String> future = new RequestReplyFuture<>();
+        future.complete(new ConsumerRecord<>(Topics.BOOKING_COMMAND_REPLIES, 0, 0L, "10",
+                objectMapper.writeValueAsString(result)));
+        when(commandTemplateProvider.getObject()).thenReturn(commandTemplate);
+        when(commandTemplate.sendAndReceive(any(ProducerRecord.class))).thenReturn(future);
+    }
+}
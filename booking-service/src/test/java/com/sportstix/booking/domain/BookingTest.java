@@ -4,6 +4,7 @@ import com.sportstix.common.exception.BusinessException;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -61,4 +62,17 @@ class BookingTest {
         booking.cancel();
         assertThat(booking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
     }
+
+    @Test
+    void markInserted_assignsIdOnce() {
+        Booking booking = Booking.builder().userId(100L).gameId(10L).build();
+        LocalDateTime now = LocalDateTime.now();
+
+        booking.markInserted(1L, now);
+
+        assertThat(booking.getId()).isEqualTo(1L);
+        assertThat(booking.getCreatedAt()).isEqualTo(now);
+        assertThatThrownBy(() -> booking.markInserted(2L, now))
+                .isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -5,6 +5,8 @@ import com.sportstix.booking.domain.LocalGameSeat;
 import com.sportstix.booking.event.IdempotencyService;
 import com.sportstix.booking.repository.LocalGameRepository;
 import com.sportstix.booking.repository.LocalGameSeatRepository;
+import com.sportstix.booking.service.LocalGameCache;
+import com.sportstix.booking.service.SeatAvailabilityIndex;
 import com.sportstix.common.event.GameInfoUpdatedEvent;
 import com.sportstix.common.event.SeatInitializedEvent;
 import com.sportstix.common.event.Topics;
@@ -38,6 +40,10 @@ class GameEventConsumerTest {
     private LocalGameSeatRepository localGameSeatRepository;
     @Mock
     private IdempotencyService idempotencyService;
+    @Mock
+    private SeatAvailabilityIndex availabilityIndex;
+    @Mock
+    private LocalGameCache localGameCache;
 
     @Test
     void handleSeatInitialized_createsGameAndSeats() {
@@ -63,6 +69,7 @@ class GameEventConsumerTest {
         ArgumentCaptor<List<LocalGameSeat>> seatCaptor = ArgumentCaptor.forClass(List.class);
         verify(localGameSeatRepository).saveAll(seatCaptor.capture());
         assertThat(seatCaptor.getValue()).hasSize(2);
+        verify(availabilityIndex).load(1L, List.of(100L, 101L), List.of());
         verify(idempotencyService).markProcessed(event.getEventId(), Topics.GAME_SEAT_INITIALIZED);
     }
 
@@ -143,6 +150,7 @@ class GameEventConsumerTest {
         verify(localGameRepository).save(existing);
         assertThat(existing.getHomeTeam()).isEqualTo("NewA");
         assertThat(existing.getMaxTicketsPerUser()).isEqualTo(2);
+        verify(localGameCache).evict(2L);
     }
 
     @Test
@@ -0,0 +1,128 @@
+package com.sportstix.booking.event.outbox;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.jooq.OutboxEventJooqRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventPublisherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxEventJooqRepository outboxEventJooqRepository;
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new OutboxEventPublisher(outboxEventRepository, outboxEventJooqRepository, kafkaTemplate,
+                meterRegistry, new BookingProperties());
+    }
+
+    @Test
+    void publishBatch_allSent_marksPublishedWithSingleUpdate() {
+        OutboxEvent first = createEvent(1L, "p1");
+        OutboxEvent second = createEvent(2L, "p2");
+        when(kafkaTemplate.send("topic", "key", "p1")).thenReturn(sent());
+        when(kafkaTemplate.send("topic", "key", "p2")).thenReturn(sent());
+        when(outboxEventJooqRepository.markPublished(List.of(1L, 2L)))
+                .thenReturn(List.of(Duration.ofMillis(40), Duration.ofMillis(60)));
+
+        publisher.publishBatch(List.of(first, second));
+
+        verify(outboxEventRepository, never()).save(any());
+        Timer latency = meterRegistry.get("booking.outbox.publish.latency").tag("notify", "enabled").timer();
+        assertThat(latency.count()).isEqualTo(2);
+        assertThat(latency.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(100.0);
+    }
+
+    @Test
+    void publishEvent_sent_recordsDbLatencyLikeBatchMode() {
+        OutboxEvent event = createEvent(1L, "p1");
+        when(kafkaTemplate.send("topic", "key", "p1")).thenReturn(sent());
+        when(outboxEventJooqRepository.markPublished(List.of(1L))).thenReturn(List.of(Duration.ofMillis(25)));
+
+        publisher.publishEvent(event);
+
+        verify(outboxEventRepository, never()).save(any());
+        Timer latency = meterRegistry.get("booking.outbox.publish.latency").timer();
+        assertThat(latency.count()).isEqualTo(1);
+        assertThat(latency.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(25.0);
+    }
+
+    @Test
+    void publishBatch_oneSendFails_retriesOnlyFailedEvent() {
+        OutboxEvent first = createEvent(1L, "p1");
+        OutboxEvent second = createEvent(2L, "p2");
+        when(kafkaTemplate.send("topic", "key", "p1"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        when(kafkaTemplate.send("topic", "key", "p2")).thenReturn(sent());
+
+        publisher.publishBatch(List.of(first, second));
+
+        verify(outboxEventJooqRepository).markPublished(List.of(2L));
+        verify(outboxEventRepository).save(first);
+        assertThat(first.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.RETRYING);
+        assertThat(first.getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void publishBatch_sendThrowsSynchronously_doesNotAbortBatch() {
+        OutboxEvent first = createEvent(1L, "p1");
+        OutboxEvent second = createEvent(2L, "p2");
+        when(kafkaTemplate.send("topic", "key", "p1")).thenThrow(new IllegalStateException("producer closed"));
+        when(kafkaTemplate.send("topic", "key", "p2")).thenReturn(sent());
+
+        publisher.publishBatch(List.of(first, second));
+
+        verify(outboxEventJooqRepository).markPublished(List.of(2L));
+        verify(outboxEventRepository).save(first);
+    }
+
+    @Test
+    void publishBatch_maxRetriesExceeded_marksFailed() {
+        OutboxEvent event = createEvent(1L, "p1");
+        for (int i = 0; i < 5; i++) {
+            event.markRetrying();
+        }
+        when(kafkaTemplate.send("topic", "key", "p1"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        publisher.publishBatch(List.of(event));
+
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.FAILED);
+        verify(outboxEventJooqRepository).markPublished(List.of());
+    }
+
+    private static CompletableFuture<SendResult<String, String>> sent() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static OutboxEvent createEvent(Long id, String payload) {
+        OutboxEvent event = new OutboxEvent("Booking", "1", "BOOKING_CREATED", "topic", "key", payload);
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+}
@@ -2,6 +2,8 @@ package com.sportstix.booking.event.outbox;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.jooq.OutboxEventJooqRepository;
 import com.sportstix.common.event.BookingEvent;
 import com.sportstix.common.event.Topics;
 import org.junit.jupiter.api.Test;
@@ -11,10 +13,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +37,12 @@ class OutboxEventServiceTest {
     @Spy
     private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
+    @Mock
+    private OutboxEventJooqRepository outboxEventJooqRepository;
+
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
+
     @InjectMocks
     private OutboxEventService outboxEventService;
 
@@ -48,4 +65,67 @@ class OutboxEventServiceTest {
         assertThat(saved.getPayload()).contains("bookingId");
         assertThat(saved.getStatus()).isEqualTo(OutboxEvent.OutboxStatus.PENDING);
     }
+
+    @Test
+    void save_notifyEnabled_queuesRelayWakeupForPartitionKey() {
+        BookingEvent event = BookingEvent.created(1L, 100L, 10L, 200L, BigDecimal.valueOf(50000));
+
+        outboxEventService.save("Booking", "1",
+                "BOOKING_CREATED", Topics.BOOKING_CREATED, "10", event);
+
+        verify(outboxEventJooqRepository).notifyPending(Set.of("10"), 16);
+    }
+
+    @Test
+    void save_inTransaction_notifiesEachKeyOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            outboxEventService.save("Booking", "1", "BOOKING_CREATED", Topics.BOOKING_CREATED, "10",
+                    BookingEvent.created(1L, 100L, 10L, 200L, BigDecimal.valueOf(50000)));
+            outboxEventService.save("Booking", "1", "SEATS_HELD", Topics.BOOKING_CREATED, "10",
+                    BookingEvent.created(1L, 100L, 10L, 200L, BigDecimal.valueOf(50000)));
+            outboxEventService.save("Booking", "2", "BOOKING_CREATED", Topics.BOOKING_CREATED, "11",
+                    BookingEvent.created(2L, 101L, 11L, 201L, BigDecimal.valueOf(50000)));
+
+            verify(outboxEventJooqRepository, never()).notifyPending(anyCollection(), anyInt());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+            verify(outboxEventJooqRepository, times(1)).notifyPending(Set.of("10", "11"), 16);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(TransactionSynchronizationManager.hasResource(
+                OutboxEventService.class.getName() + ".pendingNotify")).isFalse();
+    }
+
+    @Test
+    void save_notifyDisabled_doesNotNotify() {
+        bookingProperties.getOutbox().setNotifyEnabled(false);
+        BookingEvent event = BookingEvent.created(1L, 100L, 10L, 200L, BigDecimal.valueOf(50000));
+
+        outboxEventService.save("Booking", "1",
+                "BOOKING_CREATED", Topics.BOOKING_CREATED, "10", event);
+
+        verify(outboxEventJooqRepository, never()).notifyPending(anyCollection(), anyInt());
+    }
+
+    @Test
+    void saveAll_insertsInOneStatementAndNotifiesPartitionKeysInOneStatement() {
+        List<OutboxEvent> events = List.of(
+                outboxEventService.create("Booking", "1", "BOOKING_CANCELLED", Topics.BOOKING_CANCELLED, "10",
+                        BookingEvent.cancelled(1L, 100L, 10L, List.of(200L))),
+                outboxEventService.create("Booking", "2", "BOOKING_CANCELLED", Topics.BOOKING_CANCELLED, "10",
+                        BookingEvent.cancelled(2L, 101L, 10L, List.of(201L))),
+                outboxEventService.create("Booking", "3", "BOOKING_CANCELLED", Topics.BOOKING_CANCELLED, "11",
+                        BookingEvent.cancelled(3L, 102L, 11L, List.of(202L))));
+
+        outboxEventService.saveAll(events);
+
+        verify(outboxEventJooqRepository).insertAll(events);
+        verify(outboxEventRepository, never()).save(any());
+        verify(outboxEventJooqRepository, times(1)).notifyPending(Set.of("10", "11"), 16);
+    }
 }
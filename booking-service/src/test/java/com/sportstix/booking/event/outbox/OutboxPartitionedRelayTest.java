@@ -0,0 +1,113 @@
+package com.sportstix.booking.event.outbox;
+
+import com.sportstix.booking.config.BookingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxPartitionedRelayTest {
+
+    @Mock
+    private OutboxSliceLeaseManager leaseManager;
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private OutboxPartitionedRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        bookingProperties.getOutbox().setSliceCount(4);
+        bookingProperties.getOutbox().setBatchSize(2);
+    }
+
+    @Test
+    void relay_singleMode_doesNothing() {
+        bookingProperties.getOutbox().setRelayMode(BookingProperties.Outbox.RelayMode.SINGLE);
+
+        relay.relay();
+
+        verifyNoInteractions(leaseManager, outboxEventPublisher);
+    }
+
+    @Test
+    void relay_noSlicesLeased_skipsPublishing() {
+        when(leaseManager.acquire(4, 10)).thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(outboxEventPublisher);
+    }
+
+    @Test
+    void relay_drainsFullBatchesOfOwnedSlices() {
+        when(leaseManager.acquire(4, 10)).thenReturn(List.of(1, 3));
+        when(outboxEventPublisher.publishSlices(List.of(1, 3), 4, 2)).thenReturn(2, 2, 1);
+        when(outboxEventRepository.findSliceBacklog(List.of(1, 3), 4)).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(outboxEventPublisher, times(3)).publishSlices(List.of(1, 3), 4, 2);
+    }
+
+    @Test
+    void relay_exposesPerSliceBacklogGauges() {
+        when(leaseManager.acquire(4, 10)).thenReturn(List.of(1, 3));
+        when(outboxEventPublisher.publishSlices(anyList(), anyInt(), anyInt())).thenReturn(0);
+        when(outboxEventRepository.findSliceBacklog(List.of(1, 3), 4))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 7L, 2.5}));
+
+        relay.relay();
+
+        assertThat(meterRegistry.get("booking.outbox.slice.lag").tag("slice", "1").gauge().value())
+                .isEqualTo(2.5);
+        assertThat(meterRegistry.get("booking.outbox.slice.pending").tag("slice", "1").gauge().value())
+                .isEqualTo(7);
+        assertThat(meterRegistry.get("booking.outbox.slice.pending").tag("slice", "3").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void wakeUp_leasedSlice_relaysImmediately() {
+        when(leaseManager.acquire(4, 10)).thenReturn(List.of(1, 3));
+        when(outboxEventPublisher.publishSlices(List.of(1, 3), 4, 2)).thenReturn(0);
+        when(outboxEventRepository.findSliceBacklog(List.of(1, 3), 4)).thenReturn(List.of());
+        relay.relay();
+
+        relay.wakeUp(3);
+
+        verify(outboxEventPublisher, times(2)).publishSlices(List.of(1, 3), 4, 2);
+        verify(leaseManager, times(1)).acquire(4, 10);
+    }
+
+    @Test
+    void wakeUp_sliceOwnedByOtherPod_ignored() {
+        when(leaseManager.acquire(4, 10)).thenReturn(List.of(1));
+        when(outboxEventPublisher.publishSlices(List.of(1), 4, 2)).thenReturn(0);
+        when(outboxEventRepository.findSliceBacklog(List.of(1), 4)).thenReturn(List.of());
+        relay.relay();
+
+        relay.wakeUp(2);
+
+        verify(outboxEventPublisher, times(1)).publishSlices(anyList(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,65 @@
+package com.sportstix.booking.event.outbox;
+
+import com.sportstix.booking.jooq.OutboxSliceLeaseJooqRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxSliceLeaseManagerTest {
+
+    @Mock
+    private OutboxSliceLeaseJooqRepository leaseRepository;
+
+    private OutboxSliceLeaseManager leaseManager;
+
+    @BeforeEach
+    void setUp() {
+        leaseManager = new OutboxSliceLeaseManager(leaseRepository);
+    }
+
+    @Test
+    void acquire_onlyPod_claimsAllSlices() {
+        String owner = leaseManager.owner();
+        when(leaseRepository.renew(owner, 4, 10)).thenReturn(List.of());
+        when(leaseRepository.countOtherLiveOwners(owner)).thenReturn(0);
+        when(leaseRepository.claimFree(owner, 4, 4, 10)).thenReturn(List.of(0, 1, 2, 3));
+
+        List<Integer> slices = leaseManager.acquire(4, 10);
+
+        assertThat(slices).containsExactly(0, 1, 2, 3);
+        verify(leaseRepository).ensureSlices(4);
+        verify(leaseRepository).heartbeat(owner, 10);
+    }
+
+    @Test
+    void acquire_belowFairShare_claimsOnlyMissingSlices() {
+        String owner = leaseManager.owner();
+        when(leaseRepository.renew(owner, 4, 10)).thenReturn(List.of(0));
+        when(leaseRepository.countOtherLiveOwners(owner)).thenReturn(1);
+        when(leaseRepository.claimFree(owner, 4, 1, 10)).thenReturn(List.of(3));
+
+        List<Integer> slices = leaseManager.acquire(4, 10);
+
+        assertThat(slices).containsExactly(0, 3);
+    }
+
+    @Test
+    void acquire_ensuresSliceRowsOnlyOncePerSliceCount() {
+        when(leaseRepository.renew(anyString(), eq(4), eq(10))).thenReturn(List.of(0, 1, 2, 3));
+        when(leaseRepository.countOtherLiveOwners(anyString())).thenReturn(0);
+
+        leaseManager.acquire(4, 10);
+        leaseManager.acquire(4, 10);
+
+        verify(leaseRepository, times(1)).ensureSlices(4);
+    }
+}
@@ -0,0 +1,114 @@
+package com.sportstix.booking.event.outbox;
+
+import com.sportstix.booking.jooq.OutboxSliceLeaseJooqRepository;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.sportstix.booking.jooq.generated.Tables.OUTBOX_RELAY_OWNERS;
+import static com.sportstix.booking.jooq.generated.Tables.OUTBOX_SLICE_LEASES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxSliceLeaseRebalanceTest {
+
+    private static final int SLICES = 4;
+    private static final int LEASE_SECONDS = 30;
+
+    private static Connection connection;
+    private DSLContext dsl;
+    private OutboxSliceLeaseJooqRepository repository;
+
+    @BeforeAll
+    static void initDb() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:outbox_lease_test;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=FALSE");
+        DSLContext setup = DSL.using(connection, SQLDialect.H2);
+
+        setup.execute("""
+                CREATE TABLE IF NOT EXISTS outbox_slice_leases (
+                    slice INTEGER PRIMARY KEY,
+                    owner VARCHAR(255),
+                    lease_until TIMESTAMP
+                )
+                """);
+
+        setup.execute("""
+                CREATE TABLE IF NOT EXISTS outbox_relay_owners (
+                    owner VARCHAR(255) PRIMARY KEY,
+                    live_until TIMESTAMP NOT NULL
+                )
+                """);
+    }
+
+    @AfterAll
+    static void closeDb() throws SQLException {
+        if (connection != null) connection.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dsl = DSL.using(connection, SQLDialect.H2);
+        dsl.deleteFrom(OUTBOX_SLICE_LEASES).execute();
+        dsl.deleteFrom(OUTBOX_RELAY_OWNERS).execute();
+        repository = new OutboxSliceLeaseJooqRepository(dsl);
+    }
+
+    @Test
+    void newPodWithoutSlices_getsFairShareFromPodHoldingAll() {
+        OutboxSliceLeaseManager podA = new OutboxSliceLeaseManager(repository, "pod-a");
+        OutboxSliceLeaseManager podB = new OutboxSliceLeaseManager(repository, "pod-b");
+
+        assertThat(podA.acquire(SLICES, LEASE_SECONDS)).containsExactly(0, 1, 2, 3);
+
+        // B is live but every slice is leased by A: nothing to claim yet
+        assertThat(podB.acquire(SLICES, LEASE_SECONDS)).isEmpty();
+        assertThat(repository.countOtherLiveOwners("pod-a")).isEqualTo(1);
+
+        // A sees B through its heartbeat and releases down to its share
+        assertThat(podA.acquire(SLICES, LEASE_SECONDS)).containsExactly(0, 1);
+
+        assertThat(podB.acquire(SLICES, LEASE_SECONDS)).containsExactlyInAnyOrder(2, 3);
+        assertThat(podA.acquire(SLICES, LEASE_SECONDS)).containsExactly(0, 1);
+    }
+
+    @Test
+    void releaseAll_removesHeartbeat() {
+        OutboxSliceLeaseManager podA = new OutboxSliceLeaseManager(repository, "pod-a");
+        OutboxSliceLeaseManager podB = new OutboxSliceLeaseManager(repository, "pod-b");
+        podA.acquire(SLICES, LEASE_SECONDS);
+        podB.acquire(SLICES, LEASE_SECONDS);
+
+        podB.releaseAll();
+
+        assertThat(repository.countOtherLiveOwners("pod-a")).isZero();
+        assertThat(podA.acquire(SLICES, LEASE_SECONDS)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void countOtherLiveOwners_ignoresExpiredHeartbeats() {
+        repository.heartbeat("pod-a", LEASE_SECONDS);
+        repository.heartbeat("pod-b", -1);
+
+        assertThat(repository.countOtherLiveOwners("pod-a")).isZero();
+        assertThat(dsl.fetchCount(OUTBOX_RELAY_OWNERS)).isEqualTo(1);
+        assertThat(repository.countOtherLiveOwners("pod-c")).isEqualTo(1);
+    }
+
+    @Test
+    void claimFree_takesOnlyUnownedSlices() {
+        repository.ensureSlices(SLICES);
+        repository.claimFree("pod-a", SLICES, 2, LEASE_SECONDS);
+
+        List<Integer> claimed = repository.claimFree("pod-b", SLICES, SLICES, LEASE_SECONDS);
+
+        assertThat(claimed).containsExactlyInAnyOrder(2, 3);
+    }
+}
@@ -1,18 +1,27 @@
 package com.sportstix.booking.event.producer;
 
 import com.sportstix.booking.TestFixtures;
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.domain.Booking;
 import com.sportstix.booking.event.outbox.OutboxEventService;
+import com.sportstix.booking.jooq.BookingJooqRepository.CancelledBooking;
+import com.sportstix.common.event.BookingEvent;
+import com.sportstix.common.event.SeatEvent;
 import com.sportstix.common.event.Topics;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -22,11 +31,15 @@ class BookingEventProducerTest {
     @Mock
     private OutboxEventService outboxEventService;
 
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
+
     @InjectMocks
     private BookingEventProducer bookingEventProducer;
 
     @Test
     void publishBookingCreated_savesToOutboxPerSeat() {
+        usePerSeatShape();
         Booking booking = createBooking(1L, 100L, 10L);
         booking.addSeat(200L, BigDecimal.valueOf(50000));
         booking.addSeat(201L, BigDecimal.valueOf(50000));
@@ -41,6 +54,7 @@ class BookingEventProducerTest {
 
     @Test
     void publishBookingConfirmed_savesToOutboxPerSeat() {
+        usePerSeatShape();
         Booking booking = createBooking(1L, 100L, 10L);
         booking.addSeat(200L, BigDecimal.valueOf(50000));
 
@@ -54,6 +68,7 @@ class BookingEventProducerTest {
 
     @Test
     void publishBookingCancelled_savesToOutboxPerSeat() {
+        usePerSeatShape();
         Booking booking = createBooking(1L, 100L, 10L);
         booking.addSeat(200L, BigDecimal.valueOf(50000));
 
@@ -67,6 +82,7 @@ class BookingEventProducerTest {
 
     @Test
     void publishSeatsHeld_savesToOutboxPerSeat() {
+        usePerSeatShape();
         Booking booking = createBooking(1L, 100L, 10L);
         booking.addSeat(200L, BigDecimal.valueOf(50000));
         booking.addSeat(201L, BigDecimal.valueOf(50000));
@@ -81,6 +97,7 @@ class BookingEventProducerTest {
 
     @Test
     void publishSeatsReleased_savesToOutboxPerSeat() {
+        usePerSeatShape();
         Booking booking = createBooking(1L, 100L, 10L);
         booking.addSeat(200L, BigDecimal.valueOf(50000));
 
@@ -92,6 +109,72 @@ class BookingEventProducerTest {
                 eq("10"), any());
     }
 
+    @Test
+    void publishBookingCreated_aggregate_savesSingleOutboxRowWithAllSeats() {
+        Booking booking = createBooking(1L, 100L, 10L);
+        booking.addSeat(200L, BigDecimal.valueOf(50000));
+        booking.addSeat(201L, BigDecimal.valueOf(50000));
+
+        bookingEventProducer.publishBookingCreated(booking);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventService, times(1)).save(
+                eq("Booking"), eq("1"),
+                eq("BOOKING_CREATED"), eq(Topics.BOOKING_CREATED),
+                eq("10"), captor.capture());
+        BookingEvent event = (BookingEvent) captor.getValue();
+        assertThat(event.isAggregate()).isTrue();
+        assertThat(event.allSeatIds()).containsExactlyInAnyOrder(200L, 201L);
+    }
+
+    @Test
+    void publishSeatsReleased_aggregate_savesSingleOutboxRowKeyedByBooking() {
+        Booking booking = createBooking(1L, 100L, 10L);
+        booking.addSeat(200L, BigDecimal.valueOf(50000));
+        booking.addSeat(201L, BigDecimal.valueOf(50000));
+
+        bookingEventProducer.publishSeatsReleased(booking);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxEventService, times(1)).save(
+                eq("Booking"), eq("1"),
+                eq("SEAT_RELEASED"), eq(Topics.SEAT_RELEASED),
+                eq("10"), captor.capture());
+        assertThat(((SeatEvent) captor.getValue()).allSeatIds()).containsExactlyInAnyOrder(200L, 201L);
+    }
+
+    @Test
+    void publishBulkReleased_aggregate_savesTwoRowsPerBookingInOneBatch() {
+        bookingEventProducer.publishBulkReleased(List.of(
+                new CancelledBooking(1L, 100L, 10L, List.of(200L, 201L)),
+                new CancelledBooking(2L, 101L, 11L, List.of(202L))));
+
+        verify(outboxEventService, times(2)).create(eq("Booking"), anyString(),
+                eq("BOOKING_CANCELLED"), eq(Topics.BOOKING_CANCELLED), anyString(), any());
+        verify(outboxEventService, times(2)).create(eq("Booking"), anyString(),
+                eq("SEAT_RELEASED"), eq(Topics.SEAT_RELEASED), anyString(), any());
+        verify(outboxEventService, times(1)).saveAll(anyList());
+        verify(outboxEventService, never()).save(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void publishBulkReleased_perSeat_savesRowsPerSeat() {
+        usePerSeatShape();
+
+        bookingEventProducer.publishBulkReleased(List.of(
+                new CancelledBooking(1L, 100L, 10L, List.of(200L, 201L))));
+
+        verify(outboxEventService, times(2)).create(eq("Booking"), eq("1"),
+                eq("BOOKING_CANCELLED"), eq(Topics.BOOKING_CANCELLED), eq("10"), any());
+        verify(outboxEventService, times(2)).create(eq("Seat"), anyString(),
+                eq("SEAT_RELEASED"), eq(Topics.SEAT_RELEASED), eq("10"), any());
+        verify(outboxEventService, times(1)).saveAll(anyList());
+    }
+
+    private void usePerSeatShape() {
+        bookingProperties.getEvents().setShape(BookingProperties.Events.Shape.PER_SEAT);
+    }
+
     private Booking createBooking(Long id, Long userId, Long gameId) {
         return TestFixtures.createBookingWithId(id, userId, gameId);
     }
@@ -0,0 +1,105 @@
+package com.sportstix.booking.jooq;
+
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.domain.BookingStatus;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.sportstix.booking.jooq.generated.Tables.BOOKINGS;
+import static com.sportstix.booking.jooq.generated.Tables.BOOKING_SEATS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingJooqRepositoryTest {
+
+    private static Connection connection;
+    private DSLContext dsl;
+    private BookingJooqRepository repository;
+
+    @BeforeAll
+    static void initDb() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:booking_insert_test;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=FALSE");
+        DSLContext setup = DSL.using(connection, SQLDialect.H2);
+
+        setup.execute("""
+                CREATE TABLE IF NOT EXISTS bookings (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    game_id BIGINT NOT NULL,
+                    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+                    total_price DECIMAL(10,0) NOT NULL DEFAULT 0,
+                    hold_expires_at TIMESTAMP,
+                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+
+        setup.execute("""
+                CREATE TABLE IF NOT EXISTS booking_seats (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    booking_id BIGINT NOT NULL REFERENCES bookings(id),
+                    game_seat_id BIGINT NOT NULL,
+                    price DECIMAL(10,0) NOT NULL,
+                    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+    }
+
+    @AfterAll
+    static void closeDb() throws SQLException {
+        if (connection != null) connection.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dsl = DSL.using(connection, SQLDialect.H2);
+        dsl.deleteFrom(BOOKING_SEATS).execute();
+        dsl.deleteFrom(BOOKINGS).execute();
+        repository = new BookingJooqRepository(dsl);
+    }
+
+    @Test
+    void insertHolds_writesBookingsAndSeats_assignsGeneratedIds() {
+        Booking first = booking(100L, 1L, 2L);
+        Booking second = booking(200L, 3L);
+
+        List<Booking> inserted = repository.insertHolds(List.of(first, second));
+
+        assertThat(inserted).containsExactly(first, second);
+        assertThat(first.getId()).isNotNull();
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(first.getCreatedAt()).isNotNull();
+
+        var row = dsl.selectFrom(BOOKINGS).where(BOOKINGS.ID.eq(first.getId())).fetchOne();
+        assertThat(row.getUserId()).isEqualTo(100L);
+        assertThat(row.getStatus()).isEqualTo(BookingStatus.PENDING.name());
+        assertThat(row.getTotalPrice()).isEqualTo(100000L);
+
+        assertThat(dsl.select(BOOKING_SEATS.GAME_SEAT_ID).from(BOOKING_SEATS)
+                .where(BOOKING_SEATS.BOOKING_ID.eq(first.getId()))
+                .fetch(BOOKING_SEATS.GAME_SEAT_ID))
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(dsl.select(BOOKING_SEATS.GAME_SEAT_ID).from(BOOKING_SEATS)
+                .where(BOOKING_SEATS.BOOKING_ID.eq(second.getId()))
+                .fetch(BOOKING_SEATS.GAME_SEAT_ID))
+                .containsExactly(3L);
+    }
+
+    private static Booking booking(Long userId, Long... seatIds) {
+        Booking booking = Booking.builder().userId(userId).gameId(10L).build();
+        for (Long seatId : seatIds) {
+            booking.addSeat(seatId, BigDecimal.valueOf(50000));
+        }
+        return booking;
+    }
+}
@@ -1,5 +1,7 @@
 package com.sportstix.booking.jooq;
 
+import com.sportstix.booking.domain.SeatStatusChangedEvent;
+import com.sportstix.booking.service.SeatMapCache;
 import org.jooq.DSLContext;
 import org.jooq.Record4;
 import org.jooq.Result;
@@ -9,23 +11,29 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 import static com.sportstix.booking.jooq.LocalGameSeatJooqRepository.*;
 import static com.sportstix.booking.jooq.generated.Tables.LOCAL_GAMES;
 import static com.sportstix.booking.jooq.generated.Tables.LOCAL_GAME_SEATS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 class LocalGameSeatJooqRepositoryTest {
 
     private static Connection connection;
     private DSLContext dsl;
     private LocalGameSeatJooqRepository repository;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeAll
     static void initDb() throws SQLException {
@@ -96,7 +104,8 @@ class LocalGameSeatJooqRepositoryTest {
                     .execute();
         }
 
-        repository = new LocalGameSeatJooqRepository(dsl);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        repository = new LocalGameSeatJooqRepository(dsl, eventPublisher);
     }
 
     @Test
@@ -150,6 +159,28 @@ class LocalGameSeatJooqRepositoryTest {
         assertThat(page2).hasSize(1);
     }
 
+    @Test
+    void findAvailableByGameAndSectionAfter_walksPagesByKeyset() {
+        var page1 = repository.findAvailableByGameAndSectionAfter(1L, 1L, null, null, null, 2);
+        var last = page1.get(page1.size() - 1);
+        var page2 = repository.findAvailableByGameAndSectionAfter(1L, 1L,
+                last.get(LOCAL_GAME_SEATS.ROW_NAME), last.get(LOCAL_GAME_SEATS.SEAT_NUMBER),
+                last.get(LOCAL_GAME_SEATS.ID), 2);
+
+        assertThat(page1.getValues(LOCAL_GAME_SEATS.ID)).containsExactly(1L, 2L);
+        assertThat(page2.getValues(LOCAL_GAME_SEATS.ID)).containsExactly(3L);
+    }
+
+    @Test
+    void findAvailableByGameAndSectionAfter_skipsSeatsTakenBetweenPages() {
+        var page1 = repository.findAvailableByGameAndSectionAfter(1L, 1L, null, null, null, 1);
+        repository.bulkUpdateStatus(Set.of(1L, 2L), AVAILABLE, HELD);
+
+        var page2 = repository.findAvailableByGameAndSectionAfter(1L, 1L, "A", 1, page1.get(0).get(LOCAL_GAME_SEATS.ID), 2);
+
+        assertThat(page2.getValues(LOCAL_GAME_SEATS.ID)).containsExactly(3L);
+    }
+
     @Test
     void countAvailableByGame_countsCorrectly() {
         assertThat(repository.countAvailableByGame(1L)).isEqualTo(5);
@@ -195,4 +226,45 @@ class LocalGameSeatJooqRepositoryTest {
         int updated = repository.bulkUpdateStatus(Set.of(2L, 3L, 4L), AVAILABLE, HELD);
         assertThat(updated).isEqualTo(2);
     }
+
+    @Test
+    void bulkUpdateStatus_publishesOnlyTransitionedSeats() {
+        repository.bulkUpdateStatus(Set.of(1L), AVAILABLE, HELD);
+
+        repository.bulkUpdateStatus(Set.of(1L, 2L), AVAILABLE, HELD);
+
+        verify(eventPublisher).publishEvent(new SeatStatusChangedEvent(
+                List.of(new SeatStatusChangedEvent.Seat(1L, 1L, 1L)), HELD, true));
+        verify(eventPublisher).publishEvent(new SeatStatusChangedEvent(
+                List.of(new SeatStatusChangedEvent.Seat(1L, 1L, 2L)), HELD, false));
+    }
+
+    @Test
+    void findSeatMapByGame_returnsLayoutAndStatus() {
+        repository.bulkUpdateStatus(Set.of(1L), AVAILABLE, HELD);
+
+        List<SeatMapCache.SeatLayout> seats = repository.findSeatMapByGame(1L);
+
+        assertThat(seats).hasSize(5);
+        assertThat(seats.get(0)).isEqualTo(new SeatMapCache.SeatLayout(1L, 1L, "A", 1, 50000L, HELD));
+    }
+
+    @Test
+    void findSeatIdsByGame_returnsAllIdsAscending() {
+        assertThat(repository.findSeatIdsByGame(1L)).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void findTakenSeatIdsByGame_returnsNonAvailableSeats() {
+        repository.bulkUpdateStatus(Set.of(2L, 4L), AVAILABLE, HELD);
+        assertThat(repository.findTakenSeatIdsByGame(1L)).containsExactlyInAnyOrder(2L, 4L);
+    }
+
+    @Test
+    void bulkUpdateStatus_nothingTransitioned_publishesNothing() {
+        int updated = repository.bulkUpdateStatus(Set.of(1L, 2L), HELD, RESERVED);
+
+        assertThat(updated).isZero();
+        verifyNoInteractions(eventPublisher);
+    }
 }
@@ -1,86 +1,126 @@
 package com.sportstix.booking.scheduler;
 
-import com.sportstix.booking.TestFixtures;
-import com.sportstix.booking.domain.Booking;
-import com.sportstix.booking.domain.BookingStatus;
-import com.sportstix.booking.repository.BookingRepository;
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.service.BookingTransactionService;
+import com.sportstix.booking.service.BookingTransactionService.BulkRelease;
+import com.sportstix.booking.service.HoldExpiryQueue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class HoldExpirySchedulerTest {
 
-    @Mock
-    private BookingRepository bookingRepository;
     @Mock
     private BookingTransactionService transactionService;
+    @Mock
+    private HoldExpiryQueue holdExpiryQueue;
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
 
     @InjectMocks
     private HoldExpiryScheduler scheduler;
 
     @Test
-    void releaseExpiredHolds_noExpiredBookings_doesNothing() {
-        when(bookingRepository.findByStatusAndHoldExpiresAtBefore(
-                eq(BookingStatus.PENDING), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(Collections.emptyList());
+    void releaseExpiredHolds_noExpiredBookings_releasesSingleEmptyBatch() {
+        when(transactionService.releaseExpiredBatch(100)).thenReturn(0);
 
         scheduler.releaseExpiredHolds();
 
-        verify(transactionService, never()).releaseBookingById(any());
+        verify(transactionService, times(1)).releaseExpiredBatch(100);
     }
 
     @Test
-    void releaseExpiredHolds_withExpiredBookings_releasesEach() {
-        Booking expired1 = createBooking(1L);
-        Booking expired2 = createBooking(2L);
-
-        when(bookingRepository.findByStatusAndHoldExpiresAtBefore(
-                eq(BookingStatus.PENDING), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of(expired1, expired2));
+    void releaseExpiredHolds_fullBatch_continuesUntilPartialBatch() {
+        when(transactionService.releaseExpiredBatch(100)).thenReturn(100, 100, 7);
 
         scheduler.releaseExpiredHolds();
 
-        verify(transactionService).releaseBookingById(1L);
-        verify(transactionService).releaseBookingById(2L);
+        verify(transactionService, times(3)).releaseExpiredBatch(100);
     }
 
     @Test
-    void releaseExpiredHolds_oneFailsOtherContinues() {
-        Booking expired1 = createBooking(1L);
-        Booking expired2 = createBooking(2L);
-
-        when(bookingRepository.findByStatusAndHoldExpiresAtBefore(
-                eq(BookingStatus.PENDING), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of(expired1, expired2));
-        when(transactionService.releaseBookingById(1L))
+    void releaseExpiredHolds_batchFails_stopsSweep() {
+        when(transactionService.releaseExpiredBatch(100))
                 .thenThrow(new RuntimeException("DB error"));
-        when(transactionService.releaseBookingById(2L))
-                .thenReturn(expired2);
 
         scheduler.releaseExpiredHolds();
 
-        // Both should be attempted even though first failed
-        verify(transactionService).releaseBookingById(1L);
-        verify(transactionService).releaseBookingById(2L);
+        verify(transactionService, times(1)).releaseExpiredBatch(100);
+    }
+
+    @Test
+    void drainDue_releasesPoppedBookingsInOneBatch() {
+        when(holdExpiryQueue.pollDue(anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        when(transactionService.releaseExpired(List.of(1L, 2L, 3L))).thenReturn(new BulkRelease(3, Map.of()));
+
+        scheduler.drainDue();
+
+        verify(transactionService).releaseExpired(List.of(1L, 2L, 3L));
+        verify(holdExpiryQueue, never()).schedule(any(), any());
+    }
+
+    @Test
+    void drainDue_notDue_requeuedNoEarlierThanHoldExpiry() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(30);
+        when(holdExpiryQueue.pollDue(anyInt())).thenReturn(List.of(1L, 2L));
+        when(transactionService.releaseExpired(List.of(1L, 2L)))
+                .thenReturn(new BulkRelease(1, Map.of(2L, expiresAt)));
+
+        scheduler.drainDue();
+
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(holdExpiryQueue).schedule(eq(2L), retryAt.capture());
+        assertThat(retryAt.getValue()).isEqualTo(expiresAt);
     }
 
-    private Booking createBooking(Long id) {
-        Booking booking = TestFixtures.createBookingWithId(id, 1L, 10L);
-        booking.addSeat(100L + id, BigDecimal.valueOf(50000));
-        return booking;
+    @Test
+    void drainDue_fullBatch_pollsAgain() {
+        bookingProperties.getHoldExpiry().setBatchSize(2);
+        when(holdExpiryQueue.pollDue(2))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(transactionService.releaseExpired(any())).thenReturn(new BulkRelease(0, Map.of()));
+
+        scheduler.drainDue();
+
+        verify(holdExpiryQueue, times(2)).pollDue(2);
+        verify(transactionService).releaseExpired(List.of(3L));
+    }
+
+    @Test
+    void drainDue_releaseFails_keepsDraining() {
+        bookingProperties.getHoldExpiry().setBatchSize(1);
+        when(holdExpiryQueue.pollDue(1))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of());
+        when(transactionService.releaseExpired(List.of(1L))).thenThrow(new RuntimeException("DB error"));
+
+        scheduler.drainDue();
+
+        verify(holdExpiryQueue, times(2)).pollDue(1);
+    }
+
+    @Test
+    void drainDue_queueDisabled_doesNotPoll() {
+        bookingProperties.getHoldExpiry().setQueueEnabled(false);
+
+        scheduler.drainDue();
+
+        verifyNoInteractions(holdExpiryQueue);
     }
 }
@@ -0,0 +1,126 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import com.sportstix.booking.service.SeatMapCache.SeatLayout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BestAvailableAllocatorTest {
+
+    private static final Long GAME_ID = 1L;
+    private static final Long SECTION_ID = 10L;
+
+    private LocalGameSeatJooqRepository seatJooqRepository;
+    private SeatAvailabilityIndex availabilityIndex;
+    private BookingProperties bookingProperties;
+    private BestAvailableAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        seatJooqRepository = mock(LocalGameSeatJooqRepository.class);
+        availabilityIndex = new SeatAvailabilityIndex();
+        bookingProperties = new BookingProperties();
+        bookingProperties.getBestAvailable().setCandidateRuns(1);
+        allocator = new BestAvailableAllocator(availabilityIndex, seatJooqRepository, bookingProperties);
+
+        // Row A: seats 1-5 (ids 1-5), row B: seats 1-5 (ids 6-10)
+        List<SeatLayout> layout = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            layout.add(new SeatLayout((long) i, SECTION_ID, i <= 5 ? "A" : "B", (i - 1) % 5 + 1, 50000L, "AVAILABLE"));
+        }
+        when(seatJooqRepository.findSeatMapByGame(GAME_ID)).thenReturn(layout);
+    }
+
+    @Test
+    void findAdjacent_returnsFirstContiguousFreeRun() {
+        availabilityIndex.load(GAME_ID, ids(1, 10), List.of(2L));
+
+        Optional<List<Long>> run = allocator.findAdjacent(GAME_ID, SECTION_ID, 3, Set.of());
+
+        assertThat(run).contains(List.of(3L, 4L, 5L));
+    }
+
+    @Test
+    void findAdjacent_rowWithoutRun_movesToNextRow() {
+        availabilityIndex.load(GAME_ID, ids(1, 10), List.of(2L, 4L));
+
+        Optional<List<Long>> run = allocator.findAdjacent(GAME_ID, SECTION_ID, 3, Set.of());
+
+        assertThat(run).contains(List.of(6L, 7L, 8L));
+    }
+
+    @Test
+    void findAdjacent_skipsExcludedSeats() {
+        availabilityIndex.load(GAME_ID, ids(1, 10), List.of());
+
+        Optional<List<Long>> run = allocator.findAdjacent(GAME_ID, SECTION_ID, 4, Set.of(1L, 2L, 3L, 4L));
+
+        assertThat(run).contains(List.of(6L, 7L, 8L, 9L));
+    }
+
+    @Test
+    void findAdjacent_seatNumberGap_isNotAdjacent() {
+        when(seatJooqRepository.findSeatMapByGame(2L)).thenReturn(List.of(
+                new SeatLayout(21L, SECTION_ID, "A", 1, 50000L, "AVAILABLE"),
+                new SeatLayout(22L, SECTION_ID, "A", 3, 50000L, "AVAILABLE")));
+        availabilityIndex.load(2L, List.of(21L, 22L), List.of());
+
+        assertThat(allocator.findAdjacent(2L, SECTION_ID, 2, Set.of())).isEmpty();
+    }
+
+    @Test
+    void findAdjacent_numericRowNames_scansRowsInNumericOrder() {
+        when(seatJooqRepository.findSeatMapByGame(2L)).thenReturn(List.of(
+                new SeatLayout(31L, SECTION_ID, "10", 1, 50000L, "AVAILABLE"),
+                new SeatLayout(32L, SECTION_ID, "10", 2, 50000L, "AVAILABLE"),
+                new SeatLayout(21L, SECTION_ID, "2", 1, 50000L, "AVAILABLE"),
+                new SeatLayout(22L, SECTION_ID, "2", 2, 50000L, "AVAILABLE")));
+        availabilityIndex.load(2L, List.of(21L, 22L, 31L, 32L), List.of());
+
+        assertThat(allocator.findAdjacent(2L, SECTION_ID, 2, Set.of())).contains(List.of(21L, 22L));
+    }
+
+    @Test
+    void compareRowNames_ordersDigitRunsByValue() {
+        List<String> rows = new ArrayList<>(List.of("10", "A10", "B", "2", "A9", "1", "A"));
+
+        rows.sort(BestAvailableAllocator::compareRowNames);
+
+        assertThat(rows).containsExactly("1", "2", "10", "A", "A9", "A10", "B");
+    }
+
+    @Test
+    void findAdjacent_loadsLayoutOncePerGame() {
+        availabilityIndex.load(GAME_ID, ids(1, 10), List.of());
+
+        allocator.findAdjacent(GAME_ID, SECTION_ID, 2, Set.of());
+        allocator.findAdjacent(GAME_ID, SECTION_ID, 2, Set.of());
+
+        verify(seatJooqRepository, times(1)).findSeatMapByGame(GAME_ID);
+    }
+
+    @Test
+    void findAdjacent_unknownSection_returnsEmpty() {
+        assertThat(allocator.findAdjacent(GAME_ID, 99L, 2, Set.of())).isEmpty();
+    }
+
+    private static List<Long> ids(long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -1,13 +1,13 @@
 package com.sportstix.booking.service;
 
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.domain.Booking;
 import com.sportstix.booking.domain.BookingStatus;
-import com.sportstix.booking.domain.LocalGame;
 import com.sportstix.booking.event.producer.BookingEventProducer;
 import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
 import com.sportstix.booking.repository.BookingRepository;
-import com.sportstix.booking.repository.LocalGameRepository;
 import com.sportstix.common.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.jooq.Record4;
 import org.jooq.Result;
 import org.jooq.SQLDialect;
@@ -20,7 +20,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,11 +36,14 @@ import static org.mockito.Mockito.*;
 class BookingConcurrencyTest {
 
     @Mock private BookingRepository bookingRepository;
-    @Mock private LocalGameRepository localGameRepository;
+    @Mock private LocalGameCache localGameCache;
     @Mock private LocalGameSeatJooqRepository seatJooqRepository;
     @Mock private SeatLockService seatLockService;
     @Mock private BookingEventProducer bookingEventProducer;
     @Mock private BookingTransactionService transactionService;
+    @Mock private BestAvailableAllocator bestAvailableAllocator;
+    @Mock private HoldBatcher holdBatcher;
+    @Mock private UserBookingCounter userBookingCounter;
 
     private BookingService bookingService;
 
@@ -51,20 +53,18 @@ class BookingConcurrencyTest {
     @BeforeEach
     void setUp() {
         bookingService = new BookingService(
-                bookingRepository, localGameRepository, seatJooqRepository,
-                seatLockService, bookingEventProducer, transactionService);
+                bookingRepository, localGameCache, seatJooqRepository,
+                seatLockService, bookingEventProducer, transactionService,
+                new SeatAvailabilityIndex(), new SeatAdmissionGate(new SimpleMeterRegistry()),
+                new BookingProperties(), bestAvailableAllocator, holdBatcher, userBookingCounter);
     }
 
     @Test
     void concurrentHoldSeats_onlyOneWins_othersGetConflict() throws Exception {
         int numUsers = 10;
-        LocalGame game = new LocalGame(GAME_ID, "Home", "Away",
-                LocalDateTime.of(2025, 6, 15, 19, 0),
-                LocalDateTime.of(2025, 6, 10, 10, 0),
-                "OPEN", 4);
-        when(localGameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(anyLong(), eq(GAME_ID), any()))
-                .thenReturn(0L);
+        var game = new LocalGameCache.GameRules(GAME_ID, "OPEN", 4);
+        when(localGameCache.find(GAME_ID)).thenReturn(Optional.of(game));
+        when(userBookingCounter.count(anyLong(), eq(GAME_ID))).thenReturn(0L);
 
         // First caller succeeds, subsequent callers fail (seat already taken)
         AtomicInteger lockCallCount = new AtomicInteger(0);
@@ -125,20 +125,17 @@ class BookingConcurrencyTest {
         assertThat(successCount).isEqualTo(1);
         assertThat(failCount).isEqualTo(numUsers - 1);
 
-        // Lock should always be released (finally block)
-        verify(seatLockService, times(numUsers)).releaseLocks(any());
+        // Every acquired lock should be released (finally block);
+        // requests collapsed by the admission gate never reach Redis
+        verify(seatLockService, times(lockCallCount.get())).releaseLocks(any());
     }
 
     @Test
     void concurrentHoldSeats_differentSeats_allSucceed() throws Exception {
         int numUsers = 5;
-        LocalGame game = new LocalGame(GAME_ID, "Home", "Away",
-                LocalDateTime.of(2025, 6, 15, 19, 0),
-                LocalDateTime.of(2025, 6, 10, 10, 0),
-                "OPEN", 4);
-        when(localGameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
-        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(anyLong(), eq(GAME_ID), any()))
-                .thenReturn(0L);
+        var game = new LocalGameCache.GameRules(GAME_ID, "OPEN", 4);
+        when(localGameCache.find(GAME_ID)).thenReturn(Optional.of(game));
+        when(userBookingCounter.count(anyLong(), eq(GAME_ID))).thenReturn(0L);
         when(seatLockService.acquireLocks(anySet())).thenReturn(List.of(mock(RLock.class)));
 
         when(transactionService.holdSeatsInTransaction(anyLong(), eq(GAME_ID), anySet()))
@@ -178,4 +175,49 @@ class BookingConcurrencyTest {
         // All succeed because they target different seats
         assertThat(successCount).isEqualTo(numUsers);
     }
+
+    @Test
+    void concurrentHoldSeats_sameSeatInFlight_collapsedByAdmissionGate() throws Exception {
+        int numUsers = 10;
+        var game = new LocalGameCache.GameRules(GAME_ID, "OPEN", 4);
+        when(localGameCache.find(GAME_ID)).thenReturn(Optional.of(game));
+        when(userBookingCounter.count(anyLong(), eq(GAME_ID))).thenReturn(0L);
+        when(seatLockService.acquireLocks(Set.of(SEAT_ID))).thenReturn(List.of(mock(RLock.class)));
+
+        // Winner blocks inside the transaction until all other requests have arrived
+        CountDownLatch othersDone = new CountDownLatch(numUsers - 1);
+        when(transactionService.holdSeatsInTransaction(anyLong(), eq(GAME_ID), eq(Set.of(SEAT_ID))))
+                .thenAnswer(inv -> {
+                    othersDone.await(5, TimeUnit.SECONDS);
+                    Booking booking = Booking.builder().userId(inv.getArgument(0)).gameId(GAME_ID).build();
+                    booking.addSeat(SEAT_ID, BigDecimal.valueOf(50000));
+                    return booking;
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(numUsers);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < numUsers; i++) {
+            final long userId = 100L + i;
+            futures.add(executor.submit(() -> {
+                try {
+                    bookingService.holdSeats(userId, GAME_ID, Set.of(SEAT_ID));
+                    return true;
+                } catch (BusinessException e) {
+                    othersDone.countDown();
+                    return false;
+                }
+            }));
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        long successCount = futures.stream().filter(f -> {
+            try { return f.get(); } catch (Exception e) { return false; }
+        }).count();
+
+        // Only one request per seat reaches Redis; the rest fail fast on this pod
+        assertThat(successCount).isEqualTo(1);
+        verify(seatLockService, times(1)).acquireLocks(Set.of(SEAT_ID));
+    }
 }
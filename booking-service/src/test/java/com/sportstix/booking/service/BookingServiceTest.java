@@ -1,22 +1,25 @@
 package com.sportstix.booking.service;
 
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.domain.Booking;
 import com.sportstix.booking.domain.BookingStatus;
-import com.sportstix.booking.domain.LocalGame;
 import com.sportstix.booking.event.producer.BookingEventProducer;
 import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
 import com.sportstix.booking.repository.BookingRepository;
-import com.sportstix.booking.repository.LocalGameRepository;
+import com.sportstix.booking.service.BookingTransactionService.HoldOutcome;
+import com.sportstix.booking.service.BookingTransactionService.HoldRequest;
 import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -24,6 +27,7 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,7 +37,7 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
     @Mock
-    private LocalGameRepository localGameRepository;
+    private LocalGameCache localGameCache;
     @Mock
     private LocalGameSeatJooqRepository seatJooqRepository;
     @Mock
@@ -42,6 +46,18 @@ class BookingServiceTest {
     private BookingEventProducer bookingEventProducer;
     @Mock
     private BookingTransactionService transactionService;
+    @Mock
+    private SeatAvailabilityIndex availabilityIndex;
+    @Spy
+    private SeatAdmissionGate admissionGate = new SeatAdmissionGate(new SimpleMeterRegistry());
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
+    @Mock
+    private BestAvailableAllocator bestAvailableAllocator;
+    @Mock
+    private HoldBatcher holdBatcher;
+    @Mock
+    private UserBookingCounter userBookingCounter;
 
     @InjectMocks
     private BookingService bookingService;
@@ -52,10 +68,9 @@ class BookingServiceTest {
         Long gameId = 10L;
         Set<Long> seatIds = Set.of(1L, 2L);
 
-        LocalGame game = createGame(gameId, 4);
-        when(localGameRepository.findById(gameId)).thenReturn(Optional.of(game));
-        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(eq(userId), eq(gameId), any()))
-                .thenReturn(0L);
+        LocalGameCache.GameRules game = createGame(gameId, 4);
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(game));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(0L);
         when(seatLockService.acquireLocks(seatIds)).thenReturn(List.of(mock(RLock.class)));
 
         Booking expected = Booking.builder().userId(userId).gameId(gameId).build();
@@ -73,19 +88,69 @@ class BookingServiceTest {
         verify(seatLockService).releaseLocks(any());
     }
 
+    @Test
+    void holdSeats_seatKnownTaken_rejectsBeforeLockAndDb() {
+        Set<Long> seatIds = Set.of(1L, 2L);
+        when(availabilityIndex.anyTaken(10L, seatIds)).thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.holdSeats(100L, 10L, seatIds))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("no longer available");
+
+        verifyNoInteractions(seatLockService, localGameCache, userBookingCounter, transactionService);
+    }
+
+    @Test
+    void holdSeats_batchLockMode_usesSingleBatchLock() {
+        Long userId = 100L;
+        Long gameId = 10L;
+        Set<Long> seatIds = Set.of(1L, 2L);
+        bookingProperties.getSeatLock().setMode(BookingProperties.SeatLock.Mode.BATCH);
+
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(createGame(gameId, 4)));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(0L);
+        SeatLockService.BatchLock batchLock = new SeatLockService.BatchLock(List.of(), "owner");
+        when(seatLockService.acquireBatchLock(seatIds)).thenReturn(batchLock);
+        when(transactionService.holdSeatsInTransaction(userId, gameId, seatIds))
+                .thenReturn(Booking.builder().userId(userId).gameId(gameId).build());
+
+        bookingService.holdSeats(userId, gameId, seatIds);
+
+        verify(seatLockService, never()).acquireLocks(any());
+        verify(seatLockService).releaseBatchLock(batchLock);
+    }
+
+    @Test
+    void holdSeats_seatInFlightOnPod_failsFastWithoutRedis() {
+        Long userId = 100L;
+        Long gameId = 10L;
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(createGame(gameId, 4)));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(0L);
+        SeatAdmissionGate.Admission inFlight = admissionGate.tryAdmit(Set.of(2L));
+
+        assertThatThrownBy(() -> bookingService.holdSeats(userId, gameId, Set.of(1L, 2L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("being held by another request");
+
+        verifyNoInteractions(seatLockService, transactionService);
+        admissionGate.release(inFlight);
+        assertThat(admissionGate.inFlightCount()).isZero();
+    }
+
     @Test
     void holdSeats_exceedsMaxTickets_throwsException() {
         Long userId = 100L;
         Long gameId = 10L;
 
-        LocalGame game = createGame(gameId, 4);
-        when(localGameRepository.findById(gameId)).thenReturn(Optional.of(game));
-        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(eq(userId), eq(gameId), any()))
-                .thenReturn(3L);
+        LocalGameCache.GameRules game = createGame(gameId, 4);
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(game));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(3L);
 
         assertThatThrownBy(() -> bookingService.holdSeats(userId, gameId, Set.of(1L, 2L)))
                 .isInstanceOf(BusinessException.class)
-                .hasMessageContaining("Exceeds max tickets");
+                .hasMessageContaining("Exceeds max tickets")
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(com.sportstix.common.response.ErrorCode.TICKET_LIMIT_EXCEEDED);
     }
 
     @Test
@@ -94,10 +159,9 @@ class BookingServiceTest {
         Long gameId = 10L;
         Set<Long> seatIds = Set.of(1L, 2L);
 
-        LocalGame game = createGame(gameId, 4);
-        when(localGameRepository.findById(gameId)).thenReturn(Optional.of(game));
-        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(eq(userId), eq(gameId), any()))
-                .thenReturn(0L);
+        LocalGameCache.GameRules game = createGame(gameId, 4);
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(game));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(0L);
         when(seatLockService.acquireLocks(seatIds)).thenReturn(List.of(mock(RLock.class)));
         when(transactionService.holdSeatsInTransaction(userId, gameId, seatIds))
                 .thenThrow(new BusinessException(
@@ -164,6 +228,7 @@ class BookingServiceTest {
         assertThat(result.getStatus()).isEqualTo(BookingStatus.CANCELLED);
         verify(bookingEventProducer).publishBookingCancelled(any());
         verify(bookingEventProducer).publishSeatsReleased(any());
+        verify(userBookingCounter).releasedAfterCommit(userId, 10L);
     }
 
     @Test
@@ -178,6 +243,7 @@ class BookingServiceTest {
 
         assertThat(result.getStatus()).isEqualTo(BookingStatus.CANCELLED);
         verify(bookingEventProducer, never()).publishBookingCancelled(any());
+        verifyNoInteractions(userBookingCounter);
     }
 
     @Test
@@ -200,10 +266,96 @@ class BookingServiceTest {
                 .hasMessageContaining("User does not own booking");
     }
 
-    private LocalGame createGame(Long gameId, int maxTickets) {
-        return new LocalGame(gameId, "Home", "Away",
-                LocalDateTime.of(2025, 6, 15, 19, 0),
-                LocalDateTime.of(2025, 6, 10, 10, 0),
-                "OPEN", maxTickets);
+    @Test
+    void holdBestAvailable_runTakenConcurrently_retriesWithAnotherRun() {
+        Long userId = 100L;
+        Long gameId = 10L;
+        when(bestAvailableAllocator.findAdjacent(eq(gameId), eq(5L), eq(2), any()))
+                .thenReturn(Optional.of(List.of(1L, 2L)), Optional.of(List.of(3L, 4L)));
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(createGame(gameId, 4)));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(0L);
+        when(seatLockService.acquireLocks(any())).thenReturn(List.of(mock(RLock.class)));
+        when(transactionService.holdSeatsInTransaction(userId, gameId, Set.of(1L, 2L)))
+                .thenThrow(new BusinessException(
+                        com.sportstix.common.response.ErrorCode.SEAT_NOT_AVAILABLE, "Not available"));
+        Booking expected = Booking.builder().userId(userId).gameId(gameId).build();
+        when(transactionService.holdSeatsInTransaction(userId, gameId, Set.of(3L, 4L)))
+                .thenReturn(expected);
+
+        Booking booking = bookingService.holdBestAvailable(userId, gameId, 5L, 2);
+
+        assertThat(booking).isSameAs(expected);
+        verify(bestAvailableAllocator, times(2)).findAdjacent(eq(gameId), eq(5L), eq(2), any());
+    }
+
+    @Test
+    void holdBestAvailable_exceedsMaxTickets_doesNotRetry() {
+        Long userId = 100L;
+        Long gameId = 10L;
+        when(bestAvailableAllocator.findAdjacent(eq(gameId), eq(5L), eq(2), any()))
+                .thenReturn(Optional.of(List.of(1L, 2L)));
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(createGame(gameId, 4)));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(3L);
+
+        assertThatThrownBy(() -> bookingService.holdBestAvailable(userId, gameId, 5L, 2))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Exceeds max tickets");
+
+        verify(bestAvailableAllocator, times(1)).findAdjacent(eq(gameId), eq(5L), eq(2), any());
+        verifyNoInteractions(seatLockService, transactionService);
+    }
+
+    @Test
+    void holdSeatsAsOwner_holdBatchEnabled_commitsPollWithoutBatcher() {
+        Long userId = 100L;
+        Long gameId = 10L;
+        bookingProperties.getHoldBatch().setEnabled(true);
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(createGame(gameId, 4)));
+        when(userBookingCounter.count(userId, gameId)).thenReturn(0L);
+        HoldRequest request = new HoldRequest(userId, gameId, Set.of(1L));
+        Booking expected = Booking.builder().userId(userId).gameId(gameId).build();
+        when(transactionService.holdSeatsBatch(List.of(request))).thenReturn(List.of(new HoldOutcome(expected, null)));
+
+        List<HoldOutcome> outcomes = bookingService.holdSeatsAsOwner(List.of(request));
+
+        assertThat(outcomes).singleElement().extracting(HoldOutcome::booking).isSameAs(expected);
+        verifyNoInteractions(holdBatcher, seatLockService);
+    }
+
+    @Test
+    void holdSeatsAsOwner_contestedSeatAndTicketLimitInPoll_rejectedBeforeCommit() {
+        Long gameId = 10L;
+        when(localGameCache.find(gameId)).thenReturn(Optional.of(createGame(gameId, 4)));
+        when(userBookingCounter.count(anyLong(), eq(gameId))).thenReturn(0L);
+        HoldRequest first = new HoldRequest(100L, gameId, Set.of(1L, 2L, 3L));
+        HoldRequest contested = new HoldRequest(200L, gameId, Set.of(3L));
+        HoldRequest overLimit = new HoldRequest(100L, gameId, Set.of(4L, 5L));
+        HoldRequest other = new HoldRequest(300L, gameId, Set.of(6L));
+        Booking firstBooking = Booking.builder().userId(100L).gameId(gameId).build();
+        Booking otherBooking = Booking.builder().userId(300L).gameId(gameId).build();
+        when(transactionService.holdSeatsBatch(List.of(first, other))).thenReturn(List.of(
+                new HoldOutcome(firstBooking, null), new HoldOutcome(otherBooking, null)));
+
+        List<HoldOutcome> outcomes = bookingService.holdSeatsAsOwner(List.of(first, contested, overLimit, other));
+
+        assertThat(outcomes.get(0).booking()).isSameAs(firstBooking);
+        assertThat(outcomes.get(1).failure().getErrorCode()).isEqualTo(ErrorCode.SEAT_NOT_AVAILABLE);
+        assertThat(outcomes.get(2).failure().getErrorCode()).isEqualTo(ErrorCode.TICKET_LIMIT_EXCEEDED);
+        assertThat(outcomes.get(3).booking()).isSameAs(otherBooking);
+    }
+
+    @Test
+    void holdBestAvailable_noAdjacentRun_throws() {
+        when(bestAvailableAllocator.findAdjacent(eq(10L), eq(5L), eq(4), any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookingService.holdBestAvailable(100L, 10L, 5L, 4))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("adjacent");
+
+        verifyNoInteractions(seatLockService, transactionService);
+    }
+
+    private LocalGameCache.GameRules createGame(Long gameId, int maxTickets) {
+        return new LocalGameCache.GameRules(gameId, "OPEN", maxTickets);
     }
 }
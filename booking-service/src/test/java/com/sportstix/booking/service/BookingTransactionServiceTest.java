@@ -3,6 +3,8 @@ package com.sportstix.booking.service;
 import com.sportstix.booking.domain.Booking;
 import com.sportstix.booking.domain.BookingStatus;
 import com.sportstix.booking.event.producer.BookingEventProducer;
+import com.sportstix.booking.jooq.BookingJooqRepository;
+import com.sportstix.booking.jooq.BookingJooqRepository.CancelledBooking;
 import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
 import com.sportstix.booking.repository.BookingRepository;
 import com.sportstix.common.exception.BusinessException;
@@ -17,12 +19,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +40,12 @@ class BookingTransactionServiceTest {
     private LocalGameSeatJooqRepository seatJooqRepository;
     @Mock
     private BookingEventProducer bookingEventProducer;
+    @Mock
+    private HoldExpiryQueue holdExpiryQueue;
+    @Mock
+    private BookingJooqRepository bookingJooqRepository;
+    @Mock
+    private UserBookingCounter userBookingCounter;
 
     @InjectMocks
     private BookingTransactionService transactionService;
@@ -65,7 +77,7 @@ class BookingTransactionServiceTest {
 
         when(seatJooqRepository.findByIdsForUpdateSkipLocked(seatIds, "AVAILABLE")).thenReturn(result);
         when(seatJooqRepository.bulkUpdateStatus(seatIds, "AVAILABLE", "HELD")).thenReturn(2);
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(bookingJooqRepository.insertHolds(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
         Booking booking = transactionService.holdSeatsInTransaction(userId, gameId, seatIds);
 
@@ -74,6 +86,35 @@ class BookingTransactionServiceTest {
         assertThat(booking.getBookingSeats()).hasSize(2);
         verify(bookingEventProducer).publishBookingCreated(any());
         verify(bookingEventProducer).publishSeatsHeld(any());
+        verify(holdExpiryQueue).scheduleAfterCommit(booking.getId(), booking.getHoldExpiresAt());
+        verify(userBookingCounter).heldAfterCommit(List.of(booking));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void holdSeatsBatch_lockedSeatsHeldTogether_unavailableRequestFailsAlone() {
+        var dsl = DSL.using(SQLDialect.DEFAULT);
+        var id = DSL.field("id", Long.class);
+        var gameIdField = DSL.field("game_id", Long.class);
+        var price = DSL.field("price", Long.class);
+        var status = DSL.field("status", String.class);
+        Result<Record4<Long, Long, Long, String>> locked = dsl.newResult(id, gameIdField, price, status);
+        locked.add(dsl.newRecord(id, gameIdField, price, status).values(1L, 10L, 50000L, "AVAILABLE"));
+        locked.add(dsl.newRecord(id, gameIdField, price, status).values(2L, 10L, 30000L, "AVAILABLE"));
+
+        var first = new BookingTransactionService.HoldRequest(100L, 10L, Set.of(1L, 2L));
+        var second = new BookingTransactionService.HoldRequest(200L, 10L, Set.of(3L));
+        when(seatJooqRepository.findByIdsForUpdateSkipLocked(Set.of(1L, 2L, 3L), "AVAILABLE")).thenReturn(locked);
+        when(seatJooqRepository.bulkUpdateStatus(Set.of(1L, 2L), "AVAILABLE", "HELD")).thenReturn(2);
+        when(bookingJooqRepository.insertHolds(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        var outcomes = transactionService.holdSeatsBatch(List.of(first, second));
+
+        assertThat(outcomes.get(0).booking().getTotalPrice()).isEqualTo(BigDecimal.valueOf(80000));
+        assertThat(outcomes.get(1).failure()).isInstanceOf(BusinessException.class);
+        verify(bookingEventProducer).publishHeldBatch(List.of(outcomes.get(0).booking()));
+        verify(holdExpiryQueue, times(1)).scheduleAfterCommit(any(), any());
+        verify(userBookingCounter).heldAfterCommit(List.of(outcomes.get(0).booking()));
     }
 
     @Test
@@ -130,4 +171,46 @@ class BookingTransactionServiceTest {
         verify(bookingEventProducer, never()).publishBookingCancelled(any());
         verify(seatJooqRepository, never()).bulkUpdateStatus(any(), any(), any());
     }
+
+    @Test
+    void releaseExpiredBatch_releasesSeatsAndPublishesInBulk() {
+        List<CancelledBooking> cancelled = List.of(
+                new CancelledBooking(1L, 100L, 10L, List.of(11L, 12L)),
+                new CancelledBooking(2L, 101L, 10L, List.of(13L)));
+        when(bookingJooqRepository.cancelExpired(100)).thenReturn(cancelled);
+        when(seatJooqRepository.releaseSeatsOfBookings(List.of(1L, 2L))).thenReturn(List.of(11L, 12L, 13L));
+
+        int released = transactionService.releaseExpiredBatch(100);
+
+        assertThat(released).isEqualTo(2);
+        verify(bookingEventProducer).publishBulkReleased(cancelled);
+        verify(userBookingCounter).releasedAfterCommit(cancelled);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void releaseExpiredBatch_nothingExpired_touchesNoSeats() {
+        when(bookingJooqRepository.cancelExpired(100)).thenReturn(List.of());
+
+        int released = transactionService.releaseExpiredBatch(100);
+
+        assertThat(released).isZero();
+        verify(seatJooqRepository, never()).releaseSeatsOfBookings(any());
+        verify(bookingEventProducer, never()).publishBulkReleased(any());
+    }
+
+    @Test
+    void releaseExpired_returnsStillPendingHoldsAsNotDue() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(30);
+        when(bookingJooqRepository.cancelExpired(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(new CancelledBooking(1L, 100L, 10L, List.of(11L))));
+        when(bookingJooqRepository.findPendingHoldExpiries(Set.of(2L, 3L)))
+                .thenReturn(Map.of(2L, expiresAt));
+
+        BookingTransactionService.BulkRelease result = transactionService.releaseExpired(List.of(1L, 2L, 3L));
+
+        assertThat(result.released()).isEqualTo(1);
+        assertThat(result.notDue()).containsExactly(Map.entry(2L, expiresAt));
+        verify(seatJooqRepository).releaseSeatsOfBookings(List.of(1L));
+    }
 }
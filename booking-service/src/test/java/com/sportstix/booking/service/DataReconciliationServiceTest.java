@@ -1,22 +1,24 @@
 package com.sportstix.booking.service;
 
-import com.sportstix.booking.TestFixtures;
-import com.sportstix.booking.domain.Booking;
-import com.sportstix.booking.domain.BookingStatus;
-import com.sportstix.booking.domain.LocalGameSeat;
+import com.sportstix.booking.config.BookingProperties;
 import com.sportstix.booking.event.producer.ResilientKafkaPublisher;
-import com.sportstix.booking.repository.BookingRepository;
-import com.sportstix.booking.repository.LocalGameSeatRepository;
+import com.sportstix.booking.jooq.BookingJooqRepository;
+import com.sportstix.booking.jooq.BookingJooqRepository.SeatMismatch;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import com.sportstix.booking.jooq.ReconciliationCheckpointJooqRepository;
+import com.sportstix.common.event.SeatEvent;
+import org.jooq.Record2;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,13 +29,17 @@ import static org.mockito.Mockito.*;
 class DataReconciliationServiceTest {
 
     @Mock
-    private BookingRepository bookingRepository;
+    private LocalGameSeatJooqRepository seatJooqRepository;
     @Mock
-    private LocalGameSeatRepository localGameSeatRepository;
+    private BookingJooqRepository bookingJooqRepository;
+    @Mock
+    private ReconciliationCheckpointJooqRepository checkpointRepository;
     @Mock
     private ResilientKafkaPublisher kafkaPublisher;
     @Mock
     private BookingTransactionService transactionService;
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
 
     @InjectMocks
     private DataReconciliationService reconciliationService;
@@ -41,152 +47,122 @@ class DataReconciliationServiceTest {
     // ---- reconcileStaleHeldSeats ----
 
     @Test
-    void reconcileStaleHeldSeats_noHeldSeats_returnsZero() {
-        when(localGameSeatRepository.findByStatus("HELD")).thenReturn(Collections.emptyList());
+    void reconcileStaleHeldSeats_noStaleSeats_returnsZeroAndResetsCheckpoint() {
+        when(checkpointRepository.load(DataReconciliationService.STALE_HELD_CHECKPOINT)).thenReturn(0L);
+        when(seatJooqRepository.releaseStaleHeldSeats(0L, 500)).thenReturn(seats());
 
         int result = reconciliationService.reconcileStaleHeldSeats();
 
         assertThat(result).isZero();
-        verify(localGameSeatRepository, never()).save(any());
+        verify(kafkaPublisher, never()).publish(any(), any(), any(), any());
+        verify(checkpointRepository).save(DataReconciliationService.STALE_HELD_CHECKPOINT, 0L);
     }
 
     @Test
-    void reconcileStaleHeldSeats_seatWithActiveBooking_notReleased() {
-        LocalGameSeat heldSeat = createSeat(100L, 10L, "HELD");
-        Booking pendingBooking = createBookingWithSeat(1L, 100L, BookingStatus.PENDING);
-
-        when(localGameSeatRepository.findByStatus("HELD")).thenReturn(List.of(heldSeat));
-        when(bookingRepository.findByStatusWithSeats(BookingStatus.PENDING)).thenReturn(List.of(pendingBooking));
+    void reconcileStaleHeldSeats_staleSeats_releasedWithOneEventPerGame() {
+        when(checkpointRepository.load(DataReconciliationService.STALE_HELD_CHECKPOINT)).thenReturn(0L);
+        when(seatJooqRepository.releaseStaleHeldSeats(0L, 500)).thenReturn(seats(100L, 200L));
 
         int result = reconciliationService.reconcileStaleHeldSeats();
 
-        assertThat(result).isZero();
-        verify(localGameSeatRepository, never()).save(any());
-        verify(kafkaPublisher, never()).publish(any(), any(), any(), any());
+        assertThat(result).isEqualTo(2);
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaPublisher, times(1)).publish(eq("ticket.seat.released"), eq("10"), event.capture(),
+                eq("reconcile-seat-released"));
+        assertThat(((SeatEvent) event.getValue()).allSeatIds()).containsExactly(100L, 200L);
     }
 
     @Test
-    void reconcileStaleHeldSeats_orphanedSeat_releasedAndEventPublished() {
-        LocalGameSeat heldSeat = createSeat(100L, 10L, "HELD");
-
-        when(localGameSeatRepository.findByStatus("HELD")).thenReturn(List.of(heldSeat));
-        when(bookingRepository.findByStatusWithSeats(BookingStatus.PENDING)).thenReturn(Collections.emptyList());
+    void reconcileStaleHeldSeats_perSeatShape_oneEventPerSeat() {
+        bookingProperties.getEvents().setShape(BookingProperties.Events.Shape.PER_SEAT);
+        when(checkpointRepository.load(DataReconciliationService.STALE_HELD_CHECKPOINT)).thenReturn(0L);
+        when(seatJooqRepository.releaseStaleHeldSeats(0L, 500)).thenReturn(seats(100L, 200L));
 
-        int result = reconciliationService.reconcileStaleHeldSeats();
+        reconciliationService.reconcileStaleHeldSeats();
 
-        assertThat(result).isEqualTo(1);
-        assertThat(heldSeat.getStatus()).isEqualTo("AVAILABLE");
-        verify(localGameSeatRepository).save(heldSeat);
-        verify(kafkaPublisher).publish(eq("ticket.seat.released"), eq("10"), any(), eq("reconcile-seat-released"));
+        verify(kafkaPublisher, times(2)).publish(eq("ticket.seat.released"), eq("10"), any(),
+                eq("reconcile-seat-released"));
     }
 
     @Test
-    void reconcileStaleHeldSeats_mixedSeats_onlyOrphanedReleased() {
-        LocalGameSeat orphanedSeat = createSeat(100L, 10L, "HELD");
-        LocalGameSeat activeSeat = createSeat(200L, 10L, "HELD");
-        Booking pendingBooking = createBookingWithSeat(1L, 200L, BookingStatus.PENDING);
-
-        when(localGameSeatRepository.findByStatus("HELD")).thenReturn(List.of(orphanedSeat, activeSeat));
-        when(bookingRepository.findByStatusWithSeats(BookingStatus.PENDING)).thenReturn(List.of(pendingBooking));
+    void reconcileStaleHeldSeats_fullPages_resumesFromCheckpointAndStopsAtMaxPages() {
+        bookingProperties.getReconciliation().setPageSize(2);
+        bookingProperties.getReconciliation().setMaxPagesPerRun(2);
+        when(checkpointRepository.load(DataReconciliationService.STALE_HELD_CHECKPOINT)).thenReturn(50L);
+        when(seatJooqRepository.releaseStaleHeldSeats(50L, 2)).thenReturn(seats(100L, 101L));
+        when(seatJooqRepository.releaseStaleHeldSeats(101L, 2)).thenReturn(seats(102L, 103L));
 
         int result = reconciliationService.reconcileStaleHeldSeats();
 
-        assertThat(result).isEqualTo(1);
-        assertThat(orphanedSeat.getStatus()).isEqualTo("AVAILABLE");
-        assertThat(activeSeat.getStatus()).isEqualTo("HELD");
-        verify(localGameSeatRepository, times(1)).save(orphanedSeat);
-        verify(localGameSeatRepository, never()).save(activeSeat);
+        assertThat(result).isEqualTo(4);
+        verify(seatJooqRepository, times(2)).releaseStaleHeldSeats(anyLong(), anyInt());
+        verify(checkpointRepository).save(DataReconciliationService.STALE_HELD_CHECKPOINT, 101L);
+        verify(checkpointRepository).save(DataReconciliationService.STALE_HELD_CHECKPOINT, 103L);
     }
 
     // ---- detectBookingSeatMismatch ----
 
     @Test
-    void detectBookingSeatMismatch_noConfirmedBookings_returnsZero() {
-        when(bookingRepository.findByStatusWithSeats(BookingStatus.CONFIRMED)).thenReturn(Collections.emptyList());
-
-        int result = reconciliationService.detectBookingSeatMismatch();
-
-        assertThat(result).isZero();
-    }
-
-    @Test
-    void detectBookingSeatMismatch_allSeatsReserved_returnsZero() {
-        Booking booking = createBookingWithSeat(1L, 100L, BookingStatus.CONFIRMED);
-        LocalGameSeat seat = createSeat(100L, 10L, "RESERVED");
-
-        when(bookingRepository.findByStatusWithSeats(BookingStatus.CONFIRMED)).thenReturn(List.of(booking));
-        when(localGameSeatRepository.findAllById(anyCollection())).thenReturn(List.of(seat));
+    void detectBookingSeatMismatch_noMismatches_returnsZero() {
+        when(checkpointRepository.load(DataReconciliationService.SEAT_MISMATCH_CHECKPOINT)).thenReturn(0L);
+        when(bookingJooqRepository.findConfirmedSeatMismatches(0L, 500)).thenReturn(List.of());
 
         int result = reconciliationService.detectBookingSeatMismatch();
 
         assertThat(result).isZero();
+        verify(checkpointRepository).save(DataReconciliationService.SEAT_MISMATCH_CHECKPOINT, 0L);
     }
 
     @Test
-    void detectBookingSeatMismatch_seatNotReserved_detectedAsMismatch() {
-        Booking booking = createBookingWithSeat(1L, 100L, BookingStatus.CONFIRMED);
-        LocalGameSeat seat = createSeat(100L, 10L, "AVAILABLE");
-
-        when(bookingRepository.findByStatusWithSeats(BookingStatus.CONFIRMED)).thenReturn(List.of(booking));
-        when(localGameSeatRepository.findAllById(anyCollection())).thenReturn(List.of(seat));
+    void detectBookingSeatMismatch_notReservedAndMissingSeats_countedAsMismatches() {
+        when(checkpointRepository.load(DataReconciliationService.SEAT_MISMATCH_CHECKPOINT)).thenReturn(0L);
+        when(bookingJooqRepository.findConfirmedSeatMismatches(0L, 500)).thenReturn(List.of(
+                new SeatMismatch(1L, 1L, 100L, "AVAILABLE"),
+                new SeatMismatch(2L, 2L, 101L, null)));
 
         int result = reconciliationService.detectBookingSeatMismatch();
 
-        assertThat(result).isEqualTo(1);
+        assertThat(result).isEqualTo(2);
     }
 
     @Test
-    void detectBookingSeatMismatch_missingSeat_detectedAsMismatch() {
-        Booking booking = createBookingWithSeat(1L, 100L, BookingStatus.CONFIRMED);
-
-        when(bookingRepository.findByStatusWithSeats(BookingStatus.CONFIRMED)).thenReturn(List.of(booking));
-        when(localGameSeatRepository.findAllById(anyCollection())).thenReturn(Collections.emptyList());
+    void detectBookingSeatMismatch_fullPage_savesLastIdAsCheckpoint() {
+        bookingProperties.getReconciliation().setPageSize(1);
+        bookingProperties.getReconciliation().setMaxPagesPerRun(1);
+        when(checkpointRepository.load(DataReconciliationService.SEAT_MISMATCH_CHECKPOINT)).thenReturn(7L);
+        when(bookingJooqRepository.findConfirmedSeatMismatches(7L, 1))
+                .thenReturn(List.of(new SeatMismatch(9L, 3L, 100L, "HELD")));
 
         int result = reconciliationService.detectBookingSeatMismatch();
 
         assertThat(result).isEqualTo(1);
+        verify(checkpointRepository).save(DataReconciliationService.SEAT_MISMATCH_CHECKPOINT, 9L);
     }
 
     // ---- reconcileExpiredPendingBookings ----
 
     @Test
     void reconcileExpiredPendingBookings_noExpired_returnsZero() {
-        when(bookingRepository.findByStatusAndHoldExpiresAtBefore(
-                eq(BookingStatus.PENDING), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(Collections.emptyList());
+        when(transactionService.releaseExpiredBatch(200)).thenReturn(0);
 
         int result = reconciliationService.reconcileExpiredPendingBookings();
 
         assertThat(result).isZero();
-        verify(transactionService, never()).releaseBookingById(any());
     }
 
     @Test
-    void reconcileExpiredPendingBookings_expiredBooking_cancelled() {
-        Booking expired = Booking.builder().userId(1L).gameId(10L).build();
-        // Use reflection to set ID for testing
-        TestFixtures.setEntityId(expired, 99L);
-
-        when(bookingRepository.findByStatusAndHoldExpiresAtBefore(
-                eq(BookingStatus.PENDING), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of(expired));
-        when(transactionService.releaseBookingById(99L)).thenReturn(expired);
+    void reconcileExpiredPendingBookings_expiredBookings_bulkCancelled() {
+        when(transactionService.releaseExpiredBatch(200)).thenReturn(3);
 
         int result = reconciliationService.reconcileExpiredPendingBookings();
 
-        assertThat(result).isEqualTo(1);
-        verify(transactionService).releaseBookingById(99L);
+        assertThat(result).isEqualTo(3);
+        verify(transactionService, never()).releaseBookingById(any());
     }
 
     @Test
     void reconcileExpiredPendingBookings_cancelFails_countsAsZero() {
-        Booking expired = Booking.builder().userId(1L).gameId(10L).build();
-        TestFixtures.setEntityId(expired, 99L);
-
-        when(bookingRepository.findByStatusAndHoldExpiresAtBefore(
-                eq(BookingStatus.PENDING), any(LocalDateTime.class), any(PageRequest.class)))
-                .thenReturn(List.of(expired));
-        when(transactionService.releaseBookingById(99L))
+        when(transactionService.releaseExpiredBatch(200))
                 .thenThrow(new RuntimeException("DB error"));
 
         int result = reconciliationService.reconcileExpiredPendingBookings();
@@ -197,20 +173,14 @@ class DataReconciliationServiceTest {
 
     // ---- Helpers ----
 
-    private LocalGameSeat createSeat(Long id, Long gameId, String status) {
-        LocalGameSeat seat = new LocalGameSeat(id, gameId, id, 1L,
-                BigDecimal.valueOf(50000), "A", 1);
-        // Set to HELD/RESERVED via domain methods
-        if ("HELD".equals(status)) {
-            seat.hold();
-        } else if ("RESERVED".equals(status)) {
-            seat.hold();
-            seat.reserve();
+    private Result<Record2<Long, Long>> seats(Long... seatIds) {
+        var dsl = DSL.using(SQLDialect.DEFAULT);
+        Result<Record2<Long, Long>> result = dsl.newResult(
+                DSL.field("id", Long.class), DSL.field("game_id", Long.class));
+        for (Long seatId : seatIds) {
+            result.add(dsl.newRecord(DSL.field("id", Long.class), DSL.field("game_id", Long.class))
+                    .values(seatId, 10L));
         }
-        return seat;
-    }
-
-    private Booking createBookingWithSeat(Long bookingId, Long seatId, BookingStatus targetStatus) {
-        return TestFixtures.createBookingWithSeat(bookingId, seatId, 1L, 10L, targetStatus);
+        return result;
     }
 }
@@ -0,0 +1,96 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.service.BookingTransactionService.HoldOutcome;
+import com.sportstix.booking.service.BookingTransactionService.HoldRequest;
+import com.sportstix.booking.service.HoldBatcher.PendingHold;
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldBatcherTest {
+
+    @Mock
+    private BookingTransactionService transactionService;
+
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private HoldBatcher holdBatcher;
+
+    @BeforeEach
+    void setUp() {
+        holdBatcher = new HoldBatcher(transactionService, bookingProperties);
+    }
+
+    @Test
+    void hold_notStarted_commitsDirectly() {
+        Booking booking = Booking.builder().userId(100L).gameId(10L).build();
+        when(transactionService.holdSeatsInTransaction(100L, 10L, Set.of(1L))).thenReturn(booking);
+
+        assertThat(holdBatcher.hold(100L, 10L, Set.of(1L))).isSameAs(booking);
+        verify(transactionService, never()).holdSeatsBatch(anyList());
+    }
+
+    @Test
+    void flush_contendedSeat_firstRequestWinsAndRestCommitTogether() {
+        PendingHold first = pending(100L, Set.of(1L, 2L));
+        PendingHold contender = pending(200L, Set.of(2L, 3L));
+        PendingHold other = pending(300L, Set.of(4L));
+        Booking firstBooking = Booking.builder().userId(100L).gameId(10L).build();
+        Booking otherBooking = Booking.builder().userId(300L).gameId(10L).build();
+        when(transactionService.holdSeatsBatch(List.of(first.request(), other.request())))
+                .thenReturn(List.of(new HoldOutcome(firstBooking, null), new HoldOutcome(otherBooking, null)));
+
+        holdBatcher.flush(List.of(first, contender, other));
+
+        assertThat(first.result()).isCompletedWithValue(firstBooking);
+        assertThat(other.result()).isCompletedWithValue(otherBooking);
+        assertThat(contender.result()).isCompletedExceptionally();
+        verify(transactionService, times(1)).holdSeatsBatch(anyList());
+    }
+
+    @Test
+    void flush_perRequestFailure_failsOnlyThatCaller() {
+        PendingHold ok = pending(100L, Set.of(1L));
+        PendingHold taken = pending(200L, Set.of(2L));
+        Booking booking = Booking.builder().userId(100L).gameId(10L).build();
+        BusinessException failure = new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE, "taken");
+        when(transactionService.holdSeatsBatch(anyList()))
+                .thenReturn(List.of(new HoldOutcome(booking, null), new HoldOutcome(null, failure)));
+
+        holdBatcher.flush(List.of(ok, taken));
+
+        assertThat(ok.result()).isCompletedWithValue(booking);
+        assertThatThrownBy(() -> taken.result().join()).hasCause(failure);
+    }
+
+    @Test
+    void flush_transactionFailure_failsWholeBatch() {
+        PendingHold a = pending(100L, Set.of(1L));
+        PendingHold b = pending(200L, Set.of(2L));
+        when(transactionService.holdSeatsBatch(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        holdBatcher.flush(List.of(a, b));
+
+        assertThat(a.result()).isCompletedExceptionally();
+        assertThat(b.result()).isCompletedExceptionally();
+    }
+
+    private static PendingHold pending(Long userId, Set<Long> seatIds) {
+        return new PendingHold(new HoldRequest(userId, 10L, seatIds), new CompletableFuture<>());
+    }
+}
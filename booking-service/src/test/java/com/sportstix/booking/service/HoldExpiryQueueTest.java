@@ -0,0 +1,68 @@
+package com.sportstix.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpiryQueueTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @InjectMocks
+    private HoldExpiryQueue holdExpiryQueue;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scheduleAfterCommit_noTransaction_addsWithExpiryScore() {
+        RScoredSortedSet<Object> zset = mock(RScoredSortedSet.class);
+        doReturn(zset).when(redissonClient).getScoredSortedSet("booking:hold-expiry", StringCodec.INSTANCE);
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
+
+        holdExpiryQueue.scheduleAfterCommit(1L, expiresAt);
+
+        double expectedScore = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        verify(zset).add(expectedScore, "1");
+    }
+
+    @Test
+    void schedule_redisFailure_isSwallowed() {
+        when(redissonClient.getScoredSortedSet(anyString(), any()))
+                .thenThrow(new RuntimeException("Redis down"));
+
+        holdExpiryQueue.schedule(1L, LocalDateTime.now());
+    }
+
+    @Test
+    void pollDue_returnsPoppedIds() {
+        RScript script = mock(RScript.class);
+        when(redissonClient.getScript(StringCodec.INSTANCE)).thenReturn(script);
+        when(script.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.MULTI),
+                eq(List.<Object>of("booking:hold-expiry")), any(), eq("100")))
+                .thenReturn(List.of("1", "2"));
+
+        assertThat(holdExpiryQueue.pollDue(100)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void pollDue_redisFailure_returnsEmpty() {
+        when(redissonClient.getScript(StringCodec.INSTANCE)).thenThrow(new RuntimeException("Redis down"));
+
+        assertThat(holdExpiryQueue.pollDue(100)).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.common.exception.BusinessException;
+import com.sportstix.common.response.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HoldHealthMonitorTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private HoldHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new HoldHealthMonitor(redisTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void publish_countsOverloadFailuresButNotSeatContention() {
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+
+        assertThat(monitor.record(() -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> monitor.record(() -> {
+            throw new BusinessException(ErrorCode.SEAT_NOT_AVAILABLE, "taken");
+        })).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> monitor.record(() -> {
+            throw new BusinessException(ErrorCode.LOCK_ACQUISITION_FAILED, "busy");
+        })).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> monitor.record(() -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        monitor.publish();
+        monitor.publish();
+
+        ArgumentCaptor<Object> value = ArgumentCaptor.forClass(Object.class);
+        verify(hashOperations, times(2)).put(eq("booking:health"), anyString(), value.capture());
+        assertThat(((String) value.getAllValues().get(0)).split(",")).endsWith("4", "2");
+        assertThat(((String) value.getAllValues().get(1)).split(",")).endsWith("0", "0");
+    }
+
+    @Test
+    void publish_redisFailure_isSwallowed() {
+        given(redisTemplate.opsForHash()).willThrow(new RuntimeException("Redis down"));
+
+        monitor.publish();
+    }
+}
@@ -0,0 +1,68 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.LocalGame;
+import com.sportstix.booking.repository.LocalGameRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalGameCacheTest {
+
+    @Mock
+    private LocalGameRepository localGameRepository;
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
+
+    @InjectMocks
+    private LocalGameCache localGameCache;
+
+    @Test
+    void find_cachesRulesUntilEvicted() {
+        when(localGameRepository.findById(10L)).thenReturn(Optional.of(game(4)), Optional.of(game(2)));
+
+        assertThat(localGameCache.find(10L).map(LocalGameCache.GameRules::maxTicketsPerUser)).contains(4);
+        assertThat(localGameCache.find(10L).map(LocalGameCache.GameRules::maxTicketsPerUser)).contains(4);
+        verify(localGameRepository, times(1)).findById(10L);
+
+        localGameCache.evict(10L);
+
+        assertThat(localGameCache.find(10L).map(LocalGameCache.GameRules::maxTicketsPerUser)).contains(2);
+    }
+
+    @Test
+    void find_unknownGame_isNotCached() {
+        when(localGameRepository.findById(10L)).thenReturn(Optional.empty(), Optional.of(game(4)));
+
+        assertThat(localGameCache.find(10L)).isEmpty();
+        assertThat(localGameCache.find(10L)).isPresent();
+    }
+
+    @Test
+    void find_expiredEntry_reloads() {
+        bookingProperties.getGameCache().setTtlMs(0);
+        when(localGameRepository.findById(10L)).thenReturn(Optional.of(game(4)));
+
+        localGameCache.find(10L);
+        localGameCache.find(10L);
+
+        verify(localGameRepository, times(2)).findById(10L);
+    }
+
+    private static LocalGame game(int maxTickets) {
+        return new LocalGame(10L, "Home", "Away",
+                LocalDateTime.of(2025, 6, 15, 19, 0),
+                LocalDateTime.of(2025, 6, 10, 10, 0),
+                "OPEN", maxTickets);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sportstix.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatAdmissionGateTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SeatAdmissionGate gate = new SeatAdmissionGate(meterRegistry);
+
+    @Test
+    void tryAdmit_freeSeats_admits() {
+        SeatAdmissionGate.Admission admission = gate.tryAdmit(Set.of(1L, 2L));
+
+        assertThat(admission).isNotNull();
+        assertThat(gate.inFlightCount()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAdmit_overlappingSeat_rejectsAndRollsBackPartialClaim() {
+        gate.tryAdmit(Set.of(2L));
+
+        SeatAdmissionGate.Admission second = gate.tryAdmit(List.of(1L, 2L, 3L));
+
+        assertThat(second).isNull();
+        assertThat(gate.inFlightCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("booking.seat.admission.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void release_freesSeatsForNextRequest() {
+        SeatAdmissionGate.Admission first = gate.tryAdmit(Set.of(1L));
+        gate.release(first);
+
+        assertThat(gate.tryAdmit(Set.of(1L))).isNotNull();
+    }
+
+    @Test
+    void release_doesNotFreeSeatsClaimedByOtherAdmission() {
+        SeatAdmissionGate.Admission first = gate.tryAdmit(Set.of(1L));
+        SeatAdmissionGate.Admission second = gate.tryAdmit(Set.of(2L, 3L));
+
+        gate.release(second);
+
+        assertThat(gate.inFlightCount()).isEqualTo(1);
+        assertThat(gate.tryAdmit(Set.of(1L))).isNull();
+        gate.release(first);
+        assertThat(gate.tryAdmit(Set.of(1L))).isNotNull();
+    }
+
+    @Test
+    void release_nullFromRejectedAdmit_isNoOp() {
+        gate.tryAdmit(Set.of(1L));
+        SeatAdmissionGate.Admission rejected = gate.tryAdmit(Set.of(1L));
+
+        gate.release(rejected);
+
+        assertThat(rejected).isNull();
+        assertThat(gate.inFlightCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sportstix.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatAvailabilityIndexTest {
+
+    private final SeatAvailabilityIndex index = new SeatAvailabilityIndex();
+
+    @Test
+    void anyTaken_unknownGame_returnsFalse() {
+        assertThat(index.anyTaken(1L, Set.of(1L))).isFalse();
+    }
+
+    @Test
+    void load_marksTakenSeats() {
+        index.load(1L, List.of(10L, 11L, 12L), List.of(11L));
+
+        assertThat(index.anyTaken(1L, Set.of(10L))).isFalse();
+        assertThat(index.anyTaken(1L, Set.of(10L, 11L))).isTrue();
+    }
+
+    @Test
+    void anyTaken_unknownSeat_returnsFalse() {
+        index.load(1L, List.of(10L, 11L), List.of(10L, 11L));
+
+        assertThat(index.anyTaken(1L, Set.of(999L))).isFalse();
+    }
+
+    @Test
+    void markTakenAndAvailable_locateGameBySeatId() {
+        index.load(1L, List.of(10L, 11L), List.of());
+        index.load(2L, List.of(20L, 21L), List.of());
+
+        index.markTaken(List.of(11L, 20L));
+        assertThat(index.anyTaken(1L, Set.of(11L))).isTrue();
+        assertThat(index.anyTaken(2L, Set.of(20L))).isTrue();
+        assertThat(index.anyTaken(2L, Set.of(21L))).isFalse();
+
+        index.markAvailable(List.of(11L));
+        assertThat(index.anyTaken(1L, Set.of(10L, 11L))).isFalse();
+    }
+
+    @Test
+    void bitmap_spansMultipleWords() {
+        List<Long> seatIds = LongStream.rangeClosed(1, 25_000).boxed().toList();
+        index.load(1L, seatIds, List.of(64L, 65L, 25_000L));
+
+        assertThat(index.anyTaken(1L, Set.of(63L))).isFalse();
+        assertThat(index.anyTaken(1L, Set.of(64L))).isTrue();
+        assertThat(index.anyTaken(1L, Set.of(65L))).isTrue();
+        assertThat(index.anyTaken(1L, Set.of(24_999L))).isFalse();
+        assertThat(index.anyTaken(1L, Set.of(25_000L))).isTrue();
+    }
+
+    @Test
+    void resync_replacesTakenSet() {
+        index.load(1L, List.of(10L, 11L, 12L), List.of(10L));
+
+        boolean resynced = index.resync(1L, () -> List.of(12L));
+
+        assertThat(resynced).isTrue();
+        assertThat(index.anyTaken(1L, Set.of(10L))).isFalse();
+        assertThat(index.anyTaken(1L, Set.of(12L))).isTrue();
+    }
+
+    @Test
+    void resync_keepsTransitionsAppliedWhileSnapshotIsRead() {
+        index.load(1L, List.of(10L, 11L, 12L), List.of(10L));
+
+        // Snapshot still sees 10 taken and 11 free; both changed after it was read
+        index.resync(1L, () -> {
+            index.markAvailable(List.of(10L));
+            index.markTaken(List.of(11L));
+            return List.of(10L, 12L);
+        });
+
+        assertThat(index.isTaken(1L, 10L)).isFalse();
+        assertThat(index.isTaken(1L, 11L)).isTrue();
+        assertThat(index.isTaken(1L, 12L)).isTrue();
+    }
+
+    @Test
+    void resync_unknownGame_returnsFalse() {
+        assertThat(index.resync(1L, () -> List.of(10L))).isFalse();
+    }
+
+    @Test
+    void evict_removesGame() {
+        index.load(1L, List.of(10L), List.of(10L));
+        index.evict(1L);
+
+        assertThat(index.isIndexed(1L)).isFalse();
+        assertThat(index.anyTaken(1L, Set.of(10L))).isFalse();
+    }
+}
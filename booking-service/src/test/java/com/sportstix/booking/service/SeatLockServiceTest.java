@@ -1,12 +1,16 @@
 package com.sportstix.booking.service;
 
 import com.sportstix.common.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
+import org.redisson.api.RScript;
 import org.redisson.api.RedissonClient;
 
 import java.util.List;
@@ -24,6 +28,9 @@ class SeatLockServiceTest {
     @Mock
     private RedissonClient redissonClient;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private SeatLockService seatLockService;
 
@@ -73,4 +80,58 @@ class SeatLockServiceTest {
         verify(lock1).unlock();
         verify(lock2, never()).unlock();
     }
+
+    @Test
+    void acquireLocks_recordsPerSeatLatency() throws InterruptedException {
+        RLock lock1 = mock(RLock.class);
+        when(redissonClient.getLock("lock:seat:1")).thenReturn(lock1);
+        when(lock1.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+
+        seatLockService.acquireLocks(Set.of(1L));
+
+        assertThat(meterRegistry.find("booking.seat.lock.acquire")
+                .tag("mode", "per-seat").tag("outcome", "acquired").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquireBatchLock_success_claimsSortedKeysInOneCall() {
+        RScript script = mock(RScript.class);
+        when(redissonClient.getScript(any())).thenReturn(script);
+        when(script.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.INTEGER),
+                anyList(), any(), any())).thenReturn(0L);
+
+        SeatLockService.BatchLock lock = seatLockService.acquireBatchLock(Set.of(3L, 1L, 2L));
+
+        assertThat(lock.keys()).containsExactly("lock:seat:1", "lock:seat:2", "lock:seat:3");
+        assertThat(lock.owner()).isNotBlank();
+        verify(script, times(1)).eval(any(RScript.Mode.class), anyString(),
+                any(RScript.ReturnType.class), anyList(), any(), any());
+        assertThat(meterRegistry.find("booking.seat.lock.acquire")
+                .tag("mode", "batch").tag("outcome", "acquired").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquireBatchLock_seatBusyUntilTimeout_throws() {
+        RScript script = mock(RScript.class);
+        when(redissonClient.getScript(any())).thenReturn(script);
+        when(script.eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.INTEGER),
+                anyList(), any(), any())).thenReturn(2L);
+
+        assertThatThrownBy(() -> seatLockService.acquireBatchLock(Set.of(1L, 2L)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Failed to acquire lock for seat: 2");
+    }
+
+    @Test
+    void releaseBatchLock_releasesByOwnerInOneCall() {
+        RScript script = mock(RScript.class);
+        when(redissonClient.getScript(any())).thenReturn(script);
+        SeatLockService.BatchLock lock = new SeatLockService.BatchLock(
+                List.of("lock:seat:1", "lock:seat:2"), "owner-1");
+
+        seatLockService.releaseBatchLock(lock);
+
+        verify(script).eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.INTEGER),
+                eq(lock.keys()), eq("owner-1"), any());
+    }
 }
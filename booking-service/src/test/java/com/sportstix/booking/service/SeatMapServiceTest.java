@@ -0,0 +1,177 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.dto.response.SeatMapResponse;
+import com.sportstix.booking.jooq.LocalGameSeatJooqRepository;
+import com.sportstix.booking.repository.LocalGameRepository;
+import com.sportstix.booking.service.SeatMapCache.DeltaPage;
+import com.sportstix.booking.service.SeatMapCache.SeatDelta;
+import com.sportstix.booking.service.SeatMapCache.SeatLayout;
+import com.sportstix.booking.service.SeatMapCache.SectionSnapshot;
+import com.sportstix.common.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapServiceTest {
+
+    @Mock
+    private SeatMapCache seatMapCache;
+    @Mock
+    private LocalGameSeatJooqRepository seatJooqRepository;
+    @Mock
+    private LocalGameRepository localGameRepository;
+    @Mock
+    private RedissonClient redissonClient;
+
+    private SeatMapService seatMapService;
+
+    @BeforeEach
+    void setUp() {
+        seatMapService = new SeatMapService(seatMapCache, seatJooqRepository, localGameRepository,
+                redissonClient, new BookingProperties());
+    }
+
+    @Test
+    void getSectionSeatMap_builtWithoutVersion_returnsSnapshot() {
+        SeatLayout seat = new SeatLayout(10L, 1L, "A", 1, 50000L, "AVAILABLE");
+        when(seatMapCache.isBuilt(1L)).thenReturn(true);
+        when(seatMapCache.snapshot(1L, 1L)).thenReturn(Optional.of(new SectionSnapshot(7L, List.of(seat))));
+
+        SeatMapResponse response = seatMapService.getSectionSeatMap(1L, 1L, null);
+
+        assertThat(response.full()).isTrue();
+        assertThat(response.version()).isEqualTo(7L);
+        assertThat(response.seats()).extracting(SeatMapResponse.SeatInfo::gameSeatId).containsExactly(10L);
+        verifyNoInteractions(seatJooqRepository, redissonClient);
+    }
+
+    @Test
+    void getSectionSeatMap_withVersion_returnsSectionDeltasOnly() {
+        when(seatMapCache.isBuilt(1L)).thenReturn(true);
+        when(seatMapCache.deltasSince(1L, 5L)).thenReturn(Optional.of(new DeltaPage(7L, false, List.of(
+                new SeatDelta(6L, 1L, 10L, "HELD"),
+                new SeatDelta(7L, 2L, 20L, "HELD")))));
+
+        SeatMapResponse response = seatMapService.getSectionSeatMap(1L, 1L, 5L);
+
+        assertThat(response.full()).isFalse();
+        assertThat(response.version()).isEqualTo(7L);
+        assertThat(response.deltas()).extracting(SeatMapResponse.SeatDelta::gameSeatId).containsExactly(10L);
+        verify(seatMapCache, never()).snapshot(anyLong(), anyLong());
+    }
+
+    @Test
+    void getSectionSeatMap_deltaGap_fallsBackToSnapshot() {
+        when(seatMapCache.isBuilt(1L)).thenReturn(true);
+        when(seatMapCache.deltasSince(1L, 5L)).thenReturn(Optional.of(new DeltaPage(20_000L, true, List.of())));
+        when(seatMapCache.snapshot(1L, 1L)).thenReturn(Optional.of(new SectionSnapshot(20_000L, List.of())));
+
+        SeatMapResponse response = seatMapService.getSectionSeatMap(1L, 1L, 5L);
+
+        assertThat(response.full()).isTrue();
+        assertThat(response.version()).isEqualTo(20_000L);
+    }
+
+    @Test
+    void getSectionSeatMap_notBuilt_buildsOnceUnderLock() throws InterruptedException {
+        RLock lock = mock(RLock.class);
+        List<SeatLayout> layout = List.of(new SeatLayout(10L, 1L, "A", 1, 50000L, "AVAILABLE"));
+        when(seatMapCache.isBuilt(1L)).thenReturn(false, false);
+        when(localGameRepository.existsById(1L)).thenReturn(true);
+        when(redissonClient.getLock("lock:seatmap:build:1")).thenReturn(lock);
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+        when(seatJooqRepository.findSeatMapByGame(1L)).thenReturn(layout);
+        when(seatMapCache.snapshot(1L, 1L)).thenReturn(Optional.of(new SectionSnapshot(0L, layout)));
+
+        seatMapService.getSectionSeatMap(1L, 1L, null);
+
+        verify(seatMapCache).build(1L, layout);
+        verify(lock).unlock();
+    }
+
+    @Test
+    void getSectionSeatMap_seatChangedDuringBuild_isAppliedAfterPublish() throws InterruptedException {
+        RLock lock = mock(RLock.class);
+        List<SeatLayout> layout = List.of(new SeatLayout(10L, 1L, "A", 1, 50000L, "AVAILABLE"));
+        SeatMapCache.SeatState held = new SeatMapCache.SeatState(1L, 1L, 10L, "HELD");
+        List<SeatMapCache.SeatState> dbStates = new java.util.ArrayList<>(
+                List.of(new SeatMapCache.SeatState(1L, 1L, 10L, "AVAILABLE")));
+        when(seatMapCache.isBuilt(1L)).thenReturn(false, false);
+        when(localGameRepository.existsById(1L)).thenReturn(true);
+        when(redissonClient.getLock("lock:seatmap:build:1")).thenReturn(lock);
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+        when(seatJooqRepository.findSeatMapByGame(1L)).thenReturn(layout);
+        // A hold commits after the snapshot read; its apply reaches Redis before the version is published
+        doAnswer(invocation -> {
+            seatMapCache.apply(List.of(held));
+            dbStates.set(0, held);
+            return 1L;
+        }).when(seatMapCache).build(1L, layout);
+        when(seatJooqRepository.findSeatStatesByGame(1L)).thenAnswer(invocation -> List.copyOf(dbStates));
+        when(seatMapCache.snapshot(1L, 1L)).thenReturn(Optional.of(new SectionSnapshot(2L, layout)));
+
+        seatMapService.getSectionSeatMap(1L, 1L, null);
+
+        InOrder order = inOrder(seatMapCache, seatJooqRepository);
+        order.verify(seatJooqRepository).findSeatMapByGame(1L);
+        order.verify(seatMapCache).build(1L, layout);
+        order.verify(seatJooqRepository).findSeatStatesByGame(1L);
+        order.verify(seatMapCache).apply(List.of(held));
+    }
+
+    @Test
+    void getSectionSeatMap_builtByAnotherPodWhileWaiting_skipsBuild() throws InterruptedException {
+        RLock lock = mock(RLock.class);
+        when(seatMapCache.isBuilt(1L)).thenReturn(false, true);
+        when(localGameRepository.existsById(1L)).thenReturn(true);
+        when(redissonClient.getLock("lock:seatmap:build:1")).thenReturn(lock);
+        when(lock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(lock.isHeldByCurrentThread()).thenReturn(true);
+        when(seatMapCache.snapshot(1L, 1L)).thenReturn(Optional.of(new SectionSnapshot(3L, List.of())));
+
+        seatMapService.getSectionSeatMap(1L, 1L, null);
+
+        verify(seatMapCache, never()).build(anyLong(), any());
+        verifyNoInteractions(seatJooqRepository);
+    }
+
+    @Test
+    void getSectionSeatMap_unknownGame_throws() {
+        when(seatMapCache.isBuilt(99L)).thenReturn(false);
+        when(localGameRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> seatMapService.getSectionSeatMap(99L, 1L, null))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(redissonClient);
+    }
+
+    @Test
+    void resync_appliesDbStatesInChunks() {
+        List<SeatMapCache.SeatState> states = java.util.stream.LongStream.rangeClosed(1, 5001)
+                .mapToObj(id -> new SeatMapCache.SeatState(1L, 1L, id, "AVAILABLE"))
+                .toList();
+        when(seatJooqRepository.findSeatStatesByGame(1L)).thenReturn(states);
+
+        seatMapService.resync(1L);
+
+        verify(seatMapCache, times(2)).apply(anyList());
+    }
+}
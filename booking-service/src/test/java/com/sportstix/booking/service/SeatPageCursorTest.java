@@ -0,0 +1,23 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatPageCursorTest {
+
+    @Test
+    void encodeDecode_roundTrips() {
+        SeatPageCursor cursor = new SeatPageCursor("A:1", 12, 345L);
+
+        assertThat(SeatPageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_invalidCursor_throws() {
+        assertThatThrownBy(() -> SeatPageCursor.decode("not a cursor"))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.domain.SeatStatusChangedEvent;
+import com.sportstix.booking.websocket.SeatDeltaBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SeatStatusChangeListenerTest {
+
+    @Mock
+    private SeatMapCache seatMapCache;
+    @Mock
+    private SeatDeltaBroadcaster seatDeltaBroadcaster;
+
+    private final SeatAvailabilityIndex availabilityIndex = new SeatAvailabilityIndex();
+    private SeatStatusChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex.load(1L, List.of(1L, 2L, 3L), List.of());
+        listener = new SeatStatusChangeListener(availabilityIndex, seatMapCache, seatDeltaBroadcaster);
+    }
+
+    @Test
+    void onSeatStatusChanged_appliesTransitionsToSeatMapAndBroadcast() {
+        listener.onSeatStatusChanged(event("HELD", true, 2L));
+
+        List<SeatMapCache.SeatState> changes = List.of(new SeatMapCache.SeatState(1L, 10L, 2L, "HELD"));
+        verify(seatMapCache).apply(changes);
+        verify(seatDeltaBroadcaster).enqueue(changes);
+    }
+
+    @Test
+    void onSeatStatusChanged_syncsAvailabilityIndex() {
+        listener.onSeatStatusChanged(event("HELD", true, 1L, 2L));
+        assertThat(availabilityIndex.anyTaken(1L, Set.of(1L))).isTrue();
+
+        listener.onSeatStatusChanged(event("AVAILABLE", false, 1L, 2L));
+        assertThat(availabilityIndex.anyTaken(1L, Set.of(1L, 2L))).isFalse();
+    }
+
+    @Test
+    void onSeatStatusChanged_partialTake_doesNotMarkIndex() {
+        listener.onSeatStatusChanged(event("HELD", false, 1L));
+
+        assertThat(availabilityIndex.anyTaken(1L, Set.of(1L))).isFalse();
+    }
+
+    private static SeatStatusChangedEvent event(String newStatus, boolean complete, Long... seatIds) {
+        List<SeatStatusChangedEvent.Seat> seats = Arrays.stream(seatIds)
+                .map(id -> new SeatStatusChangedEvent.Seat(1L, 10L, id))
+                .toList();
+        return new SeatStatusChangedEvent(seats, newStatus, complete);
+    }
+}
@@ -0,0 +1,103 @@
+package com.sportstix.booking.service;
+
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.domain.Booking;
+import com.sportstix.booking.jooq.BookingJooqRepository.CancelledBooking;
+import com.sportstix.booking.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RKeys;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBookingCounterTest {
+
+    private static final String KEY = "booking:active-count:10:100";
+
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Spy
+    private BookingProperties bookingProperties = new BookingProperties();
+
+    @InjectMocks
+    private UserBookingCounter counter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void count_cached_skipsDb() {
+        RBucket<Object> bucket = mock(RBucket.class);
+        doReturn(bucket).when(redissonClient).getBucket(KEY, StringCodec.INSTANCE);
+        when(bucket.get()).thenReturn("2");
+
+        assertThat(counter.count(100L, 10L)).isEqualTo(2);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void count_miss_seedsFromDb() {
+        RBucket<Object> bucket = mock(RBucket.class);
+        doReturn(bucket).when(redissonClient).getBucket(KEY, StringCodec.INSTANCE);
+        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(eq(100L), eq(10L), any())).thenReturn(3L);
+
+        assertThat(counter.count(100L, 10L)).isEqualTo(3);
+        verify(bucket).trySet("3", 600L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void count_redisFailure_fallsBackToDb() {
+        when(redissonClient.getBucket(KEY, StringCodec.INSTANCE)).thenThrow(new RuntimeException("Redis down"));
+        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(eq(100L), eq(10L), any())).thenReturn(1L);
+
+        assertThat(counter.count(100L, 10L)).isEqualTo(1);
+    }
+
+    @Test
+    void count_disabled_countsInDb() {
+        bookingProperties.getBookingCounter().setEnabled(false);
+        when(bookingRepository.countByUserIdAndGameIdAndStatusIn(eq(100L), eq(10L), any())).thenReturn(1L);
+
+        assertThat(counter.count(100L, 10L)).isEqualTo(1);
+        verifyNoInteractions(redissonClient);
+    }
+
+    @Test
+    void heldAfterCommit_noTransaction_mergesDeltasPerUserAndGame() {
+        RScript script = mock(RScript.class);
+        when(redissonClient.getScript(StringCodec.INSTANCE)).thenReturn(script);
+
+        counter.heldAfterCommit(List.of(
+                Booking.builder().userId(100L).gameId(10L).build(),
+                Booking.builder().userId(100L).gameId(10L).build()));
+
+        verify(script).eval(eq(RScript.Mode.READ_WRITE), anyString(), eq(RScript.ReturnType.INTEGER),
+                eq(List.<Object>of(KEY)), eq("2"));
+    }
+
+    @Test
+    void releasedAfterCommit_adjustFails_dropsCounters() {
+        when(redissonClient.getScript(StringCodec.INSTANCE)).thenThrow(new RuntimeException("Redis down"));
+        RKeys keys = mock(RKeys.class);
+        when(redissonClient.getKeys()).thenReturn(keys);
+
+        counter.releasedAfterCommit(List.of(new CancelledBooking(1L, 100L, 10L, List.of(11L))));
+
+        verify(keys).delete(KEY);
+    }
+}
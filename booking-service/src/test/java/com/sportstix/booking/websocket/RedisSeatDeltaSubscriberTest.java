@@ -0,0 +1,54 @@
+package com.sportstix.booking.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.booking.dto.response.SeatDeltaMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSeatDeltaSubscriberTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RedisSeatDeltaSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        subscriber = new RedisSeatDeltaSubscriber(messagingTemplate, objectMapper);
+    }
+
+    @Test
+    void onMessage_sendsToSectionTopic() throws Exception {
+        SeatDeltaMessage message = new SeatDeltaMessage(1L, 10L,
+                List.of(new SeatDeltaMessage.SeatChange(100L, "HELD")));
+
+        subscriber.onMessage(objectMapper.writeValueAsString(message));
+
+        ArgumentCaptor<SeatDeltaMessage> captor = ArgumentCaptor.forClass(SeatDeltaMessage.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/seats/1/10"), captor.capture());
+        assertThat(captor.getValue()).isEqualTo(message);
+    }
+
+    @Test
+    void onMessage_invalidJson_doesNotSend() {
+        subscriber.onMessage("not-json");
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+}
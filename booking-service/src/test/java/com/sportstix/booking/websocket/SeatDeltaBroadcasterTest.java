@@ -0,0 +1,88 @@
+package com.sportstix.booking.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.booking.config.BookingProperties;
+import com.sportstix.booking.config.RedisPubSubConfig;
+import com.sportstix.booking.dto.response.SeatDeltaMessage;
+import com.sportstix.booking.service.SeatMapCache.SeatState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatDeltaBroadcasterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BookingProperties bookingProperties = new BookingProperties();
+    private SeatDeltaBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new SeatDeltaBroadcaster(redisTemplate, objectMapper, bookingProperties);
+    }
+
+    @Test
+    void flush_coalescesLatestStatusPerSeatIntoOneMessagePerSection() throws Exception {
+        broadcaster.enqueue(List.of(
+                new SeatState(1L, 10L, 100L, "HELD"),
+                new SeatState(1L, 20L, 200L, "HELD")));
+        broadcaster.enqueue(List.of(new SeatState(1L, 10L, 100L, "RESERVED")));
+
+        broadcaster.flush();
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(RedisPubSubConfig.SEAT_DELTA_CHANNEL), json.capture());
+        List<SeatDeltaMessage> messages = json.getAllValues().stream()
+                .map(this::read)
+                .sorted(Comparator.comparing(SeatDeltaMessage::sectionId))
+                .toList();
+        assertThat(messages.get(0).changes())
+                .containsExactly(new SeatDeltaMessage.SeatChange(100L, "RESERVED"));
+        assertThat(messages.get(1).changes())
+                .containsExactly(new SeatDeltaMessage.SeatChange(200L, "HELD"));
+    }
+
+    @Test
+    void flush_nothingPending_publishesNothing() {
+        broadcaster.enqueue(List.of(new SeatState(1L, 10L, 100L, "HELD")));
+        broadcaster.flush();
+        clearInvocations(redisTemplate);
+
+        broadcaster.flush();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void enqueue_disabled_ignoresChanges() {
+        bookingProperties.getSeatFeed().setEnabled(false);
+
+        broadcaster.enqueue(List.of(new SeatState(1L, 10L, 100L, "HELD")));
+        broadcaster.flush();
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private SeatDeltaMessage read(String json) {
+        try {
+            return objectMapper.readValue(json, SeatDeltaMessage.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -53,6 +53,18 @@ public class KafkaTopicConfig {
         return buildDlt(Topics.BOOKING_CANCELLED, Topics.PARTITIONS_BOOKING);
     }
 
+    // Commands are request/reply: a failed command is answered, never retried or dead-lettered
+
+    @Bean
+    public NewTopic bookingCommandsTopic() {
+        return buildTopic(Topics.BOOKING_COMMANDS, Topics.PARTITIONS_BOOKING);
+    }
+
+    @Bean
+    public NewTopic bookingCommandRepliesTopic() {
+        return buildTopic(Topics.BOOKING_COMMAND_REPLIES, Topics.PARTITIONS_BOOKING);
+    }
+
     // -- Seat topics: 8 partitions (same as booking, tightly coupled) --
 
     @Bean
@@ -22,4 +22,12 @@ public abstract class BaseTimeEntity {
     @LastModifiedDate
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    /**
+     * For rows inserted outside JPA, where the auditing listener does not run.
+     */
+    protected void initTimestamps(LocalDateTime now) {
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
 }
@@ -1,11 +1,23 @@
 package com.sportstix.common.event;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+/**
+ * Booking lifecycle event.
+ *
+ * Schema versions:
+ * - v1 (per-seat): one event per booked seat, seat in {@code seatId}.
+ *   Payloads without {@code schemaVersion} deserialize as v1.
+ * - v2 (aggregate): one event per booking, all seats in {@code seatIds}.
+ * Consumers must accept both during the compatibility window; use
+ * {@link #allSeatIds()} to read seats regardless of version.
+ */
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class BookingEvent extends DomainEvent {
@@ -14,10 +26,15 @@ public class BookingEvent extends DomainEvent {
     public static final String TYPE_CONFIRMED = "BOOKING_CONFIRMED";
     public static final String TYPE_CANCELLED = "BOOKING_CANCELLED";
 
+    public static final int SCHEMA_PER_SEAT = 1;
+    public static final int SCHEMA_AGGREGATE = 2;
+
+    private int schemaVersion = SCHEMA_PER_SEAT;
     private Long bookingId;
     private Long userId;
     private Long gameId;
     private Long seatId;
+    private List<Long> seatIds;
     private BigDecimal totalPrice;
 
     private BookingEvent(String eventType, Long bookingId, Long userId,
@@ -30,6 +47,17 @@ public class BookingEvent extends DomainEvent {
         this.totalPrice = totalPrice;
     }
 
+    private BookingEvent(String eventType, Long bookingId, Long userId,
+                         Long gameId, List<Long> seatIds, BigDecimal totalPrice) {
+        super(eventType);
+        this.schemaVersion = SCHEMA_AGGREGATE;
+        this.bookingId = bookingId;
+        this.userId = userId;
+        this.gameId = gameId;
+        this.seatIds = List.copyOf(seatIds);
+        this.totalPrice = totalPrice;
+    }
+
     public static BookingEvent created(Long bookingId, Long userId,
                                        Long gameId, Long seatId, BigDecimal totalPrice) {
         return new BookingEvent(TYPE_CREATED, bookingId, userId, gameId, seatId, totalPrice);
@@ -42,4 +70,32 @@ public class BookingEvent extends DomainEvent {
     public static BookingEvent cancelled(Long bookingId, Long userId, Long gameId, Long seatId) {
         return new BookingEvent(TYPE_CANCELLED, bookingId, userId, gameId, seatId, null);
     }
+
+    public static BookingEvent created(Long bookingId, Long userId,
+                                       Long gameId, List<Long> seatIds, BigDecimal totalPrice) {
+        return new BookingEvent(TYPE_CREATED, bookingId, userId, gameId, seatIds, totalPrice);
+    }
+
+    public static BookingEvent confirmed(Long bookingId, Long userId, Long gameId, List<Long> seatIds) {
+        return new BookingEvent(TYPE_CONFIRMED, bookingId, userId, gameId, seatIds, null);
+    }
+
+    public static BookingEvent cancelled(Long bookingId, Long userId, Long gameId, List<Long> seatIds) {
+        return new BookingEvent(TYPE_CANCELLED, bookingId, userId, gameId, seatIds, null);
+    }
+
+    @JsonIgnore
+    public boolean isAggregate() {
+        return schemaVersion >= SCHEMA_AGGREGATE;
+    }
+
+    /**
+     * Seats covered by this event: all booking seats (v2) or the single seat (v1).
+     */
+    public List<Long> allSeatIds() {
+        if (isAggregate()) {
+            return seatIds != null ? seatIds : List.of();
+        }
+        return seatId != null ? List.of(seatId) : List.of();
+    }
 }
@@ -1,9 +1,18 @@
 package com.sportstix.common.event;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
+/**
+ * Seat hold/release event.
+ *
+ * Same versioning as {@link BookingEvent}: v1 carries one seat in {@code seatId},
+ * v2 carries all seats of a booking in {@code seatIds}. Read seats with {@link #allSeatIds()}.
+ */
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class SeatEvent extends DomainEvent {
@@ -11,8 +20,10 @@ public class SeatEvent extends DomainEvent {
     public static final String TYPE_HELD = "SEAT_HELD";
     public static final String TYPE_RELEASED = "SEAT_RELEASED";
 
+    private int schemaVersion = BookingEvent.SCHEMA_PER_SEAT;
     private Long gameId;
     private Long seatId;
+    private List<Long> seatIds;
     private Long userId;
 
     private SeatEvent(String eventType, Long gameId, Long seatId, Long userId) {
@@ -22,6 +33,14 @@ public class SeatEvent extends DomainEvent {
         this.userId = userId;
     }
 
+    private SeatEvent(String eventType, Long gameId, List<Long> seatIds, Long userId) {
+        super(eventType);
+        this.schemaVersion = BookingEvent.SCHEMA_AGGREGATE;
+        this.gameId = gameId;
+        this.seatIds = List.copyOf(seatIds);
+        this.userId = userId;
+    }
+
     public static SeatEvent held(Long gameId, Long seatId, Long userId) {
         return new SeatEvent(TYPE_HELD, gameId, seatId, userId);
     }
@@ -29,4 +48,24 @@ public class SeatEvent extends DomainEvent {
     public static SeatEvent released(Long gameId, Long seatId, Long userId) {
         return new SeatEvent(TYPE_RELEASED, gameId, seatId, userId);
     }
+
+    public static SeatEvent held(Long gameId, List<Long> seatIds, Long userId) {
+        return new SeatEvent(TYPE_HELD, gameId, seatIds, userId);
+    }
+
+    public static SeatEvent released(Long gameId, List<Long> seatIds, Long userId) {
+        return new SeatEvent(TYPE_RELEASED, gameId, seatIds, userId);
+    }
+
+    @JsonIgnore
+    public boolean isAggregate() {
+        return schemaVersion >= BookingEvent.SCHEMA_AGGREGATE;
+    }
+
+    public List<Long> allSeatIds() {
+        if (isAggregate()) {
+            return seatIds != null ? seatIds : List.of();
+        }
+        return seatId != null ? List.of(seatId) : List.of();
+    }
 }
@@ -14,6 +14,9 @@ public final class Topics {
     public static final String BOOKING_CREATED = "ticket.booking.created";
     public static final String BOOKING_CONFIRMED = "ticket.booking.confirmed";
     public static final String BOOKING_CANCELLED = "ticket.booking.cancelled";
+    // Single-writer mode: commands keyed by gameId, replies correlated by ReplyingKafkaTemplate
+    public static final String BOOKING_COMMANDS = "ticket.booking.commands";
+    public static final String BOOKING_COMMAND_REPLIES = "ticket.booking.command-replies";
 
     // Seat
     public static final String SEAT_HELD = "ticket.seat.held";
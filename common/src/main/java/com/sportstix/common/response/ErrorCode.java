@@ -34,6 +34,7 @@ public enum ErrorCode {
     BOOKING_NOT_FOUND(404, "B003", "Booking not found"),
     BOOKING_EXPIRED(400, "B004", "Booking has expired"),
     LOCK_ACQUISITION_FAILED(409, "B005", "Failed to acquire lock"),
+    TICKET_LIMIT_EXCEEDED(400, "B006", "Exceeds max tickets per user"),
 
     // Payment
     PAYMENT_FAILED(400, "P001", "Payment processing failed"),
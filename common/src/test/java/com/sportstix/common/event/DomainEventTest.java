@@ -1,8 +1,11 @@
 package com.sportstix.common.event;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -21,6 +24,51 @@ class DomainEventTest {
         assertThat(event.getOccurredAt()).isNotNull();
     }
 
+    @Test
+    void bookingEvent_aggregate_carriesAllSeats() {
+        BookingEvent event = BookingEvent.created(1L, 100L, 200L, List.of(300L, 301L), BigDecimal.valueOf(100000));
+
+        assertThat(event.getSchemaVersion()).isEqualTo(BookingEvent.SCHEMA_AGGREGATE);
+        assertThat(event.isAggregate()).isTrue();
+        assertThat(event.getSeatId()).isNull();
+        assertThat(event.allSeatIds()).containsExactly(300L, 301L);
+    }
+
+    @Test
+    void bookingEvent_perSeat_allSeatIdsReturnsSingleSeat() {
+        BookingEvent event = BookingEvent.confirmed(1L, 100L, 200L, 300L);
+
+        assertThat(event.getSchemaVersion()).isEqualTo(BookingEvent.SCHEMA_PER_SEAT);
+        assertThat(event.allSeatIds()).containsExactly(300L);
+    }
+
+    @Test
+    void bookingEvent_legacyPayloadWithoutVersion_deserializesAsPerSeat() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        String legacy = """
+                {"eventId":"e1","eventType":"BOOKING_CREATED","bookingId":1,"userId":100,
+                 "gameId":200,"seatId":300,"totalPrice":50000}
+                """;
+
+        BookingEvent event = objectMapper.readValue(legacy, BookingEvent.class);
+
+        assertThat(event.isAggregate()).isFalse();
+        assertThat(event.allSeatIds()).containsExactly(300L);
+    }
+
+    @Test
+    void bookingEvent_aggregate_roundTripsThroughJson() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        BookingEvent event = BookingEvent.cancelled(1L, 100L, 200L, List.of(300L, 301L));
+
+        String json = objectMapper.writeValueAsString(event);
+        BookingEvent read = objectMapper.readValue(json, BookingEvent.class);
+
+        assertThat(json).doesNotContain("\"aggregate\"");
+        assertThat(read.getSchemaVersion()).isEqualTo(BookingEvent.SCHEMA_AGGREGATE);
+        assertThat(read.allSeatIds()).containsExactly(300L, 301L);
+    }
+
     @Test
     void paymentEvent_completed_hasCorrectFields() {
         PaymentEvent event = PaymentEvent.completed(1L, 2L, 100L, BigDecimal.valueOf(50000));
@@ -41,6 +89,15 @@ class DomainEventTest {
         assertThat(event.getUserId()).isEqualTo(100L);
     }
 
+    @Test
+    void seatEvent_aggregate_carriesAllSeats() {
+        SeatEvent event = SeatEvent.released(200L, List.of(300L, 301L), 100L);
+
+        assertThat(event.getEventType()).isEqualTo("SEAT_RELEASED");
+        assertThat(event.isAggregate()).isTrue();
+        assertThat(event.allSeatIds()).containsExactly(300L, 301L);
+    }
+
     @Test
     void queueEvent_tokenIssued_hasToken() {
         QueueEvent event = QueueEvent.tokenIssued(200L, 100L, "abc-token");
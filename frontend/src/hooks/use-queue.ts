@@ -9,6 +9,7 @@ import { useQueueStore } from "@/stores";
 import { useAuthStore } from "@/stores";
 import type {
   ApiResponse,
+  QueueHeadMessage,
   QueueStatusResponse,
   QueueUpdateMessage,
 } from "@/types";
@@ -36,6 +37,7 @@ export function useQueueEnter() {
           totalWaiting: res.data.totalWaiting,
           estimatedWaitSeconds: res.data.estimatedWaitSeconds,
           token: res.data.token,
+          head: res.data.head,
         });
       }
     },
@@ -64,6 +66,7 @@ export function useQueueStatus() {
           totalWaiting: res.data.totalWaiting,
           estimatedWaitSeconds: res.data.estimatedWaitSeconds,
           token: res.data.token,
+          head: res.data.head,
         });
       }
     },
@@ -133,16 +136,11 @@ export function useQueueWebSocket(gameId: number) {
         handleMessage
       );
 
-      // Public topic (general stats - uses getState for fresh data)
-      const publicSub = subscribe<QueueUpdateMessage>(
+      // Public topic: one head message per tick; position is derived locally
+      const publicSub = subscribe<QueueHeadMessage>(
         client,
         `/topic/queue/${gameId}`,
-        (msg) => {
-          const current = useQueueStore.getState();
-          if (current.status === "WAITING" && msg.totalWaiting != null) {
-            useQueueStore.setState({ totalWaiting: msg.totalWaiting });
-          }
-        }
+        (msg) => useQueueStore.getState().advanceHead(msg)
       );
 
       subscriptionsRef.current = [personalSub, publicSub];
@@ -1,5 +1,5 @@
 import { create } from "zustand";
-import type { QueueStatus } from "@/types";
+import type { QueueHeadMessage, QueueStatus } from "@/types";
 
 interface QueueState {
   gameId: number | null;
@@ -8,6 +8,9 @@ interface QueueState {
   totalWaiting: number | null;
   estimatedWaitSeconds: number | null;
   token: string | null;
+  /** rank and queue head from the last status response; position = rank - (head - anchorHead) */
+  anchorRank: number | null;
+  anchorHead: number | null;
   connected: boolean;
 
   setGameId: (gameId: number) => void;
@@ -17,7 +20,9 @@ interface QueueState {
     totalWaiting: number | null;
     estimatedWaitSeconds: number | null;
     token: string | null;
+    head?: number | null;
   }) => void;
+  advanceHead: (msg: QueueHeadMessage) => void;
   setConnected: (connected: boolean) => void;
   reset: () => void;
 }
@@ -29,10 +34,12 @@ const initialState = {
   totalWaiting: null,
   estimatedWaitSeconds: null,
   token: null,
+  anchorRank: null,
+  anchorHead: null,
   connected: false,
 };
 
-export const useQueueStore = create<QueueState>()((set) => ({
+export const useQueueStore = create<QueueState>()((set, get) => ({
   ...initialState,
 
   setGameId: (gameId) => set({ gameId }),
@@ -44,8 +51,29 @@ export const useQueueStore = create<QueueState>()((set) => ({
       totalWaiting: data.totalWaiting,
       estimatedWaitSeconds: data.estimatedWaitSeconds,
       token: data.token,
+      ...(data.head != null && data.rank != null
+        ? { anchorRank: data.rank, anchorHead: data.head }
+        : {}),
     }),
 
+  advanceHead: (msg) => {
+    const { status, anchorRank, anchorHead } = get();
+    if (status !== "WAITING") return;
+    if (anchorRank == null || anchorHead == null) {
+      set({ totalWaiting: msg.totalWaiting });
+      return;
+    }
+    const rank = Math.max(1, anchorRank - (msg.head - anchorHead));
+    set({
+      rank,
+      totalWaiting: msg.totalWaiting,
+      estimatedWaitSeconds:
+        msg.admitRatePerSecond > 0
+          ? Math.ceil(rank / msg.admitRatePerSecond)
+          : null,
+    });
+  },
+
   setConnected: (connected) => set({ connected }),
 
   reset: () => set(initialState),
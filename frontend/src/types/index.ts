@@ -21,6 +21,7 @@ export type {
   QueueEnterRequest,
   QueueStatusResponse,
   QueueUpdateMessage,
+  QueueHeadMessage,
 } from "./queue";
 export type {
   SeatStatus,
@@ -11,6 +11,7 @@ export interface QueueStatusResponse {
   totalWaiting: number | null;
   estimatedWaitSeconds: number | null;
   token: string | null;
+  head: number | null;
 }
 
 export interface QueueUpdateMessage {
@@ -22,3 +23,11 @@ export interface QueueUpdateMessage {
   estimatedWaitSeconds: number | null;
   token: string | null;
 }
+
+/** Per-game progress on /topic/queue/{gameId}; head counts users admitted so far. */
+export interface QueueHeadMessage {
+  gameId: number;
+  head: number;
+  totalWaiting: number;
+  admitRatePerSecond: number;
+}
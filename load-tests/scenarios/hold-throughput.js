@@ -0,0 +1,70 @@
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+import { TEST_GAME_ID } from '../lib/config.js';
+
+/**
+ * Hold throughput benchmark: platform threads vs virtual threads in booking-service.
+ *
+ * Hits booking-service directly (bypassing the gateway and auth) with 1k concurrent
+ * users holding and cancelling random seats, so the score is holds/sec of the
+ * Redis lock -> DB hold path only. Run once per mode and compare `holds_succeeded`:
+ *
+ *   BOOKING_VIRTUAL_THREADS_ENABLED=false -> k6 run -e MODE=platform scenarios/hold-throughput.js
+ *   BOOKING_VIRTUAL_THREADS_ENABLED=true  -> k6 run -e MODE=virtual  scenarios/hold-throughput.js
+ *
+ * Start booking-service with -Djdk.tracePinnedThreads=short in virtual mode to
+ * surface any carrier-thread pinning during the run.
+ */
+const BOOKING_URL = __ENV.BOOKING_URL || 'http://localhost:8084';
+const MODE = __ENV.MODE || 'platform';
+const VUS = parseInt(__ENV.VUS || '1000');
+const SEAT_ID_MIN = parseInt(__ENV.SEAT_ID_MIN || '1');
+const SEAT_ID_MAX = parseInt(__ENV.SEAT_ID_MAX || '5000');
+
+const holdsSucceeded = new Counter('holds_succeeded');
+const holdsRejected = new Counter('holds_rejected');
+
+export const options = {
+  scenarios: {
+    hold_throughput: {
+      executor: 'constant-vus',
+      vus: VUS,
+      duration: __ENV.DURATION || '2m',
+      tags: { mode: MODE },
+    },
+  },
+  thresholds: {
+    'http_req_duration{name:hold_seats}': ['p(95)<3000'],
+    holds_succeeded: ['rate>0'],
+  },
+};
+
+export default function () {
+  const headers = {
+    'Content-Type': 'application/json',
+    'X-User-Id': `${100000 + __VU}`,
+  };
+  const seatId = SEAT_ID_MIN + Math.floor(Math.random() * (SEAT_ID_MAX - SEAT_ID_MIN + 1));
+
+  const holdRes = http.post(
+    `${BOOKING_URL}/api/v1/bookings/hold`,
+    JSON.stringify({ gameId: TEST_GAME_ID, gameSeatIds: [seatId] }),
+    { headers, tags: { name: 'hold_seats' } }
+  );
+
+  const held = check(holdRes, { 'hold seats success': (r) => r.status === 201 });
+  if (!held) {
+    // 409 (seat taken / in flight) and 503 (lock timeout) count as rejected holds
+    holdsRejected.add(1);
+    return;
+  }
+  holdsSucceeded.add(1);
+
+  // Cancel right away so seats keep cycling and the per-user ticket limit is not hit
+  const bookingId = JSON.parse(holdRes.body).data?.id;
+  if (bookingId) {
+    http.post(`${BOOKING_URL}/api/v1/bookings/${bookingId}/cancel`, null,
+      { headers, tags: { name: 'cancel_booking' } });
+  }
+}
@@ -13,6 +13,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Consumes booking events to sync local_bookings replica in payment_db.
+ * Accepts both event shapes: v2 (one event per booking) and v1 (one event per seat,
+ * so a booking-created may arrive several times for the same booking).
  */
 @Slf4j
 @Component
@@ -30,8 +32,15 @@ public class BookingEventConsumer {
             return;
         }
 
-        log.info("Received booking-created event: bookingId={}, userId={}, gameId={}",
-                event.getBookingId(), event.getUserId(), event.getGameId());
+        log.info("Received booking-created event: bookingId={}, userId={}, gameId={}, seats={}",
+                event.getBookingId(), event.getUserId(), event.getGameId(), event.allSeatIds());
+
+        if (localBookingRepository.existsById(event.getBookingId())) {
+            // v1 per-seat fan-out: the replica was created by an earlier seat's event
+            idempotencyService.markProcessed(event.getEventId(), Topics.BOOKING_CREATED);
+            log.debug("Local booking replica already exists: bookingId={}", event.getBookingId());
+            return;
+        }
 
         LocalBooking localBooking = new LocalBooking(
                 event.getBookingId(),
@@ -13,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -58,6 +59,30 @@ class BookingEventConsumerTest {
         verify(idempotencyService, never()).markProcessed(any(), any());
     }
 
+    @Test
+    void handleBookingCreated_aggregateEvent_createsLocalBookingOnce() {
+        BookingEvent event = BookingEvent.created(1L, 100L, 10L, List.of(50L, 51L), BigDecimal.valueOf(100000));
+        given(idempotencyService.isDuplicate(event.getEventId(), Topics.BOOKING_CREATED)).willReturn(false);
+
+        consumer.handleBookingCreated(event);
+
+        ArgumentCaptor<LocalBooking> captor = ArgumentCaptor.forClass(LocalBooking.class);
+        verify(localBookingRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getTotalPrice()).isEqualTo(BigDecimal.valueOf(100000));
+    }
+
+    @Test
+    void handleBookingCreated_perSeatFanOut_doesNotOverwriteExistingReplica() {
+        BookingEvent secondSeat = BookingEvent.created(1L, 100L, 10L, 51L, BigDecimal.valueOf(100000));
+        given(idempotencyService.isDuplicate(secondSeat.getEventId(), Topics.BOOKING_CREATED)).willReturn(false);
+        given(localBookingRepository.existsById(1L)).willReturn(true);
+
+        consumer.handleBookingCreated(secondSeat);
+
+        verify(localBookingRepository, never()).save(any());
+        verify(idempotencyService).markProcessed(secondSeat.getEventId(), Topics.BOOKING_CREATED);
+    }
+
     @Test
     void handleBookingConfirmed_updatesStatus() {
         LocalBooking existing = new LocalBooking(1L, 100L, 10L, "PENDING", null);
@@ -14,4 +14,30 @@ public class QueueProperties {
     private int batchSize = 100;
     private int tokenTtlSeconds = 600;
     private long processIntervalMs = 3000;
+    /** Lease on a game's processing (and pod liveness window); must exceed one tick */
+    private long ownerLeaseMs = 10_000;
+    /** Max users holding a live entrance token per game; admission pauses at the cap. 0 = unlimited */
+    private long maxActivePerGame = 0;
+    private Admission admission = new Admission();
+
+    @Getter
+    @Setter
+    public static class Admission {
+        /** Adapt the per-tick batch to booking-service health (AIMD); off admits batch-size every tick */
+        private boolean enabled = true;
+        private int minBatchSize = 10;
+        private int maxBatchSize = 500;
+        /** Added to the batch after a healthy tick */
+        private int increaseStep = 10;
+        /** Batch multiplier after an unhealthy tick */
+        private double decreaseFactor = 0.5;
+        /** Booking hold p99 above which admission backs off */
+        private long targetHoldP99Ms = 500;
+        /** Overload error share of holds above which admission backs off */
+        private double maxErrorRate = 0.05;
+        /** Health entries older than this are ignored; with none left the batch holds steady */
+        private long signalMaxAgeMs = 5000;
+        /** Active users per game at which the batch stops growing; 0 disables */
+        private long activeSoftLimit = 0;
+    }
 }
@@ -12,15 +12,18 @@ import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 public class RedisPubSubConfig {
 
     public static final String QUEUE_UPDATE_CHANNEL = "ws:broadcast:queue-update";
+    public static final String QUEUE_HEAD_CHANNEL = "ws:broadcast:queue-head";
 
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            MessageListenerAdapter queueMessageListenerAdapter
+            MessageListenerAdapter queueMessageListenerAdapter,
+            MessageListenerAdapter queueHeadListenerAdapter
     ) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         container.addMessageListener(queueMessageListenerAdapter, new PatternTopic(QUEUE_UPDATE_CHANNEL));
+        container.addMessageListener(queueHeadListenerAdapter, new PatternTopic(QUEUE_HEAD_CHANNEL));
         return container;
     }
 
@@ -28,4 +31,9 @@ public class RedisPubSubConfig {
     public MessageListenerAdapter queueMessageListenerAdapter(RedisQueueMessageSubscriber subscriber) {
         return new MessageListenerAdapter(subscriber, "onMessage");
     }
+
+    @Bean
+    public MessageListenerAdapter queueHeadListenerAdapter(RedisQueueMessageSubscriber subscriber) {
+        return new MessageListenerAdapter(subscriber, "onHeadMessage");
+    }
 }
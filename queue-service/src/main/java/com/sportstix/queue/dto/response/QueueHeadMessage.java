@@ -0,0 +1,16 @@
+package com.sportstix.queue.dto.response;
+
+/**
+ * Per-game queue progress, sent once per tick to the game topic.
+ *
+ * head counts every user admitted to the game so far. A client that got
+ * rank R when head was H is now at about R - (head - H); users leaving
+ * ahead of it only make that an overestimate until the next status poll.
+ */
+public record QueueHeadMessage(
+        Long gameId,
+        long head,
+        long totalWaiting,
+        double admitRatePerSecond
+) {
+}
@@ -6,13 +6,19 @@ public record QueueStatusResponse(
         Long rank,
         Long totalWaiting,
         Integer estimatedWaitSeconds,
-        String token
+        String token,
+        Long head
 ) {
-    public static QueueStatusResponse waiting(Long gameId, long rank, long totalWaiting, int estimatedWaitSeconds) {
-        return new QueueStatusResponse(gameId, "WAITING", rank, totalWaiting, estimatedWaitSeconds, null);
+    /**
+     * head is the game's admitted-so-far count when rank was read; clients
+     * track their position from it via QueueHeadMessage.
+     */
+    public static QueueStatusResponse waiting(Long gameId, long rank, long totalWaiting, int estimatedWaitSeconds,
+                                              long head) {
+        return new QueueStatusResponse(gameId, "WAITING", rank, totalWaiting, estimatedWaitSeconds, null, head);
     }
 
     public static QueueStatusResponse eligible(Long gameId, String token) {
-        return new QueueStatusResponse(gameId, "ELIGIBLE", null, null, null, token);
+        return new QueueStatusResponse(gameId, "ELIGIBLE", null, null, null, token, null);
     }
 }
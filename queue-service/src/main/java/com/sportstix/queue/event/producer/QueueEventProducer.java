@@ -2,11 +2,14 @@ package com.sportstix.queue.event.producer;
 
 import com.sportstix.common.event.QueueEvent;
 import com.sportstix.common.event.Topics;
+import com.sportstix.queue.service.QueueService.AdmittedUser;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -25,14 +28,21 @@ public class QueueEventProducer {
                 });
     }
 
-    public void publishTokenIssued(Long gameId, Long userId, String token) {
-        QueueEvent event = QueueEvent.tokenIssued(gameId, userId, token);
-        kafkaTemplate.send(Topics.QUEUE_TOKEN_ISSUED, String.valueOf(gameId), event)
-                .whenComplete((result, ex) -> {
-                    if (ex != null) {
-                        log.error("Failed to publish token-issued event gameId={}, userId={}: {}",
-                                gameId, userId, ex.getMessage());
-                    }
-                });
+    /**
+     * Token-issued events for an admitted batch. All share the game key, so the
+     * producer packs them into one record batch instead of one request per user.
+     */
+    public void publishTokensIssued(Long gameId, List<AdmittedUser> admitted) {
+        String key = String.valueOf(gameId);
+        for (AdmittedUser user : admitted) {
+            QueueEvent event = QueueEvent.tokenIssued(gameId, user.userId(), user.token());
+            kafkaTemplate.send(Topics.QUEUE_TOKEN_ISSUED, key, event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("Failed to publish token-issued event gameId={}, userId={}: {}",
+                                    gameId, user.userId(), ex.getMessage());
+                        }
+                    });
+        }
     }
 }
@@ -0,0 +1,159 @@
+package com.sportstix.queue.scheduler;
+
+import com.sportstix.queue.config.QueueProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Distributes queue processing of active games across queue-service pods.
+ *
+ * Pods heartbeat into a ZSET; each game is preferred by one live pod via
+ * rendezvous hashing, and that pod processes it only while holding the game's
+ * lease in Redis. A pod releases leases of games that now hash elsewhere, so
+ * on scale-out a game moves on the next tick; a crashed pod's games move once
+ * its lease expires. Overlap during a handover is harmless (batch admission is
+ * atomic), it only admits an extra batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueOwnership {
+
+    private static final String PODS_KEY = "queue:pods";
+    private static final String OWNER_KEY_PREFIX = "queue:owner:";
+
+    // KEYS = owner keys, ARGV[1] = pod id, ARGV[2] = lease ms
+    // Returns the 1-based indexes of the keys this pod holds after the call
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = RedisScript.of(
+            "local owned = {} " +
+            "for i = 1, #KEYS do " +
+            "  local owner = redis.call('get', KEYS[i]) " +
+            "  if owner == ARGV[1] then " +
+            "    redis.call('pexpire', KEYS[i], ARGV[2]) " +
+            "    owned[#owned + 1] = i " +
+            "  elseif not owner then " +
+            "    redis.call('set', KEYS[i], ARGV[1], 'PX', ARGV[2]) " +
+            "    owned[#owned + 1] = i " +
+            "  end " +
+            "end " +
+            "return owned", List.class);
+
+    // KEYS = owner keys, ARGV[1] = pod id
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "local released = 0 " +
+            "for i = 1, #KEYS do " +
+            "  if redis.call('get', KEYS[i]) == ARGV[1] then " +
+            "    redis.call('del', KEYS[i]) " +
+            "    released = released + 1 " +
+            "  end " +
+            "end " +
+            "return released", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final QueueProperties queueProperties;
+
+    private final String podId = UUID.randomUUID().toString();
+    private volatile List<String> ownedKeys = List.of();
+
+    /**
+     * Heartbeats this pod and returns the games it owns for this tick.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> claimOwnedGames(Collection<Long> gameIds) {
+        List<String> livePods = heartbeat();
+
+        List<Long> preferred = new ArrayList<>();
+        List<String> handedOff = new ArrayList<>();
+        for (Long gameId : gameIds) {
+            if (podId.equals(preferredOwner(gameId, livePods))) {
+                preferred.add(gameId);
+            } else {
+                handedOff.add(ownerKey(gameId));
+            }
+        }
+        if (!handedOff.isEmpty()) {
+            redisTemplate.execute(RELEASE_SCRIPT, handedOff, podId);
+        }
+        if (preferred.isEmpty()) {
+            ownedKeys = List.of();
+            return List.of();
+        }
+
+        List<String> keys = preferred.stream().map(QueueOwnership::ownerKey).toList();
+        List<Long> claimed = redisTemplate.execute(CLAIM_SCRIPT, keys,
+                podId, String.valueOf(queueProperties.getOwnerLeaseMs()));
+        List<Long> owned = new ArrayList<>();
+        if (claimed != null) {
+            for (Long index : claimed) {
+                owned.add(preferred.get(index.intValue() - 1));
+            }
+        }
+        ownedKeys = owned.stream().map(QueueOwnership::ownerKey).toList();
+        return owned;
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            redisTemplate.opsForZSet().remove(PODS_KEY, podId);
+            if (!ownedKeys.isEmpty()) {
+                redisTemplate.execute(RELEASE_SCRIPT, ownedKeys, podId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to release queue ownership on shutdown; leases will expire", e);
+        }
+    }
+
+    private List<String> heartbeat() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(PODS_KEY, podId, now);
+        redisTemplate.opsForZSet().removeRangeByScore(PODS_KEY, 0, now - queueProperties.getOwnerLeaseMs());
+        Set<String> pods = redisTemplate.opsForZSet().range(PODS_KEY, 0, -1);
+        return pods == null || pods.isEmpty() ? List.of(podId) : new ArrayList<>(pods);
+    }
+
+    /**
+     * Rendezvous (highest random weight) hashing: adding or removing a pod only
+     * moves the games that pod wins or held.
+     */
+    static String preferredOwner(Long gameId, Collection<String> pods) {
+        String best = null;
+        long bestWeight = Long.MIN_VALUE;
+        for (String pod : pods) {
+            long weight = mix(pod.hashCode() * 0x9E3779B97F4A7C15L ^ gameId);
+            if (best == null || weight > bestWeight) {
+                best = pod;
+                bestWeight = weight;
+            }
+        }
+        return best;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    String podId() {
+        return podId;
+    }
+
+    private static String ownerKey(Long gameId) {
+        return OWNER_KEY_PREFIX + gameId;
+    }
+}
@@ -1,22 +1,37 @@
 package com.sportstix.queue.scheduler;
 
 import com.sportstix.queue.config.QueueProperties;
+import com.sportstix.queue.dto.response.QueueHeadMessage;
 import com.sportstix.queue.dto.response.QueueUpdateMessage;
 import com.sportstix.queue.event.producer.QueueEventProducer;
+import com.sportstix.queue.service.AdaptiveAdmission;
 import com.sportstix.queue.service.QueueService;
-import com.sportstix.queue.service.TokenService;
 import com.sportstix.queue.websocket.QueueBroadcastService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Periodically processes the queue by popping batches of users,
- * issuing entrance tokens, and publishing Kafka events.
+ * Periodically processes the queue by admitting batches of users
+ * (pop, token issue and activation in one Redis script), then publishing
+ * Kafka events and token messages for the batch and one head message for
+ * everyone still waiting.
+ *
+ * Games are spread across pods by QueueOwnership; each owned game is
+ * processed on its own virtual thread and the tick waits for all of them.
+ * Batch sizes come from AdaptiveAdmission, which follows booking-service health.
  */
 @Slf4j
 @Component
@@ -24,13 +39,18 @@ import java.util.Set;
 public class QueueProcessScheduler {
 
     private static final String ACTIVE_GAMES_KEY = "queue:active-games";
+    private static final String TICK_TIMER = "queue.process.tick";
 
     private final QueueService queueService;
-    private final TokenService tokenService;
     private final QueueEventProducer queueEventProducer;
     private final QueueBroadcastService broadcastService;
     private final QueueProperties queueProperties;
     private final StringRedisTemplate redisTemplate;
+    private final QueueOwnership queueOwnership;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveAdmission adaptiveAdmission;
+
+    private final ExecutorService gameExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Scheduled(fixedDelayString = "${queue.process-interval-ms:3000}")
     public void processQueues() {
@@ -39,66 +59,76 @@ public class QueueProcessScheduler {
             return;
         }
 
+        List<Long> gameIds = new ArrayList<>(activeGameIds.size());
         for (String gameIdStr : activeGameIds) {
             try {
-                Long gameId = Long.parseLong(gameIdStr);
-                processGameQueue(gameId);
-            } catch (Exception e) {
-                log.error("Failed to process queue for game {}: {}", gameIdStr, e.getMessage(), e);
+                gameIds.add(Long.parseLong(gameIdStr));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed active game id: {}", gameIdStr);
             }
         }
-    }
 
-    private void processGameQueue(Long gameId) {
-        Set<String> batch = queueService.popNextBatch(gameId);
-        if (batch == null || batch.isEmpty()) {
+        List<Long> owned = queueOwnership.claimOwnedGames(gameIds);
+        if (owned.isEmpty()) {
             return;
         }
 
-        int issued = 0;
-        for (String userIdStr : batch) {
-            Long userId = Long.parseLong(userIdStr);
-            String token = tokenService.issueToken(gameId, userId);
-            queueService.addToActive(gameId, userId);
-            queueEventProducer.publishTokenIssued(gameId, userId, token);
-
-            // Notify user via WebSocket that they are now eligible
-            broadcastService.broadcastUpdate(QueueUpdateMessage.eligible(gameId, userId, token));
-            issued++;
+        List<Callable<Void>> tasks = new ArrayList<>(owned.size());
+        for (Long gameId : owned) {
+            tasks.add(() -> {
+                processOwnedGame(gameId);
+                return null;
+            });
+        }
+        try {
+            gameExecutor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-
-        Long remaining = queueService.getQueueSize(gameId);
-        log.info("Game {} queue: issued {} tokens, {} remaining", gameId, issued, remaining);
-
-        // Broadcast updated positions to remaining users
-        broadcastRemainingPositions(gameId);
     }
 
-    private void broadcastRemainingPositions(Long gameId) {
-        Long total = queueService.getQueueSize(gameId);
-        if (total == null || total == 0) {
-            return;
+    private void processOwnedGame(Long gameId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            processGameQueue(gameId);
+        } catch (Exception e) {
+            log.error("Failed to process queue for game {}: {}", gameId, e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder(TICK_TIMER)
+                    .tag("gameId", String.valueOf(gameId))
+                    .register(meterRegistry));
         }
+    }
+
+    private void processGameQueue(Long gameId) {
+        int batchSize = adaptiveAdmission.nextBatchSize(gameId);
 
-        Set<String> remaining = queueService.peekBatch(gameId, Math.min(total, 1000));
-        if (remaining == null || remaining.isEmpty()) {
+        // One Lua round trip pops the batch, issues tokens and marks users active
+        QueueService.AdmittedBatch batch = queueService.admitNextBatch(gameId, batchSize);
+        List<QueueService.AdmittedUser> admitted = batch.users();
+        adaptiveAdmission.admitted(gameId, batchSize, admitted.size());
+        if (admitted.isEmpty()) {
             return;
         }
 
-        long rank = 1;
-        int batchSize = queueProperties.getBatchSize();
-        long intervalMs = queueProperties.getProcessIntervalMs();
+        queueEventProducer.publishTokensIssued(gameId, admitted);
 
-        for (String userIdStr : remaining) {
-            Long userId = Long.parseLong(userIdStr);
-            long batchesAhead = rank / batchSize;
-            int waitSeconds = (int) (batchesAhead * intervalMs / 1000);
+        // Notify users via WebSocket that they are now eligible
+        broadcastService.broadcastUpdates(admitted.stream()
+                .map(user -> QueueUpdateMessage.eligible(gameId, user.userId(), user.token()))
+                .toList());
 
-            broadcastService.broadcastUpdate(
-                    QueueUpdateMessage.waiting(gameId, userId, rank, total, waitSeconds)
-            );
-            rank++;
-        }
+        Long remaining = queueService.getQueueSize(gameId);
+        log.info("Game {} queue: issued {} tokens, {} remaining", gameId, admitted.size(), remaining);
+
+        // One message for all waiting users; each derives its position from the head
+        double admitRate = admitted.size() * 1000.0 / queueProperties.getProcessIntervalMs();
+        broadcastService.broadcastHead(new QueueHeadMessage(gameId, batch.head(), remaining, admitRate));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        gameExecutor.shutdownNow();
     }
 
     public void activateGame(Long gameId) {
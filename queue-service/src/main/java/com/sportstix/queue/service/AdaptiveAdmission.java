@@ -0,0 +1,158 @@
+package com.sportstix.queue.service;
+
+import com.sportstix.queue.config.QueueProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sizes each game's admission batch from booking-service health (AIMD).
+ *
+ * Booking pods publish hold p99 and overload error counts to the booking:health
+ * hash. While the worst pod is under the p99 target and the error rate is low,
+ * the batch grows by a fixed step (only if the last batch was used up, so an idle
+ * queue does not ratchet to the max); otherwise it is cut multiplicatively.
+ * Without a fresh signal the batch holds steady.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveAdmission {
+
+    private static final String HEALTH_KEY = "booking:health";
+    private static final long HEALTH_CACHE_MS = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final QueueService queueService;
+    private final QueueProperties queueProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, GameAdmission> games = new ConcurrentHashMap<>();
+    private volatile CachedHealth cachedHealth;
+
+    /**
+     * Adjusts the game's batch size from the current booking health and returns it.
+     */
+    public int nextBatchSize(Long gameId) {
+        QueueProperties.Admission config = queueProperties.getAdmission();
+        if (!config.isEnabled()) {
+            return queueProperties.getBatchSize();
+        }
+
+        GameAdmission game = games.computeIfAbsent(gameId, this::register);
+        BookingHealth health = currentHealth();
+        if (health == null) {
+            return game.size.get();
+        }
+
+        if (health.p99Ms() > config.getTargetHoldP99Ms() || health.errorRate() > config.getMaxErrorRate()) {
+            int size = game.size.updateAndGet(current ->
+                    Math.max(config.getMinBatchSize(), (int) (current * config.getDecreaseFactor())));
+            log.info("Booking unhealthy (p99={}ms, errorRate={}), game {} batch cut to {}",
+                    health.p99Ms(), health.errorRate(), gameId, size);
+            return size;
+        }
+        if (game.lastBatchFull && !atActiveLimit(gameId, config)) {
+            return game.size.updateAndGet(current ->
+                    Math.min(config.getMaxBatchSize(), current + config.getIncreaseStep()));
+        }
+        return game.size.get();
+    }
+
+    /**
+     * Records how many users the last batch admitted; a partial batch means the
+     * queue is draining and the batch need not grow.
+     */
+    public void admitted(Long gameId, int batchSize, int admittedCount) {
+        GameAdmission game = games.get(gameId);
+        if (game != null) {
+            game.lastBatchFull = admittedCount >= batchSize;
+        }
+    }
+
+    private boolean atActiveLimit(Long gameId, QueueProperties.Admission config) {
+        return config.getActiveSoftLimit() > 0
+                && queueService.getActiveCount(gameId) >= config.getActiveSoftLimit();
+    }
+
+    private GameAdmission register(Long gameId) {
+        QueueProperties.Admission config = queueProperties.getAdmission();
+        int initial = Math.clamp(queueProperties.getBatchSize(), config.getMinBatchSize(), config.getMaxBatchSize());
+        GameAdmission game = new GameAdmission(new AtomicInteger(initial));
+        Gauge.builder("queue.admission.batch.size", game.size, AtomicInteger::get)
+                .tag("gameId", String.valueOf(gameId))
+                .register(meterRegistry);
+        return game;
+    }
+
+    private BookingHealth currentHealth() {
+        long now = System.currentTimeMillis();
+        CachedHealth cached = cachedHealth;
+        if (cached != null && now - cached.fetchedAt() < HEALTH_CACHE_MS) {
+            return cached.health();
+        }
+        BookingHealth health = readHealth(now);
+        cachedHealth = new CachedHealth(now, health);
+        return health;
+    }
+
+    private BookingHealth readHealth(long now) {
+        Map<Object, Object> entries;
+        try {
+            entries = redisTemplate.opsForHash().entries(HEALTH_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to read booking health, holding admission steady", e);
+            return null;
+        }
+
+        long maxAgeMs = queueProperties.getAdmission().getSignalMaxAgeMs();
+        long p99Ms = 0;
+        long holds = 0;
+        long errors = 0;
+        int fresh = 0;
+        for (Object value : entries.values()) {
+            // publishedAtMs,p99Ms,holds,errors
+            String[] parts = String.valueOf(value).split(",");
+            if (parts.length != 4) {
+                continue;
+            }
+            try {
+                if (now - Long.parseLong(parts[0]) > maxAgeMs) {
+                    continue;
+                }
+                p99Ms = Math.max(p99Ms, Long.parseLong(parts[1]));
+                holds += Long.parseLong(parts[2]);
+                errors += Long.parseLong(parts[3]);
+                fresh++;
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed booking health entry: {}", value);
+            }
+        }
+        if (fresh == 0) {
+            return null;
+        }
+        return new BookingHealth(p99Ms, holds == 0 ? 0 : (double) errors / holds);
+    }
+
+    private static final class GameAdmission {
+        private final AtomicInteger size;
+        private volatile boolean lastBatchFull = true;
+
+        private GameAdmission(AtomicInteger size) {
+            this.size = size;
+        }
+    }
+
+    private record BookingHealth(long p99Ms, double errorRate) {
+    }
+
+    private record CachedHealth(long fetchedAt, BookingHealth health) {
+    }
+}
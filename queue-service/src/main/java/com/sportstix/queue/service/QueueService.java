@@ -8,10 +8,11 @@ import com.sportstix.queue.event.producer.QueueEventProducer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 @Slf4j
@@ -20,7 +21,43 @@ import java.util.Set;
 public class QueueService {
 
     private static final String QUEUE_KEY_PREFIX = "queue:";
-    private static final String ACTIVE_KEY_PREFIX = "queue:active:";
+    private static final String ACTIVE_KEY_PREFIX = "queue:active-sessions:";
+    private static final String HEAD_KEY_PREFIX = "queue:head:";
+
+    // KEYS[1] = waiting zset, KEYS[2] = active sessions zset (score = token expiry ms),
+    // KEYS[3] = head counter (users admitted so far), KEYS[3 + i] = token key of candidate i
+    // ARGV[1] = token TTL seconds, ARGV[2] = max active sessions (0 = unlimited),
+    // ARGV[1 + 2i] = candidate i's user id, ARGV[2 + 2i] = its token
+    // Prunes expired sessions, admits candidates still waiting up to the free capacity
+    // and returns head, userId, token, userId, token, ... in queue order
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADMIT_BATCH_SCRIPT = RedisScript.of(
+            "local time = redis.call('time') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "redis.call('zremrangebyscore', KEYS[2], '-inf', now) " +
+            "local limit = #KEYS - 3 " +
+            "local maxActive = tonumber(ARGV[2]) " +
+            "if maxActive > 0 then " +
+            "  limit = math.min(limit, maxActive - redis.call('zcard', KEYS[2])) " +
+            "end " +
+            "local ttlMs = tonumber(ARGV[1]) * 1000 " +
+            "local admitted = {''} " +
+            "local n = 0 " +
+            "for i = 1, #KEYS - 3 do " +
+            "  if n >= limit then break end " +
+            "  local userId = ARGV[1 + 2 * i] " +
+            "  if redis.call('zrem', KEYS[1], userId) == 1 then " +
+            "    n = n + 1 " +
+            "    local token = ARGV[2 + 2 * i] " +
+            "    redis.call('set', KEYS[3 + i], token, 'EX', ARGV[1]) " +
+            "    redis.call('zadd', KEYS[2], now + ttlMs, userId) " +
+            "    admitted[#admitted + 1] = userId " +
+            "    admitted[#admitted + 1] = token " +
+            "  end " +
+            "end " +
+            "if n > 0 then redis.call('pexpire', KEYS[2], ttlMs) end " +
+            "admitted[1] = tostring(redis.call('incrby', KEYS[3], n)) " +
+            "return admitted", List.class);
 
     private final StringRedisTemplate redisTemplate;
     private final TokenService tokenService;
@@ -48,6 +85,7 @@ public class QueueService {
 
         Long rank = redisTemplate.opsForZSet().rank(queueKey, userIdStr);
         Long totalWaiting = redisTemplate.opsForZSet().size(queueKey);
+        long head = getHead(gameId);
 
         queueEventProducer.publishEntered(gameId, userId);
 
@@ -57,7 +95,8 @@ public class QueueService {
                 gameId,
                 rank != null ? rank + 1 : 1,
                 totalWaiting != null ? totalWaiting : 1,
-                estimateWaitSeconds(rank != null ? rank + 1 : 1)
+                estimateWaitSeconds(rank != null ? rank + 1 : 1),
+                head
         );
     }
 
@@ -77,51 +116,79 @@ public class QueueService {
         }
 
         Long totalWaiting = redisTemplate.opsForZSet().size(queueKey);
+        // Read after the rank: an admission in between then overestimates the position, never under
+        long head = getHead(gameId);
 
         return QueueStatusResponse.waiting(
                 gameId,
                 rank + 1,
                 totalWaiting != null ? totalWaiting : 0,
-                estimateWaitSeconds(rank + 1)
+                estimateWaitSeconds(rank + 1),
+                head
         );
     }
 
     public void leaveQueue(Long gameId, Long userId) {
         String userIdStr = String.valueOf(userId);
         redisTemplate.opsForZSet().remove(queueKey(gameId), userIdStr);
-        redisTemplate.opsForSet().remove(activeKey(gameId), userIdStr);
+        redisTemplate.opsForZSet().remove(activeKey(gameId), userIdStr);
         tokenService.revokeToken(gameId, userId);
         log.info("User {} left queue for game {}", userId, gameId);
     }
 
     /**
-     * Atomically pop the next batch using ZPOPMIN to prevent race conditions.
+     * Admits the next batch: reads the head of the queue, then one atomic script
+     * removes those users, issues each an entrance token and adds them to the active
+     * sessions. Two round trips per batch instead of three per user. Candidates are read
+     * first so every token key the script writes is declared in KEYS; a candidate
+     * that left or was admitted in between is skipped. Tokens are generated here since
+     * Lua has no secure random source.
+     *
+     * Every tick runs this for each owned game, so it is also where expired sessions
+     * are pruned; with queue.max-active-per-game set, fewer users are admitted as the
+     * game fills up.
      */
-    public Set<String> popNextBatch(Long gameId) {
-        String queueKey = queueKey(gameId);
-        int batchSize = queueProperties.getBatchSize();
+    @SuppressWarnings("unchecked")
+    public AdmittedBatch admitNextBatch(Long gameId, int batchSize) {
+        // Runs even for an empty queue: the script also prunes expired sessions
+        Set<String> candidates = batchSize > 0
+                ? redisTemplate.opsForZSet().range(queueKey(gameId), 0, batchSize - 1)
+                : null;
+        if (candidates == null) {
+            candidates = Set.of();
+        }
 
-        Set<ZSetOperations.TypedTuple<String>> tuples =
-                redisTemplate.opsForZSet().popMin(queueKey, batchSize);
-        if (tuples == null || tuples.isEmpty()) {
-            return Set.of();
+        List<String> keys = new ArrayList<>(candidates.size() + 3);
+        keys.add(queueKey(gameId));
+        keys.add(activeKey(gameId));
+        keys.add(headKey(gameId));
+        Object[] args = new Object[candidates.size() * 2 + 2];
+        args[0] = String.valueOf(queueProperties.getTokenTtlSeconds());
+        args[1] = String.valueOf(queueProperties.getMaxActivePerGame());
+        int arg = 2;
+        for (String userId : candidates) {
+            keys.add(tokenService.tokenKey(gameId, Long.valueOf(userId)));
+            args[arg++] = userId;
+            args[arg++] = tokenService.newToken();
         }
 
-        Set<String> batch = new LinkedHashSet<>();
-        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
-            batch.add(tuple.getValue());
+        List<String> result = redisTemplate.execute(ADMIT_BATCH_SCRIPT, keys, args);
+        if (result == null || result.isEmpty()) {
+            return new AdmittedBatch(List.of(), 0);
+        }
+        List<AdmittedUser> admitted = new ArrayList<>(result.size() / 2);
+        for (int i = 1; i + 1 < result.size(); i += 2) {
+            admitted.add(new AdmittedUser(Long.parseLong(result.get(i)), result.get(i + 1)));
         }
-        return batch;
+        return new AdmittedBatch(admitted, Long.parseLong(result.get(0)));
     }
 
     /**
-     * Peek at users in the queue without removing them (for position broadcasting).
+     * Users admitted to the game so far; positions advance by its growth.
      */
-    public Set<String> peekBatch(Long gameId, long count) {
-        if (count <= 0) {
-            return Set.of();
-        }
-        return redisTemplate.opsForZSet().range(queueKey(gameId), 0, count - 1);
+    public long getHead(Long gameId) {
+        String head = redisTemplate.opsForValue().get(headKey(gameId));
+        return head != null ? Long.parseLong(head) : 0;
     }
 
     public Long getQueueSize(Long gameId) {
@@ -129,14 +196,17 @@ public class QueueService {
         return size != null ? size : 0;
     }
 
-    public void addToActive(Long gameId, Long userId) {
-        redisTemplate.opsForSet().add(activeKey(gameId), String.valueOf(userId));
+    /**
+     * Users currently shopping (ZCARD); may include sessions expired since the last tick's prune.
+     */
+    public long getActiveCount(Long gameId) {
+        Long count = redisTemplate.opsForZSet().zCard(activeKey(gameId));
+        return count != null ? count : 0;
     }
 
     public boolean isActive(Long gameId, Long userId) {
-        return Boolean.TRUE.equals(
-                redisTemplate.opsForSet().isMember(activeKey(gameId), String.valueOf(userId))
-        );
+        Double expiresAt = redisTemplate.opsForZSet().score(activeKey(gameId), String.valueOf(userId));
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
     }
 
     private int estimateWaitSeconds(long rank) {
@@ -153,4 +223,17 @@ public class QueueService {
     private String activeKey(Long gameId) {
         return ACTIVE_KEY_PREFIX + gameId;
     }
+
+    private String headKey(Long gameId) {
+        return HEAD_KEY_PREFIX + gameId;
+    }
+
+    public record AdmittedUser(Long userId, String token) {
+    }
+
+    /**
+     * Users admitted by one batch, and the game's head count after it.
+     */
+    public record AdmittedBatch(List<AdmittedUser> users, long head) {
+    }
 }
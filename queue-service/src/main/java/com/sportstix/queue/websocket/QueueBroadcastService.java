@@ -3,15 +3,27 @@ package com.sportstix.queue.websocket;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sportstix.queue.config.RedisPubSubConfig;
+import com.sportstix.queue.dto.response.QueueHeadMessage;
 import com.sportstix.queue.dto.response.QueueUpdateMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Publishes queue update messages to Redis Pub/Sub channel.
  * This enables multi-pod WebSocket broadcasting.
+ *
+ * Per-user updates carry tokens to admitted users; waiting users follow the
+ * per-game head message instead of getting one message each.
+ *
+ * Payloads are prefixed with their routing key ("gameId:userId|" or "gameId|")
+ * so subscribers can drop messages for clients not on their pod without parsing JSON.
  */
 @Slf4j
 @Service
@@ -22,15 +34,43 @@ public class QueueBroadcastService {
     private final ObjectMapper objectMapper;
 
     /**
-     * Publish a queue update message to Redis Pub/Sub for cross-pod delivery.
+     * Publish many updates in one pipelined round trip.
+     */
+    public void broadcastUpdates(List<QueueUpdateMessage> messages) {
+        List<byte[]> payloads = new ArrayList<>(messages.size());
+        for (QueueUpdateMessage message : messages) {
+            try {
+                String json = objectMapper.writeValueAsString(message);
+                payloads.add(routed(message, json).getBytes(StandardCharsets.UTF_8));
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize queue update message: {}", message, e);
+            }
+        }
+        if (payloads.isEmpty()) {
+            return;
+        }
+        byte[] channel = RedisPubSubConfig.QUEUE_UPDATE_CHANNEL.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[] payload : payloads) {
+                connection.publish(channel, payload);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Publish the game's queue progress for every waiting client.
      */
-    public void broadcastUpdate(QueueUpdateMessage message) {
+    public void broadcastHead(QueueHeadMessage message) {
         try {
             String json = objectMapper.writeValueAsString(message);
-            redisTemplate.convertAndSend(RedisPubSubConfig.QUEUE_UPDATE_CHANNEL, json);
+            redisTemplate.convertAndSend(RedisPubSubConfig.QUEUE_HEAD_CHANNEL, message.gameId() + "|" + json);
         } catch (JsonProcessingException e) {
-            log.error("Failed to serialize queue update message: {}", message, e);
+            log.error("Failed to serialize queue head message: {}", message, e);
         }
     }
 
+    private static String routed(QueueUpdateMessage message, String json) {
+        return message.gameId() + ":" + message.userId() + "|" + json;
+    }
 }
@@ -2,6 +2,7 @@ package com.sportstix.queue.websocket;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.queue.dto.response.QueueHeadMessage;
 import com.sportstix.queue.dto.response.QueueUpdateMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +12,14 @@ import org.springframework.stereotype.Component;
 /**
  * Subscribes to Redis Pub/Sub and forwards messages to STOMP WebSocket clients.
  * Each pod receives the same message and delivers to locally connected clients.
+ *
+ * Per-user updates go only to the user's topic; the game topic carries the
+ * single per-tick head message from which waiting clients derive their position.
+ *
+ * Every pod receives every message, so the routing prefix added by
+ * QueueBroadcastService is checked against this pod's session registry first and
+ * messages for clients connected elsewhere are dropped before any JSON parsing.
+ * Unprefixed payloads (from pods not yet upgraded) are parsed and delivered as before.
  */
 @Slf4j
 @Component
@@ -19,11 +28,19 @@ public class RedisQueueMessageSubscriber {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    private final WebSocketSessionRegistry sessionRegistry;
 
     /**
      * Called by Redis MessageListenerAdapter when a message arrives.
      */
     public void onMessage(String message) {
+        int separator = message.indexOf('|');
+        if (separator > 0 && message.charAt(0) != '{') {
+            if (!isLocalUser(message, separator)) {
+                return;
+            }
+            message = message.substring(separator + 1);
+        }
         try {
             QueueUpdateMessage update = objectMapper.readValue(message, QueueUpdateMessage.class);
 
@@ -31,17 +48,47 @@ public class RedisQueueMessageSubscriber {
             String destination = String.format("/topic/queue/%d/%d", update.gameId(), update.userId());
             messagingTemplate.convertAndSend(destination, update);
 
-            // Game-level topic: sanitized (no token, no userId for privacy)
-            String gameTopic = String.format("/topic/queue/%d", update.gameId());
-            QueueUpdateMessage sanitized = new QueueUpdateMessage(
-                    update.gameId(), null, update.status(),
-                    update.rank(), update.totalWaiting(),
-                    update.estimatedWaitSeconds(), null
-            );
-            messagingTemplate.convertAndSend(gameTopic, sanitized);
-
         } catch (JsonProcessingException e) {
             log.error("Failed to deserialize queue update message: {}", message, e);
         }
     }
+
+    /**
+     * Called by Redis MessageListenerAdapter when a game's head message arrives.
+     */
+    public void onHeadMessage(String message) {
+        int separator = message.indexOf('|');
+        if (separator > 0 && message.charAt(0) != '{') {
+            Long gameId = parseId(message, 0, separator);
+            if (gameId != null && sessionRegistry.getConnectionCount(gameId) == 0) {
+                return;
+            }
+            message = message.substring(separator + 1);
+        }
+        try {
+            QueueHeadMessage head = objectMapper.readValue(message, QueueHeadMessage.class);
+            messagingTemplate.convertAndSend(String.format("/topic/queue/%d", head.gameId()), head);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize queue head message: {}", message, e);
+        }
+    }
+
+    // Routing key "gameId:userId"; an unparsable key is delivered rather than dropped
+    private boolean isLocalUser(String message, int separator) {
+        int colon = message.indexOf(':');
+        if (colon < 0 || colon > separator) {
+            return true;
+        }
+        Long gameId = parseId(message, 0, colon);
+        Long userId = parseId(message, colon + 1, separator);
+        return gameId == null || userId == null || sessionRegistry.isSubscribed(gameId, userId);
+    }
+
+    private static Long parseId(String message, int from, int to) {
+        try {
+            return Long.parseLong(message, from, to, 10);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -87,6 +87,14 @@ public class WebSocketSessionRegistry {
         return sessionSubscriptions.size();
     }
 
+    /**
+     * Whether the user subscribed to the game's queue updates on this pod; O(1), no copying.
+     */
+    public boolean isSubscribed(Long gameId, Long userId) {
+        ConcurrentHashMap<Long, AtomicInteger> userCounts = gameUserCounts.get(gameId);
+        return userCounts != null && userCounts.containsKey(userId);
+    }
+
     public boolean isConnected(Long userId) {
         Set<String> sessions = userSessions.get(userId);
         return sessions != null && !sessions.isEmpty();
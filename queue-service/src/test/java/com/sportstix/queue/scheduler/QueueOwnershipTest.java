@@ -0,0 +1,81 @@
+package com.sportstix.queue.scheduler;
+
+import com.sportstix.queue.config.QueueProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class QueueOwnershipTest {
+
+    private QueueOwnership ownership;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @BeforeEach
+    void setUp() {
+        ownership = new QueueOwnership(redisTemplate, new QueueProperties());
+    }
+
+    @Test
+    void preferredOwner_removingPod_movesOnlyItsGames() {
+        List<String> threePods = List.of("pod-a", "pod-b", "pod-c");
+        List<String> twoPods = List.of("pod-a", "pod-b");
+
+        Map<String, Integer> perPod = new HashMap<>();
+        for (long gameId = 1; gameId <= 300; gameId++) {
+            String before = QueueOwnership.preferredOwner(gameId, threePods);
+            perPod.merge(before, 1, Integer::sum);
+            if (!before.equals("pod-c")) {
+                assertThat(QueueOwnership.preferredOwner(gameId, twoPods)).isEqualTo(before);
+            }
+        }
+        assertThat(perPod).containsOnlyKeys(threePods);
+        assertThat(perPod.values()).allSatisfy(games -> assertThat(games).isGreaterThan(50));
+    }
+
+    @Test
+    void claimOwnedGames_singlePod_claimsEveryGame() {
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.add(eq("queue:pods"), eq(ownership.podId()), anyDouble())).willReturn(true);
+        given(zSetOperations.range("queue:pods", 0, -1)).willReturn(Set.of(ownership.podId()));
+        given(redisTemplate.execute(any(RedisScript.class), eq(List.of("queue:owner:1", "queue:owner:2")),
+                eq(ownership.podId()), eq("10000")))
+                .willReturn(List.of(1L, 2L));
+
+        assertThat(ownership.claimOwnedGames(List.of(1L, 2L))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void claimOwnedGames_leaseHeldElsewhere_skipsGame() {
+        given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+        given(zSetOperations.range("queue:pods", 0, -1)).willReturn(Set.of(ownership.podId()));
+        given(redisTemplate.execute(any(RedisScript.class), eq(List.of("queue:owner:1", "queue:owner:2")),
+                eq(ownership.podId()), eq("10000")))
+                .willReturn(List.of(2L));
+
+        assertThat(ownership.claimOwnedGames(List.of(1L, 2L))).containsExactly(2L);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(), eq(ownership.podId()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.sportstix.queue.service;
+
+import com.sportstix.queue.config.QueueProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveAdmissionTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+    @Mock
+    private QueueService queueService;
+
+    private QueueProperties queueProperties;
+    private AdaptiveAdmission admission;
+
+    @BeforeEach
+    void setUp() {
+        queueProperties = new QueueProperties();
+        queueProperties.setBatchSize(100);
+        admission = new AdaptiveAdmission(redisTemplate, queueService, queueProperties, new SimpleMeterRegistry());
+    }
+
+    private void givenHealth(long p99Ms, long holds, long errors) {
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(hashOperations.entries("booking:health")).willReturn(Map.of(
+                "pod-a", System.currentTimeMillis() + "," + p99Ms + "," + holds + "," + errors));
+    }
+
+    @Test
+    void nextBatchSize_healthy_growsAdditively() {
+        givenHealth(100, 1000, 0);
+
+        assertThat(admission.nextBatchSize(1L)).isEqualTo(110);
+    }
+
+    @Test
+    void nextBatchSize_slowHolds_cutsMultiplicatively() {
+        givenHealth(900, 1000, 0);
+
+        assertThat(admission.nextBatchSize(1L)).isEqualTo(50);
+    }
+
+    @Test
+    void nextBatchSize_highErrorRate_cutsButNotBelowMin() {
+        queueProperties.setBatchSize(15);
+        givenHealth(100, 100, 20);
+
+        assertThat(admission.nextBatchSize(1L)).isEqualTo(10);
+    }
+
+    @Test
+    void nextBatchSize_staleSignal_holdsSteady() {
+        given(redisTemplate.opsForHash()).willReturn(hashOperations);
+        given(hashOperations.entries("booking:health")).willReturn(Map.of(
+                "pod-a", (System.currentTimeMillis() - 60_000) + ",900,100,50"));
+
+        assertThat(admission.nextBatchSize(1L)).isEqualTo(100);
+    }
+
+    @Test
+    void nextBatchSize_partialLastBatch_doesNotGrow() {
+        givenHealth(100, 1000, 0);
+
+        int first = admission.nextBatchSize(1L);
+        admission.admitted(1L, first, 3);
+
+        assertThat(admission.nextBatchSize(1L)).isEqualTo(first);
+    }
+
+    @Test
+    void nextBatchSize_atActiveSoftLimit_doesNotGrow() {
+        queueProperties.getAdmission().setActiveSoftLimit(500);
+        givenHealth(100, 1000, 0);
+        given(queueService.getActiveCount(1L)).willReturn(500L);
+
+        assertThat(admission.nextBatchSize(1L)).isEqualTo(100);
+    }
+
+    @Test
+    void nextBatchSize_disabled_usesFixedBatch() {
+        queueProperties.getAdmission().setEnabled(false);
+
+        assertThat(admission.nextBatchSize(1L)).isEqualTo(100);
+    }
+}
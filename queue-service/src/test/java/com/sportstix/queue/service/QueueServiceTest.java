@@ -9,18 +9,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
@@ -37,6 +39,8 @@ class QueueServiceTest {
     @Mock
     private SetOperations<String, String> setOperations;
     @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
     private TokenService tokenService;
     @Mock
     private QueueEventProducer queueEventProducer;
@@ -52,6 +56,7 @@ class QueueServiceTest {
 
         org.mockito.Mockito.lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
         org.mockito.Mockito.lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        org.mockito.Mockito.lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
         queueService = new QueueService(redisTemplate, tokenService, queueEventProducer, queueProperties);
     }
@@ -77,11 +82,13 @@ class QueueServiceTest {
         // getQueueStatus path
         given(zSetOperations.rank("queue:1", "100")).willReturn(5L);
         given(zSetOperations.size("queue:1")).willReturn(50L);
+        given(valueOperations.get("queue:head:1")).willReturn("40");
 
         QueueStatusResponse result = queueService.enterQueue(1L, 100L);
 
         assertThat(result.status()).isEqualTo("WAITING");
         assertThat(result.rank()).isEqualTo(6);
+        assertThat(result.head()).isEqualTo(40);
     }
 
     @Test
@@ -109,45 +116,78 @@ class QueueServiceTest {
         queueService.leaveQueue(1L, 100L);
 
         verify(zSetOperations).remove("queue:1", "100");
-        verify(setOperations).remove("queue:active:1", "100");
+        verify(zSetOperations).remove("queue:active-sessions:1", "100");
         verify(tokenService).revokeToken(1L, 100L);
     }
 
     @Test
-    void popNextBatch_returnsBatchAtomically() {
-        Set<ZSetOperations.TypedTuple<String>> tuples = new LinkedHashSet<>();
-        tuples.add(new DefaultTypedTuple<>("1", 0.0));
-        tuples.add(new DefaultTypedTuple<>("2", 1.0));
-        tuples.add(new DefaultTypedTuple<>("3", 2.0));
-        given(zSetOperations.popMin("queue:1", 100)).willReturn(tuples);
+    void getQueueSize_returnsSize() {
+        given(zSetOperations.size("queue:1")).willReturn(500L);
 
-        Set<String> result = queueService.popNextBatch(1L);
+        Long size = queueService.getQueueSize(1L);
 
-        assertThat(result).containsExactly("1", "2", "3");
+        assertThat(size).isEqualTo(500);
     }
 
     @Test
-    void popNextBatch_emptyQueue_returnsEmptySet() {
-        given(zSetOperations.popMin("queue:1", 100)).willReturn(Set.of());
-
-        Set<String> result = queueService.popNextBatch(1L);
+    void isActive_expiredSession_returnsFalse() {
+        given(zSetOperations.score("queue:active-sessions:1", "100"))
+                .willReturn((double) (System.currentTimeMillis() - 1));
 
-        assertThat(result).isEmpty();
+        assertThat(queueService.isActive(1L, 100L)).isFalse();
     }
 
     @Test
-    void getQueueSize_returnsSize() {
-        given(zSetOperations.size("queue:1")).willReturn(500L);
+    void getActiveCount_usesZcard() {
+        given(zSetOperations.zCard("queue:active-sessions:1")).willReturn(42L);
 
-        Long size = queueService.getQueueSize(1L);
+        assertThat(queueService.getActiveCount(1L)).isEqualTo(42);
+    }
 
-        assertThat(size).isEqualTo(500);
+    @Test
+    void admitNextBatch_oneScriptCall_returnsUsersWithTokens() {
+        given(zSetOperations.range("queue:1", 0, 1)).willReturn(new LinkedHashSet<>(List.of("100", "101")));
+        given(tokenService.tokenKey(1L, 100L)).willReturn("queue:token:1:100");
+        given(tokenService.tokenKey(1L, 101L)).willReturn("queue:token:1:101");
+        given(tokenService.newToken()).willReturn("t1", "t2");
+        given(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of("queue:1", "queue:active-sessions:1", "queue:head:1",
+                        "queue:token:1:100", "queue:token:1:101")),
+                eq("600"), eq("0"), eq("100"), eq("t1"), eq("101"), eq("t2")))
+                .willReturn(List.of("42", "100", "t1", "101", "t2"));
+
+        QueueService.AdmittedBatch batch = queueService.admitNextBatch(1L, 2);
+
+        assertThat(batch.users()).containsExactly(
+                new QueueService.AdmittedUser(100L, "t1"),
+                new QueueService.AdmittedUser(101L, "t2"));
+        assertThat(batch.head()).isEqualTo(42);
     }
 
     @Test
-    void addToActive_addsToSet() {
-        queueService.addToActive(1L, 100L);
+    void admitNextBatch_emptyQueue_stillRunsScriptToPrune() {
+        given(zSetOperations.range("queue:1", 0, 0)).willReturn(Set.of());
+        given(redisTemplate.execute(any(RedisScript.class), eq(List.of("queue:1", "queue:active-sessions:1", "queue:head:1")),
+                eq("600"), eq("0")))
+                .willReturn(List.of("40"));
 
-        verify(setOperations).add("queue:active:1", "100");
+        QueueService.AdmittedBatch batch = queueService.admitNextBatch(1L, 1);
+
+        assertThat(batch.users()).isEmpty();
+        assertThat(batch.head()).isEqualTo(40);
+    }
+
+    @Test
+    void admitNextBatch_passesMaxActiveCap() {
+        queueProperties.setMaxActivePerGame(50);
+        given(zSetOperations.range("queue:1", 0, 0)).willReturn(new LinkedHashSet<>(List.of("100")));
+        given(tokenService.tokenKey(1L, 100L)).willReturn("queue:token:1:100");
+        given(tokenService.newToken()).willReturn("t");
+        given(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of("queue:1", "queue:active-sessions:1", "queue:head:1", "queue:token:1:100")),
+                eq("600"), eq("50"), eq("100"), eq("t")))
+                .willReturn(List.of("0"));
+
+        assertThat(queueService.admitNextBatch(1L, 1).users()).isEmpty();
     }
 }
@@ -1,6 +1,5 @@
 package com.sportstix.queue.service;
 
-import com.sportstix.queue.config.QueueProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,11 +8,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
-import java.time.Duration;
-
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
@@ -27,22 +22,10 @@ class TokenServiceTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
-    private QueueProperties queueProperties;
-
     @BeforeEach
     void setUp() {
-        queueProperties = new QueueProperties();
-        queueProperties.setTokenTtlSeconds(600);
         org.mockito.Mockito.lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        tokenService = new TokenService(redisTemplate, queueProperties);
-    }
-
-    @Test
-    void issueToken_storesWithTTL() {
-        String token = tokenService.issueToken(1L, 100L);
-
-        assertThat(token).isNotBlank();
-        verify(valueOperations).set(eq("queue:token:1:100"), anyString(), eq(Duration.ofSeconds(600)));
+        tokenService = new TokenService(redisTemplate);
     }
 
     @Test
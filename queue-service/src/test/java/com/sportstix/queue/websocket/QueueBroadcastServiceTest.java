@@ -2,6 +2,7 @@ package com.sportstix.queue.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sportstix.queue.config.RedisPubSubConfig;
+import com.sportstix.queue.dto.response.QueueHeadMessage;
 import com.sportstix.queue.dto.response.QueueUpdateMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,11 +10,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class QueueBroadcastServiceTest {
@@ -31,39 +38,38 @@ class QueueBroadcastServiceTest {
     }
 
     @Test
-    void broadcastUpdate_waiting_publishesJson() throws Exception {
-        QueueUpdateMessage message = QueueUpdateMessage.waiting(1L, 100L, 5, 50, 12);
-
-        broadcastService.broadcastUpdate(message);
+    @SuppressWarnings("unchecked")
+    void broadcastUpdates_publishesAllInOnePipeline() throws Exception {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(inv -> {
+            inv.getArgument(0, RedisCallback.class).doInRedis(connection);
+            return List.of();
+        });
 
-        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
-        verify(redisTemplate).convertAndSend(
-                eq(RedisPubSubConfig.QUEUE_UPDATE_CHANNEL),
-                captor.capture()
-        );
+        broadcastService.broadcastUpdates(List.of(
+                QueueUpdateMessage.eligible(1L, 100L, "t1"),
+                QueueUpdateMessage.eligible(1L, 101L, "t2")));
 
-        String json = captor.getValue();
-        QueueUpdateMessage deserialized = objectMapper.readValue(json, QueueUpdateMessage.class);
-        assertThat(deserialized.gameId()).isEqualTo(1L);
-        assertThat(deserialized.userId()).isEqualTo(100L);
-        assertThat(deserialized.status()).isEqualTo("WAITING");
-        assertThat(deserialized.rank()).isEqualTo(5);
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(connection, times(2)).publish(
+                eq(RedisPubSubConfig.QUEUE_UPDATE_CHANNEL.getBytes(StandardCharsets.UTF_8)), captor.capture());
+        String payload = new String(captor.getAllValues().get(1), StandardCharsets.UTF_8);
+        assertThat(payload).startsWith("1:101|");
+        QueueUpdateMessage second = objectMapper.readValue(
+                payload.substring("1:101|".length()), QueueUpdateMessage.class);
+        assertThat(second.userId()).isEqualTo(101L);
+        verify(redisTemplate, never()).convertAndSend(any(), any());
     }
 
     @Test
-    void broadcastUpdate_eligible_publishesJson() throws Exception {
-        QueueUpdateMessage message = QueueUpdateMessage.eligible(1L, 100L, "token-abc");
-
-        broadcastService.broadcastUpdate(message);
+    void broadcastHead_publishesToHeadChannel() throws Exception {
+        broadcastService.broadcastHead(new QueueHeadMessage(1L, 300, 4700, 33.3));
 
         ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
-        verify(redisTemplate).convertAndSend(
-                eq(RedisPubSubConfig.QUEUE_UPDATE_CHANNEL),
-                captor.capture()
-        );
-
-        QueueUpdateMessage deserialized = objectMapper.readValue(captor.getValue(), QueueUpdateMessage.class);
-        assertThat(deserialized.status()).isEqualTo("ELIGIBLE");
-        assertThat(deserialized.token()).isEqualTo("token-abc");
+        verify(redisTemplate).convertAndSend(eq(RedisPubSubConfig.QUEUE_HEAD_CHANNEL), captor.capture());
+        assertThat(captor.getValue()).startsWith("1|");
+        QueueHeadMessage deserialized = objectMapper.readValue(captor.getValue().substring(2), QueueHeadMessage.class);
+        assertThat(deserialized.head()).isEqualTo(300);
+        assertThat(deserialized.admitRatePerSecond()).isEqualTo(33.3);
     }
 }
@@ -1,6 +1,7 @@
 package com.sportstix.queue.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportstix.queue.dto.response.QueueHeadMessage;
 import com.sportstix.queue.dto.response.QueueUpdateMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,8 +12,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -25,14 +28,16 @@ class RedisQueueMessageSubscriberTest {
     private SimpMessagingTemplate messagingTemplate;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private WebSocketSessionRegistry sessionRegistry;
 
     @BeforeEach
     void setUp() {
-        subscriber = new RedisQueueMessageSubscriber(messagingTemplate, objectMapper);
+        sessionRegistry = new WebSocketSessionRegistry();
+        subscriber = new RedisQueueMessageSubscriber(messagingTemplate, objectMapper, sessionRegistry);
     }
 
     @Test
-    void onMessage_waitingUpdate_sendsToUserAndGameTopics() throws Exception {
+    void onMessage_waitingUpdate_sendsToUserTopicOnly() throws Exception {
         QueueUpdateMessage message = QueueUpdateMessage.waiting(1L, 100L, 5, 50, 12);
         String json = objectMapper.writeValueAsString(message);
 
@@ -44,11 +49,8 @@ class RedisQueueMessageSubscriberTest {
         assertThat(userCaptor.getValue().rank()).isEqualTo(5);
         assertThat(userCaptor.getValue().userId()).isEqualTo(100L);
 
-        // Verify game-level topic (sanitized - no userId, no token)
-        ArgumentCaptor<QueueUpdateMessage> gameCaptor = ArgumentCaptor.forClass(QueueUpdateMessage.class);
-        verify(messagingTemplate).convertAndSend(eq("/topic/queue/1"), gameCaptor.capture());
-        assertThat(gameCaptor.getValue().userId()).isNull();
-        assertThat(gameCaptor.getValue().token()).isNull();
+        // Game-level topic carries only head messages
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/queue/1"), any(Object.class));
     }
 
     @Test
@@ -64,11 +66,48 @@ class RedisQueueMessageSubscriberTest {
         assertThat(userCaptor.getValue().status()).isEqualTo("ELIGIBLE");
         assertThat(userCaptor.getValue().token()).isEqualTo("entrance-token");
 
-        // Game topic is sanitized (no token)
-        ArgumentCaptor<QueueUpdateMessage> gameCaptor = ArgumentCaptor.forClass(QueueUpdateMessage.class);
-        verify(messagingTemplate).convertAndSend(eq("/topic/queue/1"), gameCaptor.capture());
-        assertThat(gameCaptor.getValue().token()).isNull();
-        assertThat(gameCaptor.getValue().userId()).isNull();
+        // Token never reaches the game topic
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/queue/1"), any(Object.class));
+    }
+
+    @Test
+    void onMessage_routedToLocalUser_delivers() throws Exception {
+        sessionRegistry.registerSubscription(1L, 200L, "session-1");
+        String json = objectMapper.writeValueAsString(QueueUpdateMessage.eligible(1L, 200L, "entrance-token"));
+
+        subscriber.onMessage("1:200|" + json);
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/queue/1/200"), any(QueueUpdateMessage.class));
+    }
+
+    @Test
+    void onMessage_routedToUserOnOtherPod_dropsWithoutParsing() {
+        sessionRegistry.registerSubscription(2L, 200L, "session-1");
+
+        // Not JSON after the prefix: parsing it would log an error, dropping it must not
+        subscriber.onMessage("1:200|not-json");
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void onHeadMessage_noLocalSessionsForGame_drops() {
+        subscriber.onHeadMessage("1|not-json");
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void onHeadMessage_sendsToGameTopic() throws Exception {
+        sessionRegistry.registerSubscription(1L, 200L, "session-1");
+        String json = objectMapper.writeValueAsString(new QueueHeadMessage(1L, 300, 4700, 33.3));
+
+        subscriber.onHeadMessage("1|" + json);
+
+        ArgumentCaptor<QueueHeadMessage> captor = ArgumentCaptor.forClass(QueueHeadMessage.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/queue/1"), captor.capture());
+        assertThat(captor.getValue().head()).isEqualTo(300);
+        assertThat(captor.getValue().totalWaiting()).isEqualTo(4700);
     }
 
     @Test
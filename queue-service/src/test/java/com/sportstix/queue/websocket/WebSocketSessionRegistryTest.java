@@ -163,4 +163,16 @@ class WebSocketSessionRegistryTest {
         assertThat(registry.getSubscribedUsers(1L)).isEmpty();
         executor.shutdown();
     }
+
+    @Test
+    void isSubscribed_matchesGameAndUser() {
+        registry.registerSubscription(1L, 100L, "session-1");
+
+        assertThat(registry.isSubscribed(1L, 100L)).isTrue();
+        assertThat(registry.isSubscribed(2L, 100L)).isFalse();
+        assertThat(registry.isSubscribed(1L, 200L)).isFalse();
+
+        registry.removeSession("session-1");
+        assertThat(registry.isSubscribed(1L, 100L)).isFalse();
+    }
 }